@@ -4,6 +4,8 @@ import javax.naming.InitialContext;
 import javax.naming.Context;
 import javax.sql.DataSource;
 
+import localhost.myapp.common.jdbc.InstrumentedDataSource;
+
 /**
  * DB DataSource 헬퍼 (JNDI 기반, Lazy-init + Double-Checked Locking)
  *
@@ -25,6 +27,7 @@ import javax.sql.DataSource;
  * - 실제 커넥션(Connection) 객체는 여기서 만들지 않는다.
  *   DataSource는 '풀'의 핸들이고, Connection은 필요할 때마다 ds.getConnection()으로 빌려 쓰고 닫는다.
  * - DataSource 자체는 닫을 필요가 없다(컨테이너가 라이프사이클 관리).
+ * - 돌려주는 DataSource 는 InstrumentedDataSource 로 감싼 것이다. (common.DB 와 같은 래퍼 객체)
  */
 public class DB {
 
@@ -70,7 +73,8 @@ public class DB {
                          * - 애플리케이션 코드에서는 보통 "java:comp/env/jdbc/MyDB"로 조회.
                          * - 톰캣 Context의 <Resource name="jdbc/MyDB" .../> 와 일치해야 한다.
                          */
-                        ds = (DataSource) ic.lookup("java:comp/env/jdbc/MyDB");
+                        ds = InstrumentedDataSource.wrap("primary",
+                                (DataSource) ic.lookup("java:comp/env/jdbc/MyDB"));
 
                         /*
                          * 여기서 DataSource 인스턴스는 '커넥션 풀 관리 객체'이지,
@@ -109,4 +113,14 @@ public class DB {
         }
         return ds;
     }
+
+    /**
+     * 읽기 전용 DataSource (복제본 라우팅)
+     *
+     * - 복제본(jdbc/MyDBReplica) 조회와 장애 차단 상태는 localhost.myapp.common.DB 와 공유한다.
+     *   (같은 복제본에 대해 차단 상태를 두 벌 두지 않기 위해 위임)
+     */
+    public static DataSource getReadDataSource() {
+        return localhost.myapp.common.DB.getReadDataSource();
+    }
 }
\ No newline at end of file
@@ -1,84 +1,85 @@
 package localhost.myapp.api;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import localhost.myapp.board.Board;
+import localhost.myapp.board.BoardPage;
+import localhost.myapp.board.BoardSearchPage;
 import localhost.myapp.board.BoardService;
+import localhost.myapp.common.AsyncWork;
+import localhost.myapp.common.Dates;
+import localhost.myapp.common.ETags;
+import localhost.myapp.common.Json;
+import localhost.myapp.common.JsonBody;
+import localhost.myapp.common.ResponseCache;
+import localhost.myapp.common.auth.Auth;
+import localhost.myapp.dto.CreateBoard;
 import localhost.myapp.dto.ServiceResult;
+import localhost.myapp.dto.UpdateBoard;
 
 /**
  * /api/board/*
  *
  * - GET /api/board : 게시글 목록 (page, size)
+ * - GET /api/board?cursor=&size= : 게시글 목록 (키셋 페이징, 응답 data = { items, nextCursor, hasNext })
+ * - GET /api/board/search?q=&size=&cursor= : 제목/본문 검색 (점수순, 키셋 페이징)
+ * - GET /api/board/export?format=ndjson|csv : 전체 게시글 내보내기 (스트리밍)
  * - GET /api/board/{idx} : 게시글 상세
  * - POST /api/board : 게시글 작성
+ * - POST /api/board/batch : 게시글 일괄 작성 (JSON 배열, 항목별 결과 반환)
  * - PUT /api/board/{idx} : 게시글 수정 (본인 글만)
  * - DELETE /api/board/{idx} : 게시글 삭제 (본인 글만)
  *
+ * 조건부 GET (If-None-Match → 304)
+ * - 목록 : ETag "bl-{변경 스탬프}" → 일치하면 DB 조회/JSON 변환 없이 304
+ * - 상세 : ETag "b{idx}-v{version}" → 일치하면 JSON 변환 없이 304
+ *
+ * 낙관적 잠금
+ * - 상세 조회 응답에 ETag: "b{idx}-v{version}" 헤더
+ * - PUT/DELETE 에 If-Match 를 보내면 그 버전일 때만 처리, 아니면 412 Precondition Failed
+ * - If-Match 가 없으면 버전 검사 없이 처리 (기존 클라이언트 호환)
+ *
+ * 비동기 처리
+ * - GET/POST/PUT/DELETE 는 AsyncWork 로 작업 스레드에서 처리한다. (제한 시간 초과 시 503, 쓰기는 202 PENDING)
+ *   시간 초과 뒤 끝난 작업은 서비스 호출 직후 AsyncWork.expired() 로 확인하고 요청/응답을 더 건드리지 않는다.
+ *
  * 모든 응답은 ServiceResult JSON 구조를 사용한다.
  */
-@WebServlet("/api/board/*")
+@WebServlet(urlPatterns = "/api/board/*", asyncSupported = true)
 public class BoardAPI extends HttpServlet {
 
     /** 게시판 비즈니스 로직 */
     private final BoardService service = new BoardService();
 
-    /** JSON 변환기 */
-    private final Gson gson = new Gson();
-
-    /**
-     * 요청 바디를 JSON으로 읽고, 성공/실패를 ServiceResult로 감싸서 반환
-     * - 성공 시: success=true, data에 JsonObject 저장
-     * - 실패 시: success=false, message에 오류 설명
-     */
-    private ServiceResult readJson(HttpServletRequest req) throws IOException {
-
-        // 1. Content-Type 검사
-        String contentType = req.getContentType();
-        if (contentType == null || !contentType.toLowerCase().startsWith("application/json")) {
-            return ServiceResult.fail("Content-Type 은 application/json 이어야 합니다.");
-            // 호출한 쪽에서 jr.success 보고 400으로 응답할 것
-        }
-
-        try {
-            JsonElement elem = JsonParser.parseReader(req.getReader());
 
-            // 2. body 비어 있음
-            if (elem == null || elem.isJsonNull()) {
-                return ServiceResult.fail("요청 body 가 비어 있습니다.");
-            }
+    /** 요청 body 최대 크기 (게시글 1건) */
+    private static final int MAX_BODY = 256 * 1024;
 
-            // 3. JSON 객체가 아님 (배열/값 등)
-            if (!elem.isJsonObject()) {
-                return ServiceResult.fail("JSON 객체 형식의 body 가 필요합니다. (예: {\"id\":\"user\"})");
-            }
+    /** 요청 body 최대 크기 (일괄 등록) */
+    private static final int MAX_BATCH_BODY = 4 * 1024 * 1024;
 
-            // 4. 성공 → data에 JsonObject 넣어서 반환
-            JsonObject obj = elem.getAsJsonObject();
-            return ServiceResult.ok(obj);
+    /** 요청 처리 제한 시간 (넘으면 503, 쓰기는 202) */
+    private static final long TIMEOUT_MS = 10_000;
 
-        } catch (JsonParseException e) {
-            // 5. JSON 문법 에러
-            return ServiceResult.fail("잘못된 JSON 형식입니다.");
-        }
-    }
+    /** 일괄 등록 제한 시간 (최대 4MB body 를 읽고 트랜잭션 한 번) */
+    private static final long BATCH_TIMEOUT_MS = 30_000;
 
     /** CORS 헤더 설정 */
     private void setCors(HttpServletResponse resp) {
         resp.setHeader("Access-Control-Allow-Origin", "*");
-        resp.setHeader("Access-Control-Allow-Headers", "Content-Type");
+        resp.setHeader("Access-Control-Allow-Headers", "Content-Type, If-Match, Authorization");
+        resp.setHeader("Access-Control-Expose-Headers", "ETag");
         resp.setHeader("Access-Control-Allow-Methods", "GET,POST,PUT,DELETE,OPTIONS");
     }
 
@@ -91,12 +92,10 @@ public class BoardAPI extends HttpServlet {
 
     // ===== 응답 공통 처리 메서드들 =====
 
-    /** 상태코드 + JSON 응답 출력 */
+    /** 상태코드 + JSON 응답 출력 (공용 어댑터로 응답 Writer 에 바로 씀) */
     private void writeJson(HttpServletResponse resp, int status, ServiceResult body)
             throws IOException {
-        resp.setStatus(status);
-        resp.setContentType("application/json; charset=UTF-8");
-        resp.getWriter().write(gson.toJson(body));
+        Json.write(resp, status, body);
     }
 
     /** 200 OK + data 응답 */
@@ -104,6 +103,21 @@ public class BoardAPI extends HttpServlet {
         writeJson(resp, 200, ServiceResult.ok(data));
     }
 
+    /**
+     * ok(data) 응답을 바이트로 만들어 응답 캐시에 넣고 전송
+     * - key 에 변경 스탬프가 들어 있으므로 그 사이 글이 바뀌었어도 이 항목은 다시 쓰이지 않는다.
+     * - 쓰기 직후(복제 지연 구간)나 sticky 요청이면 캐시에 넣지 않고 이번 응답에만 쓴다. (BoardService.fillCache)
+     */
+    private void writeCached(HttpServletRequest req, HttpServletResponse resp, String key, String etag,
+            Object data) throws IOException {
+
+        ResponseCache.Body body = out -> Json.write(out, ServiceResult.ok(data));
+        ResponseCache.Entry e = service.fillCache()
+                ? service.responses().put(key, "application/json; charset=UTF-8", etag, body)
+                : service.responses().build("application/json; charset=UTF-8", etag, body);
+        ResponseCache.write(req, resp, 200, e);
+    }
+
     /** 201 Created 응답 */
     private void created(HttpServletResponse resp, ServiceResult result) throws IOException {
         writeJson(resp, 201, result);
@@ -119,11 +133,117 @@ public class BoardAPI extends HttpServlet {
         writeJson(resp, 404, ServiceResult.fail(msg));
     }
 
+    /**
+     * 서비스 실패 결과 → 상태코드
+     * - NOT_FOUND 404 / FORBIDDEN 403 / CONFLICT 412 / TOO_LARGE 413 / 그 외 400
+     */
+    private void fail(HttpServletResponse resp, ServiceResult r) throws IOException {
+        int status;
+        if (ServiceResult.NOT_FOUND.equals(r.code)) {
+            status = HttpServletResponse.SC_NOT_FOUND;
+        } else if (ServiceResult.FORBIDDEN.equals(r.code)) {
+            status = HttpServletResponse.SC_FORBIDDEN;
+        } else if (ServiceResult.CONFLICT.equals(r.code)) {
+            status = HttpServletResponse.SC_PRECONDITION_FAILED;
+        } else if (ServiceResult.TOO_LARGE.equals(r.code)) {
+            status = HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE;
+        } else {
+            status = HttpServletResponse.SC_BAD_REQUEST;
+        }
+        writeJson(resp, status, r);
+    }
+
+    /** 게시글 ETag 의 opaque 값 (b{idx}-v{version}) */
+    private String etagOf(int idx, int version) {
+        return "b" + idx + "-v" + version;
+    }
+
+    /**
+     * If-Match 헤더 → 기대 버전
+     *
+     * @return 헤더 없음 또는 * → null (버전 검사 생략)
+     *         이 게시글의 태그 → 그 버전
+     *         그 외(다른 게시글 태그, 형식 오류) → -1 (어떤 버전과도 맞지 않음 → 412)
+     */
+    private Integer ifMatchVersion(HttpServletRequest req, int idx) {
+
+        List<String> tags = ETags.parse(req.getHeader("If-Match"));
+        if (tags.isEmpty() || tags.contains(ETags.ANY)) {
+            return null;
+        }
+
+        String prefix = "b" + idx + "-v";
+        for (String t : tags) {
+            if (t.startsWith(prefix)) {
+                try {
+                    return Integer.parseInt(t.substring(prefix.length()));
+                } catch (NumberFormatException ignore) {
+                    // 다음 태그 확인
+                }
+            }
+        }
+        return -1;
+    }
+
     /** 500 Internal Server Error */
     private void serverError(HttpServletResponse resp, String msg) throws IOException {
         writeJson(resp, 500, ServiceResult.fail(msg));
     }
 
+    /** 503 Service Unavailable (비동기 처리 시간 초과 / 작업 스레드 부족) */
+    private void timedOut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        setCors(resp);
+        resp.setHeader("Retry-After", "1");
+        writeJson(resp, 503, ServiceResult.fail("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도하세요."));
+    }
+
+    /**
+     * 쓰기(POST/PUT/DELETE) 시간 초과
+     * - 작업을 시작하지 못했으면 반영된 것이 없으므로 503 + Retry-After (다시 보내도 안전)
+     * - 시간 초과면 작업이 계속 진행돼 나중에 반영될 수 있다.
+     *   → 다시 보내라고 하지 않고 202 + PENDING (다시 보내면 중복 등록이 생길 수 있음)
+     */
+    private void writeTimedOut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (AsyncWork.notStarted(req)) {
+            timedOut(req, resp);
+            return;
+        }
+        setCors(resp);
+        writeJson(resp, 202, ServiceResult.fail(ServiceResult.PENDING,
+                "요청이 아직 처리 중입니다. 다시 보내지 말고 잠시 후 목록에서 반영 여부를 확인하세요."));
+    }
+
+    // ============================================================
+    // 비동기 진입점
+    // - DB 작업은 AsyncWork 작업 스레드(가상 스레드)에서 하고 톰캣 요청 스레드는 바로 돌려준다.
+    // - 내보내기(export)는 응답을 오래 흘려보내므로 제한 시간 없이 요청 스레드에서 처리한다.
+    // ============================================================
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if ("/export".equals(req.getPathInfo())) {
+            get(req, resp);
+            return;
+        }
+        AsyncWork.start(req, resp, TIMEOUT_MS, this::get, this::timedOut);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        long timeout = "/batch".equals(req.getPathInfo()) ? BATCH_TIMEOUT_MS : TIMEOUT_MS;
+        AsyncWork.start(req, resp, timeout, this::post, this::writeTimedOut);
+    }
+
+    @Override
+    protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AsyncWork.start(req, resp, TIMEOUT_MS, this::put, this::writeTimedOut);
+    }
+
+    @Override
+    protected void doDelete(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AsyncWork.start(req, resp, TIMEOUT_MS, this::delete, this::writeTimedOut);
+    }
+
     // ============================================================
     // GET (목록/단건 조회)
     // ============================================================
@@ -132,8 +252,7 @@ public class BoardAPI extends HttpServlet {
      * GET /api/board → 게시글 목록
      * GET /api/board/{idx} → 게시글 상세
      */
-    @Override
-    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    private void get(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         setCors(resp);
 
         try {
@@ -141,31 +260,217 @@ public class BoardAPI extends HttpServlet {
 
             // ===== 목록 조회 =====
             if (path == null || "/".equals(path)) {
-                int page = parseInt(req.getParameter("page"), 1);
+
+                // 변경 스탬프는 메모리 값 → 바뀐 게 없으면 DB 조회 전에 304
+                // (ETag 는 URL 별로 비교되므로 page/size/cursor 는 넣지 않아도 된다)
+                String stamp = service.changeStamp();
+                String etag = "bl-" + stamp;
+                if (ETags.notModified(req, resp, etag)) {
+                    return;
+                }
+
+                // cursor 파라미터가 있으면 키셋 페이징 (cursor= 빈 값이면 첫 페이지)
+                String cursor = req.getParameter("cursor");
                 int size = parseInt(req.getParameter("size"), 10);
+                String key = cursor != null
+                        ? BoardService.listKey("cursor=" + cursor + "&size=" + size, stamp)
+                        : BoardService.listKey("page=" + parseInt(req.getParameter("page"), 1) + "&size=" + size, stamp);
+
+                // 같은 스탬프로 만든 응답 바이트가 있으면 그대로 전송 (sticky 요청은 primary 에서 새로)
+                ResponseCache.Entry cached = service.useCache() ? service.responses().get(key) : null;
+                if (cached != null) {
+                    ResponseCache.write(req, resp, 200, cached);
+                    return;
+                }
+
+                // 쓰기 직후 복제본에서 읽은 목록은 옛 내용일 수 있으므로 새 스탬프 ETag 를 붙이지 않는다
+                // (붙이면 클라이언트가 다음 변경 때까지 304 로 옛 목록을 계속 씀)
+                String listTag = service.useCache() && !service.fillCache() ? null : etag;
+                if (listTag == null) {
+                    resp.setHeader("Cache-Control", "no-store"); // 위에서 붙은 ETag 로 저장하지 않도록
+                }
+
+                if (cursor != null) {
+                    try {
+                        BoardPage bp = service.listAfter(cursor, size);
+                        if (AsyncWork.expired()) {
+                            return;
+                        }
+                        writeCached(req, resp, key, listTag, bp); // { items, nextCursor, hasNext }를 data로 감싸서 응답
+                    } catch (IllegalArgumentException e) {
+                        badRequest(resp, e.getMessage());
+                    }
+                    return;
+                }
+
+                int page = parseInt(req.getParameter("page"), 1);
 
                 List<Board> list = service.list(page, size);
-                ok(resp, list); // List<Board>를 data로 감싸서 응답
+                if (AsyncWork.expired()) {
+                    return;
+                }
+                writeCached(req, resp, key, listTag, list); // List<Board>를 data로 감싸서 응답
+                return;
+            }
+
+            // ===== 검색 =====
+            if ("/search".equals(path)) {
+                search(req, resp);
+                return;
+            }
+
+            // ===== 내보내기 =====
+            if ("/export".equals(path)) {
+                export(req, resp);
                 return;
             }
 
             // ===== 단일 조회 =====
             int idx = Integer.parseInt(path.substring(1));
+            String key = BoardService.detailKey(idx, service.changeStamp());
+
+            // 응답 바이트 캐시 → ETag 비교 후 write 한 번 (sticky 요청은 primary 에서 새로)
+            ResponseCache.Entry cached = service.useCache() ? service.responses().get(key) : null;
+            if (cached != null) {
+                if (!ETags.notModified(req, resp, cached.getEtag())) {
+                    ResponseCache.write(req, resp, 200, cached);
+                }
+                return;
+            }
+
             Board b = service.get(idx);
+            if (AsyncWork.expired()) {
+                return;
+            }
 
             if (b == null) {
                 notFound(resp, "게시글을 찾을 수 없습니다.");
                 return;
             }
 
-            ok(resp, b);
+            // 단건 캐시에서 꺼낸 버전으로 비교 → 같으면 JSON 변환 없이 304
+            String etag = etagOf(b.idx, b.version);
+            if (ETags.notModified(req, resp, etag)) {
+                return;
+            }
+
+            writeCached(req, resp, key, etag, b);
 
         } catch (Exception e) {
+            if (resp.isCommitted()) {
+                // 이미 일부를 보냄(내보내기 도중 클라이언트 끊김/DB 오류 등) → JSON 을 덧붙이지 않고
+                // 예외를 컨테이너로 넘겨 연결을 끊는다. (받는 쪽은 잘린 응답으로 알 수 있음)
+                throw e instanceof IOException ? (IOException) e : new IOException(e);
+            }
             e.printStackTrace();
             serverError(resp, "서버 오류: " + e.getMessage());
         }
     }
 
+    /**
+     * GET /api/board/export?format=ndjson (기본) | csv
+     *
+     * - DB 결과를 한 행씩 읽어 바로 응답에 쓴다. (목록을 메모리에 모으지 않음)
+     * - ndjson : 한 줄에 게시글 JSON 하나 { idx, title, content, regDate, fk_user_id, version }
+     * - csv : 헤더 + 행, 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM 포함
+     * - 출력이 시작된 뒤 오류가 나면 상태코드를 바꿀 수 없으므로 응답이 중간에 끊긴다.
+     * - PrintWriter 는 쓰기 실패를 삼키므로 OutputStream 에 직접 쓴다.
+     *   → 클라이언트가 끊으면 다음 전송에서 IOException 이 나고 DB 읽기도 바로 멈춘다. (Jdbc.stream)
+     */
+    private void export(HttpServletRequest req, HttpServletResponse resp) throws Exception {
+
+        String format = req.getParameter("format");
+        if (format == null || format.isEmpty()) {
+            format = "ndjson";
+        }
+
+        boolean csv;
+        if ("csv".equalsIgnoreCase(format)) {
+            csv = true;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            csv = false;
+        } else {
+            badRequest(resp, "format 은 ndjson 또는 csv 만 가능합니다.");
+            return;
+        }
+
+        String filename = "board-" + LocalDate.now() + (csv ? ".csv" : ".ndjson");
+
+        resp.setStatus(200);
+        resp.setContentType(csv ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8");
+        resp.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+
+        // 버퍼가 차면 톰캣으로 넘어가고, 톰캣 응답 버퍼가 차면 전송됨 (끊긴 연결이면 여기서 IOException)
+        Writer out = new BufferedWriter(new OutputStreamWriter(resp.getOutputStream(), StandardCharsets.UTF_8));
+
+        if (csv) {
+            out.write('\uFEFF'); // UTF-8 BOM
+            out.write("idx,title,content,reg_date,fk_user_id\r\n");
+
+            service.exportAll(b -> {
+                out.write(String.valueOf(b.idx));
+                out.write(',');
+                out.write(csvField(b.title));
+                out.write(',');
+                out.write(csvField(b.content));
+                out.write(',');
+                out.write(csvField(Dates.format(b.regDate)));
+                out.write(',');
+                out.write(csvField(b.fk_user_id));
+                out.write("\r\n");
+            });
+
+        } else {
+            service.exportAll(b -> {
+                Json.write(out, b); // 문자열을 만들지 않고 바로 출력
+                out.write('\n');
+            });
+        }
+
+        out.flush();
+    }
+
+    /** CSV 필드 (RFC 4180: 쉼표/따옴표/줄바꿈이 있으면 큰따옴표로 감싸고 " → "") */
+    private String csvField(String v) {
+        if (v == null) {
+            return "";
+        }
+        if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) {
+            return v;
+        }
+        return "\"" + v.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * GET /api/board/search?q=검색어&size=10&cursor=
+     * - data = { items: [{ idx, title, snippet, fk_user_id, regDate, score }], total, nextCursor, hasNext }
+     * - title/snippet 은 HTML 이스케이프 후 일치 부분을 <mark> 로 감싼 HTML
+     * - 시작 직후 색인 구성 중이면 503
+     */
+    private void search(HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        String q = req.getParameter("q");
+        String cursor = req.getParameter("cursor");
+        int size = parseInt(req.getParameter("size"), 10);
+
+        BoardSearchPage result;
+        try {
+            result = service.search(q, cursor, size);
+        } catch (IllegalArgumentException e) {
+            badRequest(resp, e.getMessage());
+            return;
+        }
+        if (AsyncWork.expired()) {
+            return;
+        }
+
+        if (result == null) {
+            writeJson(resp, 503, ServiceResult.fail("검색 색인을 준비 중입니다. 잠시 후 다시 시도해 주세요."));
+            return;
+        }
+
+        ok(resp, result);
+    }
+
     // ============================================================
     // POST (게시글 생성)
     // ============================================================
@@ -174,38 +479,82 @@ public class BoardAPI extends HttpServlet {
      * POST /api/board
      * Body: { title, content }
      */
-    @Override
-    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    private void post(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         setCors(resp);
 
+        if ("/batch".equals(req.getPathInfo())) {
+            batch(req, resp);
+            return;
+        }
+
         try {
-            ServiceResult jr = readJson(req);
+            // body → CreateBoard (형식/필수값/크기 검사 포함)
+            ServiceResult jr = JsonBody.read(req, MAX_BODY, CreateBoard::read);
             if (!jr.success) {
-                badRequest(resp, jr.message);
+                fail(resp, jr); // 400 또는 413
+                return;
+            }
+
+            CreateBoard cmd = (CreateBoard) jr.data;
+
+            String fk_user_id = Auth.user(req); // 작성자 ID (로그인 토큰, AuthFilter)
+
+            // 게시글 생성 (ServiceResult.idx 에 새 idx 들어감)
+            ServiceResult r = service.create(cmd.title, cmd.content, fk_user_id);
+            if (AsyncWork.expired()) {
                 return;
             }
 
-            JsonObject json = (JsonObject) jr.data;
+            if (r.success) {
+                created(resp, r); // status 201 + body: ServiceResult( message + idx )
+            } else {
+                badRequest(resp, r.message);
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            serverError(resp, "서버 오류: " + e.getMessage());
+        }
+    }
 
-            // 필수값 검증
-            if (json == null || !json.has("title") || !json.has("content")) {
-                badRequest(resp, "필수 필드(title, content)가 없습니다.");
+    /**
+     * POST /api/board/batch
+     * Body: [ { title, content }, ... ] (최대 BoardService.MAX_BATCH 건)
+     *
+     * - 항목별로 검증하고, 통과한 항목만 한 트랜잭션으로 batch INSERT
+     * - 응답 data = 항목별 ServiceResult 배열 (요청 순서, 성공 항목은 idx 포함)
+     * - 한 건이라도 등록되면 201, 전부 실패하면 400
+     */
+    private void batch(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try {
+            // body → CreateBoard 목록 (MAX_BATCH 건을 넘으면 나머지를 읽지 않고 실패)
+            ServiceResult jr = JsonBody.read(req, MAX_BATCH_BODY,
+                    in -> CreateBoard.readList(in, BoardService.MAX_BATCH));
+            if (!jr.success) {
+                fail(resp, jr); // 400 또는 413
                 return;
             }
 
-            HttpSession session = req.getSession(); // 로그인 세션
-            String fk_user_id = (String) session.getAttribute("id"); // 작성자 ID
+            @SuppressWarnings("unchecked")
+            List<CreateBoard> cmds = (List<CreateBoard>) jr.data;
 
-            String title = json.get("title").getAsString();
-            String content = json.get("content").getAsString();
+            // 항목 변환 (형식이 잘못된 항목은 null → 서비스에서 항목 실패로 처리)
+            List<Board> items = new ArrayList<>(cmds.size());
+            for (CreateBoard c : cmds) {
+                items.add(toDraft(c));
+            }
 
-            // 게시글 생성 (ServiceResult.idx 에 새 idx 들어감)
-            ServiceResult r = service.create(title, content, fk_user_id);
+            String fk_user_id = Auth.user(req); // 작성자 ID (로그인 토큰, AuthFilter)
+
+            ServiceResult r = service.createBatch(items, fk_user_id);
+            if (AsyncWork.expired()) {
+                return;
+            }
 
             if (r.success) {
-                created(resp, r); // status 201 + body: ServiceResult( message + idx )
+                writeJson(resp, HttpServletResponse.SC_CREATED, r);
             } else {
-                badRequest(resp, r.message);
+                writeJson(resp, HttpServletResponse.SC_BAD_REQUEST, r);
             }
 
         } catch (Exception e) {
@@ -214,17 +563,30 @@ public class BoardAPI extends HttpServlet {
         }
     }
 
+    /** 배열 항목 → Board (형식이 맞지 않은 항목은 null) */
+    private Board toDraft(CreateBoard c) {
+        if (c == null) {
+            return null;
+        }
+
+        Board b = new Board();
+        b.title = c.title;
+        b.content = c.content;
+        return b;
+    }
+
     // ============================================================
     // PUT (게시글 수정)
     // ============================================================
 
     /**
      * PUT /api/board/{idx}
+     * Header: If-Match: "b{idx}-v{version}" (선택)
      * Body: { title, content }
-     * - 본인 게시글만 수정 가능
+     * - 본인 게시글만 수정 가능 (403), 없는 글 404, 버전 불일치 412
+     * - If-Match 를 보낸 경우 응답 ETag 헤더에 새 버전
      */
-    @Override
-    protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    private void put(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         setCors(resp);
 
         try {
@@ -236,31 +598,28 @@ public class BoardAPI extends HttpServlet {
             }
 
             int idx = Integer.parseInt(path.substring(1));
-            ServiceResult jr = readJson(req);
+            ServiceResult jr = JsonBody.read(req, MAX_BODY, UpdateBoard::read);
             if (!jr.success) {
-                badRequest(resp, jr.message);
+                fail(resp, jr); // 400 또는 413
                 return;
             }
-            JsonObject json = (JsonObject) jr.data;
+            UpdateBoard cmd = (UpdateBoard) jr.data;
 
-            if (json == null || !json.has("title") || !json.has("content")) {
-                badRequest(resp, "필수 필드(title, content)가 없습니다.");
+            String fk_user_id = Auth.user(req);
+
+            // 수정 로직 (본인 여부/버전은 service.update 의 UPDATE 조건으로 검사)
+            ServiceResult r = service.update(idx, cmd.title, cmd.content, fk_user_id, ifMatchVersion(req, idx));
+            if (AsyncWork.expired()) {
                 return;
             }
 
-            HttpSession session = req.getSession();
-            String fk_user_id = (String) session.getAttribute("id");
-
-            String title = json.get("title").getAsString();
-            String content = json.get("content").getAsString();
-
-            // 수정 로직 (본인 여부는 service.update 내부에서 검사)
-            ServiceResult r = service.update(idx, title, content, fk_user_id);
-
             if (r.success) {
-                writeJson(resp, 200, r); // 메시지: "수정되었습니다", data: null
+                if (r.data != null) {
+                    resp.setHeader("ETag", ETags.quote(etagOf(idx, (Integer) r.data)));
+                }
+                writeJson(resp, 200, r); // 메시지: "수정되었습니다", data: 새 버전 또는 null
             } else {
-                badRequest(resp, r.message);
+                fail(resp, r);
             }
 
         } catch (Exception e) {
@@ -275,10 +634,10 @@ public class BoardAPI extends HttpServlet {
 
     /**
      * DELETE /api/board/{idx}
-     * - 본인 게시글만 삭제 가능
+     * Header: If-Match: "b{idx}-v{version}" (선택)
+     * - 본인 게시글만 삭제 가능 (403), 없는 글 404, 버전 불일치 412
      */
-    @Override
-    protected void doDelete(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    private void delete(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         setCors(resp);
 
         try {
@@ -289,18 +648,20 @@ public class BoardAPI extends HttpServlet {
                 return;
             }
 
-            HttpSession session = req.getSession();
-            String fk_user_id = (String) session.getAttribute("id");
+            String fk_user_id = Auth.user(req);
 
             int idx = Integer.parseInt(path.substring(1));
 
-            // 삭제 로직 (본인 여부는 service.delete 내부에서 검사)
-            ServiceResult r = service.delete(idx, fk_user_id);
+            // 삭제 로직 (본인 여부/버전은 service.delete 의 DELETE 조건으로 검사)
+            ServiceResult r = service.delete(idx, fk_user_id, ifMatchVersion(req, idx));
+            if (AsyncWork.expired()) {
+                return;
+            }
 
             if (r.success) {
                 writeJson(resp, 200, r);
             } else {
-                badRequest(resp, r.message);
+                fail(resp, r);
             }
 
         } catch (Exception e) {
@@ -1,7 +1,10 @@
 package localhost.myapp.api;
 
+import localhost.myapp.board.BoardSearchIndex;
+import localhost.myapp.board.BoardService;
 import localhost.myapp.dao.BoardDao;
 import localhost.myapp.model.Board;
+import localhost.myapp.common.Json;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import jakarta.servlet.annotation.WebServlet;
@@ -17,11 +20,12 @@ import java.util.List;
  * - POST /api/board               : 생성
  * - PUT /api/board/{idx}          : 수정
  * - DELETE /api/board/{idx}       : 삭제
+ * - 쓰기 후에는 BoardService.changedElsewhere() 로 공유 캐시/변경 스탬프를 맞춘다. (BoardAPI 가 304/캐시로 옛 글을 주지 않도록)
  */
 @WebServlet("/api/board/*")
 public class BoardServlet extends HttpServlet {
     private final BoardDao dao = new BoardDao();
-    private final Gson gson = new Gson();
+    private final Gson gson = Json.GSON;
 
     private JsonObject readJson(HttpServletRequest req) throws IOException {
         return gson.fromJson(req.getReader(), JsonObject.class);
@@ -85,6 +89,7 @@ public class BoardServlet extends HttpServlet {
             b.title = json.get("title").getAsString();
             b.content = json.get("content").getAsString();
             dao.insert(b);
+            BoardService.changedElsewhere(0); // 새 번호를 모름 → 단건 캐시도 전부 (검색 색인은 재시작 때 반영)
             resp.setStatus(201);
             resp.getWriter().write("{\"message\":\"created\"}");
         } catch (Exception e) {
@@ -117,6 +122,8 @@ public class BoardServlet extends HttpServlet {
 
             boolean ok = dao.update(b);
             if (!ok) { resp.setStatus(404); resp.getWriter().write("{\"error\":\"not_found\"}"); return; }
+            BoardService.changedElsewhere(idx);
+            BoardSearchIndex.shared().add(idx, b.title, b.content);
 
             resp.getWriter().write("{\"message\":\"updated\"}");
         } catch (Exception e) {
@@ -137,6 +144,8 @@ public class BoardServlet extends HttpServlet {
 
             boolean ok = dao.delete(idx);
             if (!ok) { resp.setStatus(404); resp.getWriter().write("{\"error\":\"not_found\"}"); return; }
+            BoardService.changedElsewhere(idx);
+            BoardSearchIndex.shared().remove(idx);
 
             resp.getWriter().write("{\"message\":\"deleted\"}");
         } catch (Exception e) {
@@ -3,15 +3,14 @@ package localhost.myapp.api;
 
 import localhost.myapp.user.UserService;
 import localhost.myapp.dto.ServiceResult;
+import localhost.myapp.common.AsyncWork;
+import localhost.myapp.common.Json;
+import localhost.myapp.common.JsonBody;
+import localhost.myapp.common.auth.Auth;
+import localhost.myapp.dto.Login;
+import localhost.myapp.dto.Register;
 // 사용자 비즈니스 로직(UserService), 공통 응답 DTO(ServiceResult) import.
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-// JSON 변환을 위한 Gson 라이브러리.
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 // 서블릿 애노테이션과 HttpServlet, HttpServletRequest/Response 사용.
@@ -19,56 +18,30 @@ import jakarta.servlet.http.*;
 import java.io.IOException;
 // 입출력 예외 처리를 위한 import.
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+// 로그인 응답 data (token, expiresIn).
+
 /**
  * /api/user/*
  * - POST /api/user/register : 회원가입
- * - POST /api/user/login : 로그인
- * - POST /api/user/logout : 로그아웃
+ * - POST /api/user/login : 로그인 (auth 쿠키 + 응답 data.token, 다른 클라이언트는 Authorization: Bearer {token})
+ * - POST /api/user/logout : 로그아웃 (auth 쿠키 삭제)
+ *
+ * 로그인 상태는 세션이 아니라 서명한 토큰 (common.auth.Auth, AuthFilter)
  */
-@WebServlet("/api/user/*")
+@WebServlet(urlPatterns = "/api/user/*", asyncSupported = true)
 public class UserAPI extends HttpServlet {
     // HttpServlet 을 상속하여 HTTP 요청을 처리하는 UserAPI 클래스.
 
-    private final Gson gson = new Gson();
-    // JSON 직렬화/역직렬화를 위한 Gson 인스턴스.
-
     private final UserService userService = new UserService();
     // 비즈니스 로직(회원가입, 로그인 등)을 담당하는 UserService.
 
-    /**
-     * 요청 바디를 JSON 으로 읽어서
-     * - 성공 시: success=true, data 에 JsonObject 저장
-     * - 실패 시: success=false, message 에 에러 메시지
-     */
-    private ServiceResult readJson(HttpServletRequest req) throws IOException {
-
-        // 1. Content-Type 검사
-        String contentType = req.getContentType();
-        if (contentType == null || !contentType.toLowerCase().startsWith("application/json")) {
-            return ServiceResult.fail("Content-Type 은 application/json 이어야 합니다.");
-        }
-
-        try {
-            JsonElement elem = JsonParser.parseReader(req.getReader());
-
-            // 2. body 비어 있음
-            if (elem == null || elem.isJsonNull()) {
-                return ServiceResult.fail("요청 body 가 비어 있습니다.");
-            }
-
-            // 3. JSON 객체가 아님 (배열/값 등)
-            if (!elem.isJsonObject()) {
-                return ServiceResult.fail("JSON 객체 형식의 body 가 필요합니다. (예: {\"id\":\"user\"})");
-            }
+    private static final int MAX_BODY = 4 * 1024;
+    // 회원 요청 body 최대 크기 (id/password/email 만 있으므로 작게).
 
-            // 4. 성공 → data 에 JsonObject 넣어서 반환
-            return ServiceResult.ok(elem.getAsJsonObject());
-
-        } catch (JsonParseException e) {
-            // 5. JSON 문법 에러
-            return ServiceResult.fail("잘못된 JSON 형식입니다.");
-        }
-    }
+    private static final long TIMEOUT_MS = 10_000;
+    // 요청 처리 제한 시간 (넘으면 503, 이미 시작한 처리는 202).
 
     // ===== CORS 설정 메서드 =====
     private void setCors(HttpServletResponse resp) {
@@ -76,8 +49,8 @@ public class UserAPI extends HttpServlet {
         resp.setHeader("Access-Control-Allow-Origin", "*");
         // 모든 Origin 허용 (*).
 
-        resp.setHeader("Access-Control-Allow-Headers", "Content-Type");
-        // 요청에 포함될 수 있는 헤더 중 Content-Type 을 허용.
+        resp.setHeader("Access-Control-Allow-Headers", "Content-Type, Authorization");
+        // 요청에 포함될 수 있는 헤더 중 Content-Type, Authorization(Bearer 토큰) 을 허용.
 
         resp.setHeader("Access-Control-Allow-Methods", "GET,POST,PUT,DELETE,OPTIONS");
         // 허용할 HTTP 메서드 목록 지정.
@@ -98,14 +71,9 @@ public class UserAPI extends HttpServlet {
     private void writeJson(HttpServletResponse resp, int status, ServiceResult body)
             throws IOException {
         // HTTP 상태코드와 ServiceResult 구조로 JSON 응답을 내려주는 공통 메서드.
-        resp.setStatus(status);
-        // HTTP 상태 코드 설정.
-
-        resp.setContentType("application/json; charset=UTF-8");
-        // 응답 Content-Type 설정.
-
-        resp.getWriter().write(gson.toJson(body));
-        // Gson으로 JSON 문자열로 변환하여 클라이언트에 전송.
+        Json.write(resp, status, body);
+        // 상태 코드 + Content-Type 설정 후, 공용 어댑터로 응답 Writer 에 바로 JSON 출력.
+        // (전체를 String 으로 만들지 않음)
     }
 
     private void ok(HttpServletResponse resp, ServiceResult body) throws IOException {
@@ -123,6 +91,14 @@ public class UserAPI extends HttpServlet {
         writeJson(resp, 400, ServiceResult.fail(msg));
     }
 
+    private void bodyError(HttpServletResponse resp, ServiceResult jr) throws IOException {
+        // body 바인딩 실패: 크기 초과는 413, 나머지(형식/필수값)는 400.
+        int status = ServiceResult.TOO_LARGE.equals(jr.code)
+                ? HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE
+                : HttpServletResponse.SC_BAD_REQUEST;
+        writeJson(resp, status, ServiceResult.fail(jr.message));
+    }
+
     private void unauthorized(HttpServletResponse resp, String msg) throws IOException {
         // 401 Unauthorized + 실패 응답.
         writeJson(resp, 401, ServiceResult.fail(msg));
@@ -138,9 +114,27 @@ public class UserAPI extends HttpServlet {
         writeJson(resp, 500, ServiceResult.fail(msg));
     }
 
-    // ===== POST (회원가입, 로그인, 로그아웃 공통 처리) =====
+    private void timedOut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        setCors(resp);
+        if (AsyncWork.notStarted(req)) {
+            // 503 Service Unavailable: 작업 스레드 부족 → 아무것도 처리하지 않았으므로 다시 보내도 안전.
+            resp.setHeader("Retry-After", "1");
+            writeJson(resp, 503, ServiceResult.fail("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도하세요."));
+            return;
+        }
+        // 202 Accepted: 시간 초과, 작업은 계속 진행 중이라 가입이 나중에 반영될 수 있음 → 재시도를 권하지 않음.
+        writeJson(resp, 202, ServiceResult.fail(ServiceResult.PENDING,
+                "요청이 아직 처리 중입니다. 다시 보내기 전에 잠시 후 결과를 확인하세요."));
+    }
+
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        // 회원 조회/저장(DB)은 작업 스레드(가상 스레드)에서 처리하고 톰캣 요청 스레드는 바로 반환.
+        AsyncWork.start(req, resp, TIMEOUT_MS, this::post, this::timedOut);
+    }
+
+    // ===== POST (회원가입, 로그인, 로그아웃 공통 처리) =====
+    private void post(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         // POST /api/user/* 요청 처리 (회원가입, 로그인, 로그아웃).
         setCors(resp);
         // CORS 허용 헤더 설정.
@@ -163,7 +157,10 @@ public class UserAPI extends HttpServlet {
 
             // 1) 로그아웃은 body 없이 처리 (JSON 파싱 X)
             if ("/logout".equals(path)) {
-                // 세션이 존재할 때만 가져오기 (새로 만들지 않음)
+                // 로그인 토큰 쿠키 삭제
+                Auth.logout(req, resp);
+
+                // 세션(flash 메시지 등)이 존재할 때만 가져오기 (새로 만들지 않음)
                 HttpSession session = req.getSession(false);
                 if (session != null) {
                     session.invalidate(); // 세션 완전 종료
@@ -174,34 +171,28 @@ public class UserAPI extends HttpServlet {
                 return;
             }
 
-            // 로그아웃이 아니라면 JSON body 파싱
-            ServiceResult jr = readJson(req);
-            if (!jr.success) {
-                badRequest(resp, jr.message);
-                return;
-            }
-            JsonObject json = (JsonObject) jr.data;
-
+            // 로그아웃이 아니라면 경로별 명령 객체로 JSON body 바인딩
             switch (path) {
                 case "/register": {
                     // 회원가입 처리.
 
-                    if (!json.has("id") || !json.has("password") || !json.has("email")) {
-                        // 필수 필드 유무 검사.
-                        badRequest(resp, "필수 필드(id, password, email)가 없습니다.");
+                    ServiceResult jr = JsonBody.read(req, MAX_BODY, Register::read);
+                    // body → Register (형식/필수 필드/크기 검사 포함).
+                    if (!jr.success) {
+                        bodyError(resp, jr);
                         return;
                     }
+                    Register cmd = (Register) jr.data;
+                    String id = cmd.id;
 
-                    String id = json.get("id").getAsString();
-                    String password = json.get("password").getAsString();
-                    String email = json.get("email").getAsString();
-
-                    ServiceResult r = userService.register(id, password, email);
+                    ServiceResult r = userService.register(cmd.id, cmd.password, cmd.email);
+                    if (AsyncWork.expired()) {
+                        return;
+                    }
 
                     if (r.success) {
-                        // 성공 시 201 Created + ServiceResult 전체 전송
-                        HttpSession session = req.getSession(); // 여기서만 세션 생성/사용
-                        session.setAttribute("id", id);
+                        // 성공 시 201 Created + ServiceResult 전체 전송 (가입과 함께 로그인 토큰 발급)
+                        Auth.login(req, resp, id);
                         created(resp, r);
                     } else {
                         // 실패 시 400 Bad Request + message 사용.
@@ -213,21 +204,27 @@ public class UserAPI extends HttpServlet {
                 case "/login": {
                     // 로그인 처리.
 
-                    if (!json.has("id") || !json.has("password")) {
-                        badRequest(resp, "필수 필드(id, password)가 없습니다.");
+                    ServiceResult jr = JsonBody.read(req, MAX_BODY, Login::read);
+                    // body → Login (형식/필수 필드/크기 검사 포함).
+                    if (!jr.success) {
+                        bodyError(resp, jr);
                         return;
                     }
+                    Login cmd = (Login) jr.data;
+                    String id = cmd.id;
 
-                    String id = json.get("id").getAsString();
-                    String password = json.get("password").getAsString();
-
-                    ServiceResult r = userService.login(id, password);
+                    ServiceResult r = userService.login(cmd.id, cmd.password);
+                    if (AsyncWork.expired()) {
+                        return;
+                    }
 
                     if (r.success) {
-                        // 로그인 성공: 200 OK + ServiceResult 그대로 응답.
-                        HttpSession session = req.getSession(); // 여기서 세션 생성/사용
-                        session.setAttribute("id", id);
-                        ok(resp, r);
+                        // 로그인 성공: 토큰 발급 (auth 쿠키) + 200 OK, data 에 토큰.
+                        String token = Auth.login(req, resp, id);
+                        Map<String, Object> data = new LinkedHashMap<>();
+                        data.put("token", token);
+                        data.put("expiresIn", Auth.getTtlSeconds());
+                        ok(resp, ServiceResult.ok(r.message, data));
                     } else {
                         // 로그인 실패: 401 Unauthorized 로 응답.
                         unauthorized(resp, r.message);
@@ -1,5 +1,9 @@
 package localhost.myapp.board;
 
+import localhost.myapp.common.Dates;
+
+import java.time.Instant;
+
 /**
  * Board DTO(데이터 전달 객체)
  * - DB의 board 테이블 한 행(row)을 저장하는 모델 클래스
@@ -8,25 +12,41 @@ package localhost.myapp.board;
  */
 public class Board {
 
+    /** 요약(excerpt) 최대 길이 (글자 수, DB excerpt 컬럼은 VARCHAR(200)) */
+    public static final int EXCERPT_LENGTH = 120;
+
     /** 게시글 번호 (Primary Key, DB의 idx 컬럼) */
     public int idx;
 
     /** 게시글 제목 (DB의 title 컬럼) */
     public String title;
 
-    /** 게시글 내용 (DB의 content 컬럼) */
+    /** 게시글 내용 (DB의 content 컬럼, 목록 조회에서는 null) */
     public String content;
 
+    /**
+     * 게시글 요약 (DB의 excerpt 컬럼)
+     * - 등록/수정 시 content 앞부분을 미리 잘라 저장해 둔 값
+     * - 목록 조회는 content 대신 이 값만 읽는다
+     */
+    public String excerpt;
+
     /**
      * 게시글 등록일
      * - 자바 필드명: regDate
      * - DB 컬럼명: reg_date
      */
-    public String regDate;
+    public Instant regDate;
 
     /** 작성자 아이디 (DB의 fk_user_id 컬럼) */
     public String fk_user_id;
 
+    /**
+     * 수정 버전 (DB의 version 컬럼, 수정할 때마다 +1)
+     * - 낙관적 잠금: 읽은 버전과 DB 버전이 같을 때만 수정/삭제 (ETag / If-Match)
+     */
+    public int version;
+
     /** 기본 생성자 (JavaBean 규약 준수) */
     public Board() {
     }
@@ -57,14 +77,27 @@ public class Board {
         this.content = content;
     }
 
-    public String getRegDate() {
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public Instant getRegDate() {
         return regDate;
     }
 
-    public void setRegDate(String regDate) {
+    public void setRegDate(Instant regDate) {
         this.regDate = regDate;
     }
 
+    /** 화면 표시용 등록일 (yyyy-MM-dd HH:mm:ss, JSP 에서 ${x.regDateText}) */
+    public String getRegDateText() {
+        return Dates.format(regDate);
+    }
+
     public String getFk_user_id() {
         return fk_user_id;
     }
@@ -72,4 +105,33 @@ public class Board {
     public void setFk_user_id(String fk_user_id) {
         this.fk_user_id = fk_user_id;
     }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * 본문 → 목록용 요약 생성
+     * - 연속 공백/줄바꿈은 공백 하나로 합침
+     * - EXCERPT_LENGTH 글자를 넘으면 잘라내고 "…" 를 붙임
+     * - 한글/이모지가 중간에 잘리지 않도록 code point 기준으로 자른다
+     */
+    public static String makeExcerpt(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        String flat = content.replaceAll("\\s+", " ").trim();
+
+        if (flat.codePointCount(0, flat.length()) <= EXCERPT_LENGTH) {
+            return flat;
+        }
+
+        int end = flat.offsetByCodePoints(0, EXCERPT_LENGTH);
+        return flat.substring(0, end).trim() + "…";
+    }
 }
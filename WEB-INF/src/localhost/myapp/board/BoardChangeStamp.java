@@ -0,0 +1,129 @@
+package localhost.myapp.board;
+
+import localhost.myapp.common.log.AccessLog;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시판 전체 변경 스탬프 (목록 ETag 용)
+ *
+ * - 게시글 등록/수정/삭제가 일어날 때마다 BoardService 가 bump() 로 값을 올린다. (이 노드의 변경은 바로 반영)
+ * - DB 변경 순번(board_stamp.seq, BoardDao 가 쓰기와 같은 트랜잭션에서 올림)을 POLL_MS 마다 primary 에서 읽는다.
+ *   이 노드가 아는 값과 다르면(다른 노드/예전 BoardServlet/직접 SQL) 등록된 리스너(BoardService)가
+ *   공유 캐시를 비우고 bump() 한다. → 최대 POLL_MS 안에 스탬프가 바뀐다.
+ * - 이 노드의 쓰기는 BoardDao 가 commit 직후 written() 으로 새 순번을 알려 주므로 다시 비우지 않는다.
+ *   (알린 순번이 아는 값 바로 다음일 때만 받아들임 → 사이에 다른 곳의 변경이 끼었으면 확인 스레드가 비움)
+ * - 목록 ETag 를 이 값으로 만들면, 조건부 요청(If-None-Match)을 요청마다 DB 조회 없이 판단할 수 있다.
+ * - 서버 기동 시각(EPOCH)을 앞에 붙이므로 재시작 후 순번이 0 부터 다시 시작해도 예전 ETag 와 겹치지 않는다.
+ *   (배포로 JSP/응답 형식이 바뀐 경우에도 자연스럽게 무효화됨)
+ *
+ * 설정 (시스템 프로퍼티)
+ * - myapp.board.stampPollMs : DB 변경 순번 확인 주기 (기본 5000, 0 이하면 확인하지 않음 → 이 노드의 변경만 반영)
+ *
+ * 주의
+ * - bump() 는 DB 반영과 캐시 무효화가 끝난 뒤에 호출해야 한다.
+ *   (먼저 올리면 새 스탬프로 예전 데이터를 응답할 수 있다)
+ * - 확인 쿼리는 board_stamp 의 PK 한 행만 읽는다. 요청과 무관하게 확인 스레드 하나에서만 실행한다.
+ */
+public final class BoardChangeStamp {
+
+    /** DB 변경 순번 확인 주기 */
+    private static final long POLL_MS = Long.getLong("myapp.board.stampPollMs", 5_000L);
+
+    /** 서버 기동 시각 (36진수 문자열) */
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    /** 변경 순번 */
+    private static final AtomicLong SEQ = new AtomicLong();
+
+    /** 이 노드가 반영한 DB 변경 순번 (아직 못 읽었으면 -1) */
+    private static final AtomicLong KNOWN = new AtomicLong(-1);
+
+    /** 순번 확인 실패 중인지 (실패/복구가 바뀔 때만 기록) */
+    private static volatile boolean failing;
+
+    /** 다른 곳에서 DB 가 바뀌었을 때 호출 (확인 스레드) */
+    private static final List<Runnable> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static BoardDao dao;
+
+    static {
+        if (POLL_MS > 0) {
+            ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "board-change-stamp");
+                t.setDaemon(true);
+                return t;
+            });
+            poller.scheduleWithFixedDelay(BoardChangeStamp::poll, 0, POLL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private BoardChangeStamp() {
+    }
+
+    /** 현재 스탬프 (예: lx3k9a2b.17) */
+    public static String current() {
+        return EPOCH + "." + SEQ.get();
+    }
+
+    /** 서버 기동 시각 부분만 (게시글 버전과 함께 화면 ETag 에 사용) */
+    public static String epoch() {
+        return EPOCH;
+    }
+
+    /** 변경 발생 → 스탬프 증가 */
+    public static void bump() {
+        SEQ.incrementAndGet();
+    }
+
+    /** 다른 곳의 변경을 감지하면 호출할 작업 등록 (공유 캐시 비우기 + bump) */
+    static void addListener(Runnable listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * 이 노드의 쓰기가 commit 되어 DB 변경 순번이 seq 가 됨 (BoardDao)
+     * - 아는 값 바로 다음이면 받아들인다. 아니면 그 사이 다른 곳의 변경이 있었으므로 확인 스레드에 맡긴다.
+     */
+    static void written(long seq) {
+        KNOWN.compareAndSet(seq - 1, seq);
+    }
+
+    /** 확인 스레드: DB 변경 순번을 읽어 다른 곳에서 바뀌었으면 반영 */
+    private static void poll() {
+        try {
+            if (dao == null) {
+                dao = new BoardDao();
+            }
+            long seq = dao.changeSeq();
+
+            if (failing) {
+                failing = false;
+                AccessLog.event("board.stamp", "DB 변경 순번 확인 복구");
+            }
+            long known = KNOWN.get();
+            if (seq == known || !KNOWN.compareAndSet(known, seq)) {
+                return; // 같음, 또는 그 사이 이 노드의 쓰기가 반영됨 (다음 확인에서 다시 비교)
+            }
+            if (known < 0) {
+                return; // 처음 읽음 (이전 상태를 모르므로 비울 것이 없음)
+            }
+
+            for (Runnable l : LISTENERS) {
+                l.run(); // 캐시를 비우고 bump
+            }
+
+        } catch (Exception e) {
+            if (!failing) {
+                failing = true;
+                AccessLog.event("board.stamp", "DB 변경 순번 확인 실패 (" + POLL_MS + "ms 후 다시): "
+                        + e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package localhost.myapp.board;
 
+import localhost.myapp.common.AsyncWork;
+import localhost.myapp.common.ETags;
+import localhost.myapp.common.auth.Auth;
 import localhost.myapp.dto.ServiceResult;
 
 import jakarta.servlet.ServletException;
@@ -18,7 +21,7 @@ import java.util.List;
  *
  * 라우팅 규칙 (URL 구조)
  * - GET
- * /board/list → 목록 페이지
+ * /board/list → 목록 페이지 (page=N : 번호 페이징, cursor= : 키셋 페이징)
  * /board/detail → 상세 페이지
  * /board/write → 글쓰기 페이지
  * /board/edit → 수정 페이지
@@ -32,23 +35,51 @@ import java.util.List;
  * - 사용자 요청 파악 (pathInfo, action)
  * - 필요한 Service 호출
  * - JSP로 forward 또는 redirect
+ *
+ * 비동기 처리
+ * - 서비스 호출(DB)과 JSP forward 는 AsyncWork 작업 스레드(가상 스레드)에서 한다.
+ * - 제한 시간(TIMEOUT_MS)을 넘으면 503 오류 페이지
+ *   그 뒤 끝난 작업은 서비스 호출 직후 AsyncWork.expired() 로 확인하고 요청을 더 건드리지 않는다.
  */
-@WebServlet("/board/*")
+@WebServlet(urlPatterns = "/board/*", asyncSupported = true)
 public class BoardController extends HttpServlet {
 
     private BoardService service;
 
+    /** 요청 처리 제한 시간 (넘으면 503) */
+    private static final long TIMEOUT_MS = 15_000;
+
     /** 서블릿 초기화 시 서비스 객체 생성 */
     @Override
     public void init() throws ServletException {
         this.service = new BoardService();
     }
 
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AsyncWork.start(req, resp, TIMEOUT_MS, this::get, this::timedOut);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AsyncWork.start(req, resp, TIMEOUT_MS, this::post, this::timedOut);
+    }
+
+    /**
+     * 시간 초과 / 작업 스레드 부족 → 503
+     * - POST(등록/수정/삭제) 시간 초과는 작업이 계속 진행돼 반영될 수 있으므로 Retry-After 를 붙이지 않는다.
+     */
+    private void timedOut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (AsyncWork.notStarted(req) || !"POST".equals(req.getMethod())) {
+            resp.setHeader("Retry-After", "1");
+        }
+        resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
     /**
      * GET 요청 처리 (화면 이동)
      */
-    @Override
-    protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+    private void get(HttpServletRequest req, HttpServletResponse resp)
             throws ServletException, IOException {
 
         // /board/list → pathInfo = /list
@@ -89,8 +120,7 @@ public class BoardController extends HttpServlet {
      * - update
      * - delete
      */
-    @Override
-    protected void doPost(HttpServletRequest req, HttpServletResponse resp)
+    private void post(HttpServletRequest req, HttpServletResponse resp)
             throws ServletException, IOException {
 
         String action = req.getParameter("action");
@@ -129,6 +159,13 @@ public class BoardController extends HttpServlet {
         int page = parseInt(req.getParameter("page"), 1);
         int size = parseInt(req.getParameter("size"), 10);
 
+        // cursor 파라미터가 있으면 키셋 페이징 ("이전/다음"만 제공, COUNT 조회 없음)
+        String cursor = req.getParameter("cursor");
+        if (cursor != null) {
+            listByCursor(req, resp, cursor, size);
+            return;
+        }
+
         // 전체 게시글 개수
         int totalCount = service.count();
         int totalPages = (int) Math.ceil(totalCount / (double) size);
@@ -140,6 +177,9 @@ public class BoardController extends HttpServlet {
 
         // DB에서 현재 페이지 목록 가져오기
         List<Board> list = service.list(page, size);
+        if (AsyncWork.expired()) {
+            return; // 시간 초과로 이미 응답이 끝남 → req 를 더 건드리지 않음
+        }
 
         // 블록 페이징 계산 (5페이지씩)
         int blockSize = 5;
@@ -160,7 +200,45 @@ public class BoardController extends HttpServlet {
                 .forward(req, resp);
     }
 
-    /** 게시글 상세 페이지 */
+    /**
+     * 게시판 목록 페이지 (키셋/커서 방식)
+     * - /board/list?cursor=&size=10 → 첫 페이지
+     * - 다음 페이지 링크는 nextCursor 로 만든다
+     * - 잘못된 커서는 첫 페이지로 보낸다
+     */
+    private void listByCursor(HttpServletRequest req, HttpServletResponse resp, String cursor, int size)
+            throws ServletException, IOException, SQLException {
+
+        BoardPage bp;
+        try {
+            bp = service.listAfter(cursor, size);
+        } catch (IllegalArgumentException e) {
+            resp.sendRedirect(req.getContextPath() + "/board/list?cursor=&size=" + size);
+            return;
+        }
+        if (AsyncWork.expired()) {
+            return;
+        }
+
+        req.setAttribute("list", bp.items);
+        req.setAttribute("size", Math.min(Math.max(size, 1), 100));
+        req.setAttribute("cursorMode", true);
+        req.setAttribute("nextCursor", bp.nextCursor);
+        req.setAttribute("hasNext", bp.hasNext);
+
+        req.getRequestDispatcher("/WEB-INF/view/board/list.jsp")
+                .forward(req, resp);
+    }
+
+    /**
+     * 게시글 상세 페이지
+     *
+     * 조건부 GET
+     * - ETag = 게시글 버전 + 서버 기동 시각(JSP 변경 반영) + 로그인 사용자
+     *   (헤더의 로그인 표시, 수정/삭제 버튼이 사용자마다 다르므로 사용자도 포함)
+     * - If-None-Match 가 같으면 JSP 렌더링 없이 304
+     * - 1회용 flash 메시지가 있으면 ETag 를 쓰지 않는다. (304 로 응답하면 메시지가 사라지지 않음)
+     */
     private void detail(HttpServletRequest req, HttpServletResponse resp)
             throws ServletException, IOException, SQLException {
 
@@ -173,6 +251,9 @@ public class BoardController extends HttpServlet {
         }
 
         Board board = service.get(idx);
+        if (AsyncWork.expired()) {
+            return;
+        }
 
         // 게시글 존재하지 않으면 목록으로
         if (board == null) {
@@ -180,6 +261,20 @@ public class BoardController extends HttpServlet {
             return;
         }
 
+        HttpSession session = req.getSession(false);
+        boolean hasFlash = session != null
+                && (session.getAttribute("flash_success") != null || session.getAttribute("flash_error") != null);
+
+        if (!hasFlash) {
+            String user = Auth.user(req);
+            String userTag = user == null ? "anon" : Integer.toHexString(user.hashCode());
+
+            String etag = "d" + board.idx + "-v" + board.version + "-" + BoardChangeStamp.epoch() + "-" + userTag;
+            if (ETags.notModified(req, resp, etag)) {
+                return;
+            }
+        }
+
         req.setAttribute("board", board);
         req.getRequestDispatcher("/WEB-INF/view/board/detail.jsp")
                 .forward(req, resp);
@@ -205,6 +300,9 @@ public class BoardController extends HttpServlet {
         }
 
         Board board = service.get(idx);
+        if (AsyncWork.expired()) {
+            return;
+        }
 
         if (board == null) {
             resp.sendRedirect(req.getContextPath() + "/board/list");
@@ -226,13 +324,16 @@ public class BoardController extends HttpServlet {
     private void create(HttpServletRequest req, HttpServletResponse resp)
             throws IOException {
 
-        HttpSession session = req.getSession();
+        HttpSession session = req.getSession(); // flash 메시지용
 
         String title = req.getParameter("title");
         String content = req.getParameter("content");
-        String fk_user_id = (String) session.getAttribute("id");
+        String fk_user_id = Auth.user(req); // 로그인 토큰 (AuthFilter)
 
         ServiceResult result = service.create(title, content, fk_user_id);
+        if (AsyncWork.expired()) {
+            return;
+        }
 
         String ctx = req.getContextPath();
 
@@ -250,14 +351,21 @@ public class BoardController extends HttpServlet {
     private void update(HttpServletRequest req, HttpServletResponse resp)
             throws IOException {
 
-        HttpSession session = req.getSession();
+        HttpSession session = req.getSession(); // flash 메시지용
 
         int idx = parseInt(req.getParameter("idx"), 0);
         String title = req.getParameter("title");
         String content = req.getParameter("content");
-        String fk_user_id = (String) session.getAttribute("id");
+        String fk_user_id = Auth.user(req); // 로그인 토큰 (AuthFilter)
+
+        // 수정 폼을 열 때의 버전 (edit.jsp hidden) → 그 사이 다른 곳에서 수정됐으면 실패
+        String v = req.getParameter("version");
+        Integer version = (v == null || v.isEmpty()) ? null : parseInt(v, -1);
 
-        ServiceResult result = service.update(idx, title, content, fk_user_id);
+        ServiceResult result = service.update(idx, title, content, fk_user_id, version);
+        if (AsyncWork.expired()) {
+            return;
+        }
 
         String ctx = req.getContextPath();
 
@@ -274,11 +382,14 @@ public class BoardController extends HttpServlet {
     private void delete(HttpServletRequest req, HttpServletResponse resp)
             throws IOException {
 
-        HttpSession session = req.getSession();
-        String fk_user_id = (String) session.getAttribute("id");
+        HttpSession session = req.getSession(); // flash 메시지용
+        String fk_user_id = Auth.user(req); // 로그인 토큰 (AuthFilter)
 
         int idx = parseInt(req.getParameter("idx"), 0);
         ServiceResult result = service.delete(idx, fk_user_id);
+        if (AsyncWork.expired()) {
+            return;
+        }
 
         String ctx = req.getContextPath();
 
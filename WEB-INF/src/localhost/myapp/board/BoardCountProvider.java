@@ -0,0 +1,166 @@
+package localhost.myapp.board;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 전체 개수 제공자 (메모리 유지 + 주기적 보정)
+ *
+ * 왜 필요한가
+ * - InnoDB 의 SELECT COUNT(*) 는 인덱스 전체를 훑기 때문에 행이 많을수록 느리다.
+ * - 목록 페이지마다 COUNT(*) 를 실행하면 가장 비싼 쿼리가 된다.
+ *
+ * 동작
+ * - 최초 1회만 DB 에서 개수를 읽고, 이후에는 메모리 값(AtomicLong)을 반환
+ * - BoardService 의 create/delete 가 increment()/decrement() 로 값을 갱신
+ * - RECONCILE_INTERVAL_MS 가 지나면 다음 조회가 보정 스레드에 DB 값 보정을 맡긴다
+ *   (다른 서버/직접 SQL 로 바뀐 개수도 이때 반영됨)
+ * - 보정은 보정 스레드 하나에서만 실행되고, 요청 스레드는 기존 값을 그대로 반환 (COUNT(*) 를 기다리지 않음)
+ *
+ * 근사 모드
+ * - 마지막 개수가 APPROXIMATE_THRESHOLD 이상이면 보정 시 COUNT(*) 대신
+ *   information_schema 의 TABLE_ROWS(통계 추정치)를 사용한다.
+ * - 페이저는 어차피 "대략 몇 페이지"만 보여주면 되므로 큰 테이블에서는 정확도보다 비용이 중요
+ *
+ * 주의
+ * - 보정 쿼리 실행 중에 들어온 등록/삭제는 보정 결과에 덮어써질 수 있다.
+ *   (오차는 다음 보정 주기에 다시 맞춰진다)
+ */
+public class BoardCountProvider {
+
+    /** DB 값으로 다시 맞추는 주기 (1분) */
+    private static final long RECONCILE_INTERVAL_MS = 60_000L;
+
+    /** 이 개수 이상이면 근사 모드(TABLE_ROWS 추정치)로 보정 */
+    private static final long APPROXIMATE_THRESHOLD = 1_000_000L;
+
+    /** 애플리케이션 전역에서 공유하는 인스턴스 (서블릿마다 BoardService 가 따로 만들어지므로) */
+    private static final BoardCountProvider SHARED = new BoardCountProvider(new BoardDao());
+
+    /** 보정 스레드 (전체 인스턴스 공용, 한 번에 하나만 실행) */
+    private static final Executor RECONCILER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "board-count");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final BoardDao dao;
+
+    /** 현재 개수 (-1 = 아직 DB 에서 읽지 않음) */
+    private final AtomicLong count = new AtomicLong(-1);
+
+    /** 마지막 보정 시각 (System.currentTimeMillis) */
+    private volatile long reconciledAt;
+
+    /** 보정 진행 중 여부 (보정을 한 번만 맡기도록) */
+    private final AtomicBoolean reconciling = new AtomicBoolean(false);
+
+    /** 근사 모드 여부 */
+    private volatile boolean approximate;
+
+    public BoardCountProvider(BoardDao dao) {
+        this.dao = dao;
+    }
+
+    /** 전역 공유 인스턴스 */
+    public static BoardCountProvider shared() {
+        return SHARED;
+    }
+
+    /**
+     * 전체 게시글 개수
+     * - 보통은 메모리 값을 그대로 반환 (O(1))
+     * - 최초 호출 시에만 DB 조회를 기다린다 (주기 보정은 보정 스레드에서)
+     */
+    public int get() throws SQLException {
+
+        long c = count.get();
+
+        // 1) 아직 한 번도 읽지 않음 → 반드시 DB 조회
+        if (c < 0) {
+            synchronized (this) {
+                if (count.get() < 0) {
+                    reconcile();
+                }
+            }
+            return (int) Math.max(0, count.get());
+        }
+
+        // 2) 보정 주기가 지남 → 보정 스레드에 맡기고 이번 요청은 기존 값 사용
+        if (System.currentTimeMillis() - reconciledAt > RECONCILE_INTERVAL_MS
+                && reconciling.compareAndSet(false, true)) {
+            try {
+                RECONCILER.execute(this::reconcileQuietly);
+            } catch (RejectedExecutionException e) {
+                reconciling.set(false); // 다음 조회 때 다시
+            }
+        }
+
+        return (int) Math.max(0, count.get());
+    }
+
+    /** 보정 스레드에서 실행, 실패해도 기존 값 사용 */
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (SQLException e) {
+            e.printStackTrace(); // 보정 실패는 다음 주기에 다시 시도
+            reconciledAt = System.currentTimeMillis();
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    /** 게시글 1건 등록됨 */
+    public void increment() {
+        add(1);
+    }
+
+    /** 게시글 1건 삭제됨 */
+    public void decrement() {
+        add(-1);
+    }
+
+    /** 게시글 n건 증감 (아직 읽지 않은 상태면 무시 → 최초 조회 때 DB 값 사용) */
+    public void add(int n) {
+        count.getAndUpdate(c -> c < 0 ? c : Math.max(0, c + n));
+    }
+
+    /** 근사 모드 여부 (화면에 "약 N건" 표시 등에 사용) */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    /** 다음 조회 때 DB 값으로 다시 맞추도록 표시 */
+    public void invalidate() {
+        reconciledAt = 0;
+    }
+
+    /** DB 값으로 보정 */
+    private void reconcile() throws SQLException {
+
+        long dbCount;
+
+        if (count.get() >= APPROXIMATE_THRESHOLD) {
+            // 큰 테이블 → 통계 추정치 사용 (COUNT(*) 전체 스캔 회피)
+            dbCount = dao.estimateCount();
+            approximate = true;
+
+            // 통계가 아직 없으면(-1) 정확한 개수로 대체
+            if (dbCount < 0) {
+                dbCount = dao.countAll();
+                approximate = false;
+            }
+        } else {
+            dbCount = dao.countAll();
+            approximate = false;
+        }
+
+        count.set(dbCount);
+        reconciledAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,53 @@
+package localhost.myapp.board;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 게시글 목록 커서(cursor) 인코딩/디코딩 유틸
+ *
+ * - 키셋(seek) 페이징에서 "마지막으로 본 글 번호"를 클라이언트에 넘길 때 사용
+ * - 클라이언트는 값의 의미를 몰라도 되도록 Base64(URL-safe) 문자열로 감싼다 (opaque)
+ * - 형식: "v1:{idx}" → Base64URL (패딩 없음)
+ *
+ * 예) idx=120 → "djE6MTIw"
+ */
+public final class BoardCursor {
+
+    /** 커서 형식 버전 (형식을 바꾸면 올려서 구버전 커서를 거부) */
+    private static final String PREFIX = "v1:";
+
+    private BoardCursor() {
+    }
+
+    /** 마지막 글 번호 → 커서 문자열 */
+    public static String encode(int lastIdx) {
+        byte[] raw = (PREFIX + lastIdx).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * 커서 문자열 → 마지막 글 번호
+     *
+     * @return 올바르지 않은 커서이면 -1
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty() || cursor.length() > 32) {
+            return -1;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                return -1;
+            }
+
+            int idx = Integer.parseInt(raw.substring(PREFIX.length()));
+            return idx > 0 ? idx : -1;
+
+        } catch (IllegalArgumentException e) {
+            // Base64 형식 오류, 숫자 형식 오류(NumberFormatException) 모두 여기로
+            return -1;
+        }
+    }
+}
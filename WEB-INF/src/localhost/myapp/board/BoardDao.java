@@ -1,160 +1,393 @@
 package localhost.myapp.board; // 현재 클래스가 속한 패키지
 
 import localhost.myapp.common.DB; // DB 커넥션 풀(DataSource)을 제공하는 DB 유틸 클래스
+import localhost.myapp.common.jdbc.Jdbc; // 커넥션/바인딩/매핑/시간 기록 공통 처리
+import localhost.myapp.common.jdbc.RowMapper; // 행 → Board 변환 (컬럼 위치 캐싱)
+import localhost.myapp.common.jdbc.UnitOfWork; // 요청 단위 커넥션/트랜잭션/식별자 맵
 
-import javax.sql.DataSource; // DataSource 인터페이스 (커넥션 풀)
+import java.io.IOException; // 내보내기 콜백에서 응답 쓰기 실패
 import java.sql.*; // JDBC 관련 클래스 (Connection, PreparedStatement 등)
 import java.util.ArrayList; // ArrayList 사용
 import java.util.List; // List 인터페이스
+import java.util.function.Predicate; // 쓰기 결과 → 실제로 바뀌었는지
 
 /**
  * 게시판 CRUD 전용 DAO 클래스
  * DAO(Data Access Object)는 DB 처리 로직만 담당한다.
  * Controller/Service는 DB 코드를 직접 작성하지 않고 DAO에게 맡긴다.
+ *
+ * - 커넥션/바인딩/실행 시간 기록은 Jdbc 가, 행 변환은 아래 RowMapper 상수들이 담당한다.
+ * - SELECT * 대신 매퍼가 읽는 컬럼만 명시한다. (RowMapper.columns())
+ *
+ * 목록 조회는 content(본문) 대신 excerpt(요약)만 읽는다. 필요한 스키마:
+ *
+ * <pre>
+ * ALTER TABLE board ADD COLUMN excerpt VARCHAR(200) NULL AFTER content;
+ * -- Board.makeExcerpt 와 같은 결과: 공백을 합치고, 120자(EXCERPT_LENGTH)를 넘을 때만 자르고 '…' 를 붙임
+ * UPDATE board
+ *    SET excerpt = IF(CHAR_LENGTH(TRIM(REGEXP_REPLACE(content, '\\s+', ' '))) > 120,
+ *                     CONCAT(TRIM(LEFT(TRIM(REGEXP_REPLACE(content, '\\s+', ' ')), 120)), '…'),
+ *                     TRIM(REGEXP_REPLACE(content, '\\s+', ' ')))
+ *  WHERE excerpt IS NULL;
+ * </pre>
+ *
+ * 수정/삭제는 버전(version) 컬럼으로 낙관적 잠금을 한다. 필요한 스키마:
+ *
+ * <pre>
+ * ALTER TABLE board ADD COLUMN version INT NOT NULL DEFAULT 0;
+ * </pre>
+ *
+ * 등록/수정/삭제는 같은 트랜잭션에서 변경 순번(board_stamp, 한 행)을 올린다. (BoardChangeStamp 가 이 값만 확인)
+ *
+ * <pre>
+ * CREATE TABLE board_stamp (id TINYINT NOT NULL PRIMARY KEY, seq BIGINT NOT NULL);
+ * INSERT INTO board_stamp (id, seq) VALUES (1, 0);
+ * -- 직접 SQL 로 board 를 바꿨으면: UPDATE board_stamp SET seq = seq + 1 WHERE id = 1;
+ * </pre>
  */
 public class BoardDao {
 
-    private final DataSource ds = DB.getDataSource(); // DB.getDataSource()로 커넥션 풀 객체 생성
+    /** 내보내기(exportAll)에서 행 하나마다 호출되는 콜백 */
+    @FunctionalInterface
+    public interface RowCallback {
+        void accept(Board b) throws IOException;
+    }
+
+    // ---------------------- 행 매퍼 ----------------------
+
+    /** 목록용 (본문 대신 excerpt, 목록에서 바로 수정/삭제할 때 If-Match 로 쓰도록 version 포함) */
+    static final RowMapper<Board> LIST = RowMapper.of((rs, c) -> {
+        Board b = new Board();
+        b.idx = rs.getInt(c[0]);
+        b.title = rs.getString(c[1]);
+        b.excerpt = rs.getString(c[2]); // 본문 대신 요약
+        b.regDate = Jdbc.instant(rs, c[3]);
+        b.fk_user_id = rs.getString(c[4]);
+        b.version = rs.getInt(c[5]);
+        return b;
+    }, "idx", "title", "excerpt", "reg_date", "fk_user_id", "version");
+
+    /** 상세용 (전체 컬럼) */
+    static final RowMapper<Board> DETAIL = RowMapper.of((rs, c) -> {
+        Board b = new Board();
+        b.idx = rs.getInt(c[0]);
+        b.fk_user_id = rs.getString(c[1]);
+        b.title = rs.getString(c[2]);
+        b.content = rs.getString(c[3]);
+        b.excerpt = rs.getString(c[4]);
+        b.regDate = Jdbc.instant(rs, c[5]);
+        b.version = rs.getInt(c[6]);
+        return b;
+    }, "idx", "fk_user_id", "title", "content", "excerpt", "reg_date", "version");
+
+    /** 본문 포함, excerpt 제외 (검색 미리보기, 내보내기) */
+    static final RowMapper<Board> CONTENT = RowMapper.of((rs, c) -> {
+        Board b = new Board();
+        b.idx = rs.getInt(c[0]);
+        b.title = rs.getString(c[1]);
+        b.content = rs.getString(c[2]);
+        b.regDate = Jdbc.instant(rs, c[3]);
+        b.fk_user_id = rs.getString(c[4]);
+        b.version = rs.getInt(c[5]);
+        return b;
+    }, "idx", "title", "content", "reg_date", "fk_user_id", "version");
+
+    /** 검색 색인 구성용 (번호/제목/본문만) */
+    static final RowMapper<Board> TEXT = RowMapper.of((rs, c) -> {
+        Board b = new Board();
+        b.idx = rs.getInt(c[0]);
+        b.title = rs.getString(c[1]);
+        b.content = rs.getString(c[2]);
+        return b;
+    }, "idx", "title", "content");
+
+    /** 수정/삭제 실패 이유 구분용 (작성자/버전만) */
+    static final RowMapper<Board> OWNER_VERSION = RowMapper.of((rs, c) -> {
+        Board b = new Board();
+        b.idx = rs.getInt(c[0]);
+        b.fk_user_id = rs.getString(c[1]);
+        b.version = rs.getInt(c[2]);
+        return b;
+    }, "idx", "fk_user_id", "version");
+
+    private final Jdbc jdbc = new Jdbc(DB.getDataSource(), DB.getReadDataSource()); // 쓰기는 primary, 읽기는 복제본
 
     /**
-     * 게시글 목록 조회 (페이징)
+     * 게시글 목록 조회 (페이지 번호 방식)
      * page(1부터 시작), size(한 페이지의 개수)
+     *
+     * 지연 조인(deferred join)
+     * - OFFSET 은 건너뛸 행을 전부 읽고 버리므로, 뒤 페이지일수록 느려진다.
+     * - 서브쿼리에서 PK 인덱스만 훑어 idx 목록을 먼저 구하고,
+     *   실제 행(title, excerpt 등)은 그 idx 에 해당하는 size 개만 읽는다.
+     * - 사용자가 N 페이지로 바로 이동하는 경우를 위한 방식
+     *   (순차 이동은 findBefore() 키셋 페이징 사용)
      */
     public List<Board> findAll(int page, int size) throws SQLException {
 
         int limit = Math.max(1, Math.min(size, 100)); // size는 최소 1, 최대 100으로 제한
         int offset = Math.max(0, (page - 1) * limit); // OFFSET 계산 (page=1이면 offset=0)
 
-        // DESC 정렬로 최신 글 먼저 → LIMIT/OFFSET으로 페이징
-        String sql = "SELECT idx, title, content, reg_date, fk_user_id " +
-                "FROM board " +
-                "ORDER BY idx DESC " +
-                "LIMIT ? OFFSET ?";
+        // 서브쿼리: 인덱스만으로 idx 목록 구하기 → 바깥: 해당 행만 조인
+        String sql = "SELECT " + LIST.columns("b") + " " +
+                "FROM board b " +
+                "JOIN (SELECT idx FROM board ORDER BY idx DESC LIMIT ? OFFSET ?) t " +
+                "ON b.idx = t.idx " +
+                "ORDER BY b.idx DESC";
 
-        try (Connection con = ds.getConnection(); // 커넥션 풀에서 Connection 하나 가져오기
-                PreparedStatement ps = con.prepareStatement(sql)) { // SQL을 준비하는 PreparedStatement 생성
+        return jdbc.query(sql, LIST, limit, offset); // ? 순서: LIMIT, OFFSET
+    }
 
-            ps.setInt(1, limit); // 첫 번째 ? = LIMIT
-            ps.setInt(2, offset); // 두 번째 ? = OFFSET
+    /**
+     * 게시글 목록 조회 (키셋/커서 방식)
+     *
+     * - beforeIdx 보다 작은 idx 를 최신순으로 limit 개 조회
+     * - beforeIdx <= 0 이면 첫 페이지 (가장 최신 글부터)
+     * - WHERE idx < ? 조건으로 PK 인덱스에서 바로 시작 위치를 찾으므로
+     *   몇 번째 페이지든 조회 비용이 일정하다.
+     *
+     * 호출하는 쪽에서 다음 페이지 존재 여부를 알 수 있도록 limit 을 그대로 사용한다.
+     * (Service 에서 size+1 을 넘겨 hasNext 를 판단)
+     */
+    public List<Board> findBefore(int beforeIdx, int limit) throws SQLException {
 
-            try (ResultSet rs = ps.executeQuery()) { // SELECT 실행 → 결과 ResultSet 반환
+        limit = Math.max(1, Math.min(limit, 101)); // 최대 100개 + hasNext 판단용 1개
 
-                List<Board> list = new ArrayList<>(); // 결과 목록을 담을 리스트
+        if (beforeIdx > 0) {
+            String sql = "SELECT " + LIST.columns() + " FROM board WHERE idx < ? ORDER BY idx DESC LIMIT ?";
+            return jdbc.query(sql, LIST, beforeIdx, limit); // 커서 위치 (이 번호보다 작은 글부터)
+        }
 
-                while (rs.next()) { // 결과행이 있을 때까지 반복
+        String sql = "SELECT " + LIST.columns() + " FROM board ORDER BY idx DESC LIMIT ?";
+        return jdbc.query(sql, LIST, limit);
+    }
 
-                    Board b = new Board(); // Board 객체 생성
+    /**
+     * 게시글 상세 조회 (PK 기준)
+     * - 같은 요청 안에서 다시 부르면 DB 대신 UnitOfWork 식별자 맵에서 반환
+     */
+    public Board findById(int idx) throws SQLException {
 
-                    b.idx = rs.getInt("idx"); // DB의 idx 컬럼 값을 Board.idx 필드에 저장
-                    b.title = rs.getString("title"); // DB title → Board.title
-                    b.content = rs.getString("content"); // DB content → Board.content
-                    b.regDate = rs.getString("reg_date");// DB reg_date → Board.regDate
-                    b.fk_user_id = rs.getString("fk_user_id"); // DB fk_user_id → Board.fk_user_id
+        String sql = "SELECT " + DETAIL.columns() + " FROM board WHERE idx=?"; // PK 조건 조회
 
-                    list.add(b); // 리스트에 객체 추가
-                }
+        return UnitOfWork.find("board", idx, () -> jdbc.queryOne(sql, DETAIL, idx)); // 없으면 null
+    }
 
-                return list; // 최종 목록 반환
-            }
+    /**
+     * 여러 게시글을 번호 목록으로 한 번에 조회 (검색 결과 미리보기용)
+     * - WHERE idx IN (?, ?, ...) 한 번으로 결과 페이지 전체를 읽는다.
+     * - 반환 순서는 보장하지 않으므로 호출하는 쪽에서 idx 로 찾아 쓴다.
+     */
+    public List<Board> findByIds(List<Integer> ids) throws SQLException {
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT " + CONTENT.columns() + " FROM board WHERE idx IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
         }
+        sql.append(")");
+
+        return jdbc.query(sql.toString(), CONTENT, ids.toArray());
     }
 
     /**
-     * 한 개의 게시글 상세 조회
-     * idx(PK)를 기준으로 조회
+     * idx 구간 [from, to] 의 게시글 제목/본문 조회 (검색 색인 구성용)
+     * - PK 범위 조회라 구간끼리 겹치지 않고, 여러 스레드가 동시에 다른 구간을 읽을 수 있다.
      */
-    public Board findById(int idx) throws SQLException {
+    public List<Board> findRange(int from, int to) throws SQLException {
 
-        String sql = "SELECT * FROM board WHERE idx=?"; // PK 조건 조회
+        String sql = "SELECT " + TEXT.columns() + " FROM board WHERE idx BETWEEN ? AND ?";
 
-        try (Connection con = ds.getConnection(); // 커넥션 얻기
-                PreparedStatement ps = con.prepareStatement(sql)) { // SQL 준비
+        return jdbc.query(sql, TEXT, from, to);
+    }
 
-            ps.setInt(1, idx); // 첫 번째 ?에 idx 바인딩
+    /**
+     * 전체 게시글 내보내기 (스트리밍)
+     *
+     * - TYPE_FORWARD_ONLY + CONCUR_READ_ONLY + fetchSize(Integer.MIN_VALUE)
+     *   → MySQL 드라이버가 결과를 한꺼번에 메모리에 올리지 않고 한 행씩 읽어온다.
+     * - 행을 List 에 모으지 않고 바로 callback 으로 넘기므로 테이블 크기와 관계없이 메모리 사용량이 일정하다.
+     * - SELECT 한 문장이라 InnoDB 일관 읽기(consistent read) → 내보내는 도중 글이 추가/삭제되어도
+     *   시작 시점 기준의 결과가 나온다. (페이지를 나눠 읽을 때처럼 행이 빠지거나 겹치지 않음)
+     * - 스트리밍 중에는 이 커넥션으로 다른 쿼리를 실행할 수 없다. (끝날 때까지 커넥션 점유)
+     */
+    public void exportAll(RowCallback callback) throws SQLException, IOException {
 
-            try (ResultSet rs = ps.executeQuery()) { // SELECT 실행 → ResultSet 반환
+        String sql = "SELECT " + CONTENT.columns() + " FROM board ORDER BY idx";
 
-                if (rs.next()) { // 결과가 존재하면
+        jdbc.stream(sql, CONTENT, callback::accept); // 바로 출력 → 참조가 남지 않으므로 GC 대상
+    }
 
-                    Board b = new Board(); // Board 객체 생성
+    /**
+     * 게시판 변경 순번 (BoardChangeStamp 가 주기적으로 확인, 행이 없으면 0)
+     * - PK 한 행만 읽는다. (테이블 크기와 무관)
+     * - 어느 노드/경로로 바뀌었든 보이도록 primary 에서 읽는다.
+     */
+    public long changeSeq() throws SQLException {
 
-                    b.idx = rs.getInt("idx"); // idx 컬럼 가져와 저장
-                    b.fk_user_id = rs.getString("fk_user_id"); // fk_user_id 컬럼 가져와 저장
-                    b.title = rs.getString("title"); // title 저장
-                    b.content = rs.getString("content"); // content 저장
-                    b.regDate = rs.getString("reg_date");// reg_date 저장
+        Long seq = jdbc.primary().queryLong("SELECT seq FROM board_stamp WHERE id = 1");
 
-                    return b; // 객체 반환
-                }
+        return seq == null ? 0 : seq;
+    }
 
-                return null; // 결과가 없을 경우 null 반환
+    /**
+     * BoardDao 를 거치지 않은 쓰기 후 변경 순번만 올림 (예전 api.BoardServlet)
+     * - 다른 노드가 다음 확인 때 캐시를 비우도록
+     */
+    public void markChanged() throws SQLException {
+        changing(() -> 1, n -> true);
+    }
+
+    /**
+     * 쓰기 + 변경 순번 올리기를 한 트랜잭션으로
+     * - work 결과가 실제 변경(changed)일 때만 같은 트랜잭션 끝에서 board_stamp 를 1 올린다.
+     * - commit 후 새 순번을 BoardChangeStamp 에 알려, 이 노드의 쓰기를 다른 곳의 변경으로 보지 않게 한다.
+     *   (바깥 트랜잭션에 합쳐졌으면 commit 여부를 아직 모르므로 알리지 않음 → 확인 스레드가 변경으로 처리)
+     */
+    private <T> T changing(UnitOfWork.Work<T> work, Predicate<T> changed) throws SQLException {
+
+        UnitOfWork uow = UnitOfWork.current();
+        boolean outer = uow != null && uow.inTransaction();
+        long[] seq = new long[1];
+
+        T result = jdbc.transaction(() -> {
+            T r = work.run();
+            if (changed.test(r)) {
+                jdbc.update("INSERT INTO board_stamp (id, seq) VALUES (1, 1) ON DUPLICATE KEY UPDATE seq = seq + 1");
+                seq[0] = changeSeq(); // 같은 트랜잭션 → 방금 올린 값 (행 잠금은 commit 까지)
             }
+            return r;
+        });
+
+        if (seq[0] > 0 && !outer) {
+            BoardChangeStamp.written(seq[0]);
         }
+        return result;
+    }
+
+    /**
+     * 가장 큰 게시글 번호 (없으면 0)
+     */
+    public int maxIdx() throws SQLException {
+
+        Long max = jdbc.queryLong("SELECT MAX(idx) FROM board"); // PK 인덱스 끝값만 읽음
+
+        return max == null ? 0 : max.intValue();
     }
 
     /**
      * 게시글 등록
+     *
+     * @return 생성된 PK (AUTO_INCREMENT), 실패 시 null
      */
     public Integer insert(Board b) throws SQLException {
 
-        String sql = "INSERT INTO board (title, content, fk_user_id) VALUES (?, ?, ?)"; // INSERT SQL
+        String sql = "INSERT INTO board (title, content, excerpt, fk_user_id) VALUES (?, ?, ?, ?)"; // INSERT SQL
+
+        // excerpt = 목록용 요약
+        return changing(() -> jdbc.insert(sql, b.title, b.content, b.excerpt, b.fk_user_id), key -> key != null);
+    }
+
+    /**
+     * 게시글 여러 건 일괄 등록 (JDBC batch, 하나의 트랜잭션)
+     *
+     * - addBatch()/executeBatch() 로 INSERT 를 모아서 보내므로 왕복 횟수가 크게 줄어든다.
+     * - 커넥션 하나, 트랜잭션 하나 → 중간에 실패하면 전체 rollback (일부만 들어가지 않음)
+     * - BATCH_CHUNK 건마다 executeBatch() 를 호출해 드라이버 버퍼가 너무 커지지 않게 한다.
+     * - JDBC URL 에 rewriteBatchedStatements=true 를 주면 MySQL 드라이버가
+     *   여러 행 INSERT ... VALUES (...), (...) 한 문장으로 합쳐서 보낸다.
+     *
+     * @return 생성된 PK 배열 (list 와 같은 순서)
+     */
+    public int[] insertBatch(List<Board> list) throws SQLException {
 
-        try (Connection con = ds.getConnection(); // 커넥션 얻기
-                PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) { // SQL 준비
+        final int BATCH_CHUNK = 500;
 
-            ps.setString(1, b.title); // 첫 번째 ? = title
-            ps.setString(2, b.content); // 두 번째 ? = content
-            ps.setString(3, b.fk_user_id);
+        String sql = "INSERT INTO board (title, content, excerpt, fk_user_id) VALUES (?, ?, ?, ?)";
+        int[] keys = new int[list.size()];
 
-            int affected = ps.executeUpdate(); // INSERT 실행
+        // 트랜잭션 (하나라도 실패하면 전체 rollback, 바깥 트랜잭션이 있으면 거기에 합쳐짐)
+        return changing(() -> jdbc.withConnection(con -> {
 
-            if (affected == 0) {
-                return null; // INSERT 실패
-            }
+            try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                int k = 0; // keys 채울 위치
+
+                for (int i = 0; i < list.size(); i++) {
+                    Board b = list.get(i);
 
-            // 생성된 PK(idx) 가져오기
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    return rs.getInt(1); // PK (AUTO_INCREMENT)
+                    Jdbc.bind(ps, b.title, b.content, b.excerpt, b.fk_user_id);
+                    ps.addBatch();
+
+                    // BATCH_CHUNK 건마다 또는 마지막에 전송
+                    if ((i + 1) % BATCH_CHUNK == 0 || i == list.size() - 1) {
+                        ps.executeBatch();
+
+                        try (ResultSet rs = ps.getGeneratedKeys()) {
+                            while (rs.next()) {
+                                keys[k++] = rs.getInt(1);
+                            }
+                        }
+                    }
                 }
-            }
 
-            return null; // 혹시 키가 없으면 null
-        }
+                if (k != list.size()) {
+                    throw new SQLException("생성된 키 개수가 일치하지 않습니다. (" + k + "/" + list.size() + ")");
+                }
+
+                return keys;
+            }
+        }), k -> k.length > 0);
     }
 
     /**
-     * 게시글 수정
+     * 게시글 수정 (권한 + 버전 검사를 UPDATE 한 문장으로)
+     *
+     * - 작성자가 없는 글(fk_user_id IS NULL)은 누구나, 아니면 작성자 본인만
+     * - expectedVersion 이 null 이면 버전 검사 생략, 아니면 DB 버전과 같을 때만
+     * - 조회 후 수정하는 두 번의 왕복 대신 한 번에 처리 → 동시 수정 시 나중 요청은 0행
+     *
+     * @return 변경된 행 수 (0 이면 없음/권한 없음/버전 불일치 중 하나 → findOwnerVersion 으로 구분)
      */
-    public boolean update(Board b) throws SQLException {
+    public int update(Board b, String fk_user_id, Integer expectedVersion) throws SQLException {
 
-        String sql = "UPDATE board SET title=?, content=? WHERE idx=?"; // UPDATE SQL
+        String sql = "UPDATE board SET title=?, content=?, excerpt=?, version=version+1 " +
+                "WHERE idx=? AND (fk_user_id IS NULL OR fk_user_id=?) AND (? IS NULL OR version=?)";
 
-        try (Connection con = ds.getConnection(); // 커넥션 얻기
-                PreparedStatement ps = con.prepareStatement(sql)) { // SQL 준비
+        UnitOfWork.evict("board", b.idx); // 이 요청에서 다시 읽으면 수정된 값으로
 
-            ps.setString(1, b.title); // 1번 파라미터 = 새 title
-            ps.setString(2, b.content); // 2번 파라미터 = 새 content
-            ps.setInt(3, b.idx); // 3번 파라미터 = 조건 idx
-
-            return ps.executeUpdate() == 1; // 1행이 변경되면 true
-        }
+        // fk_user_id 가 null 이면 작성자 있는 글은 불일치, expectedVersion 이 null 이면 버전 검사 생략
+        return changing(() -> jdbc.update(sql, b.title, b.content, b.excerpt, b.idx,
+                fk_user_id, expectedVersion, expectedVersion), rows -> rows > 0);
     }
 
     /**
-     * 게시글 삭제
+     * 게시글 삭제 (권한 + 버전 검사를 DELETE 한 문장으로, 조건은 update 와 같음)
+     *
+     * @return 삭제된 행 수 (0 이면 findOwnerVersion 으로 이유 구분)
      */
-    public boolean delete(int idx) throws SQLException {
+    public int delete(int idx, String fk_user_id, Integer expectedVersion) throws SQLException {
 
-        String sql = "DELETE FROM board WHERE idx=?"; // DELETE SQL
+        String sql = "DELETE FROM board " +
+                "WHERE idx=? AND (fk_user_id IS NULL OR fk_user_id=?) AND (? IS NULL OR version=?)";
 
-        try (Connection con = ds.getConnection(); // 커넥션 얻기
-                PreparedStatement ps = con.prepareStatement(sql)) { // SQL 준비
+        UnitOfWork.evict("board", idx);
 
-            ps.setInt(1, idx); // 첫 번째 ? = 삭제할 idx
+        return changing(() -> jdbc.update(sql, idx, fk_user_id, expectedVersion, expectedVersion), rows -> rows > 0);
+    }
 
-            return ps.executeUpdate() == 1; // 삭제 성공이면 true
-        }
+    /**
+     * 작성자/버전만 조회 (수정·삭제가 0행일 때 이유를 구분하는 용도, 없으면 null)
+     * - 방금 실패한 UPDATE 와 같은 시점을 봐야 하므로 primary 에서 읽는다.
+     */
+    public Board findOwnerVersion(int idx) throws SQLException {
+
+        String sql = "SELECT " + OWNER_VERSION.columns() + " FROM board WHERE idx=?";
+
+        return jdbc.primary().queryOne(sql, OWNER_VERSION, idx);
     }
 
     /**
@@ -162,18 +395,26 @@ public class BoardDao {
      */
     public int countAll() throws SQLException {
 
-        String sql = "SELECT COUNT(*) FROM board"; // 전체 행 개수 구하는 SQL
+        Long n = jdbc.queryLong("SELECT COUNT(*) FROM board"); // 전체 행 개수 구하는 SQL
 
-        try (Connection con = ds.getConnection(); // 커넥션 얻기
-                PreparedStatement ps = con.prepareStatement(sql); // SQL 준비
-                ResultSet rs = ps.executeQuery()) { // 실행 후 ResultSet 얻기
+        return n == null ? 0 : n.intValue();
+    }
 
-            if (rs.next()) { // COUNT(*)는 한 행만 반환됨
-                return rs.getInt(1); // 첫 번째 컬럼(int) = 전체 개수
-            }
+    /**
+     * 전체 게시글 개수 추정치 조회 (근사값)
+     * - InnoDB 통계(information_schema.TABLES.TABLE_ROWS)를 읽으므로 테이블 크기와 무관하게 빠르다.
+     * - 실제 개수와 수 % 정도 차이가 날 수 있다.
+     *
+     * @return 추정 개수 (통계가 없으면 -1)
+     */
+    public long estimateCount() throws SQLException {
 
-            return 0; // 비정상 상황 대비
-        }
+        String sql = "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'board'";
+
+        Long rows = jdbc.queryLong(sql);
+
+        return rows == null ? -1 : rows;
     }
 
 }
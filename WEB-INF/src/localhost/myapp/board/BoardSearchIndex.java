@@ -0,0 +1,573 @@
+package localhost.myapp.board;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목/본문 메모리 전문 검색 색인 (역색인 + BM25)
+ *
+ * 왜 필요한가
+ * - LIKE '%검색어%' 는 인덱스를 쓰지 못해 테이블 전체를 읽는다.
+ * - MySQL FULLTEXT 의 기본 파서는 공백 기준이라 "게시판에서" 안의 "게시판"을 찾지 못한다.
+ *
+ * 토큰화 (tokenize)
+ * - 한글/한자/가나 연속 구간 → 2글자씩 겹쳐 자른 bigram ("게시판에서" → 게시, 시판, 판에, 에서)
+ *   조사/어미가 붙어 있어도 검색어의 bigram 이 그대로 포함되므로 형태소 분석 없이 찾을 수 있다.
+ *   (한 글자 구간은 그 글자 하나를 토큰으로 사용)
+ * - 영문/숫자 연속 구간 → 소문자 단어 하나
+ * - 그 외 문자(공백, 문장부호 등)는 구분자
+ *
+ * 점수 (BM25, k1=1.2, b=0.75)
+ * - 제목에 나온 토큰은 본문보다 TITLE_WEIGHT 배 가중치
+ *
+ * 색인 구성
+ * - 애플리케이션 시작 시 BoardDao 에서 idx 구간별로 나눠 여러 스레드가 동시에 읽어 색인 (buildFromDatabase)
+ * - 이후에는 BoardService 의 create/update/delete 가 add/remove 로 바로 반영
+ * - 색인에는 토큰 빈도만 보관한다. 검색 결과 제목/본문 미리보기는 결과 페이지의 글만 DB 에서 읽어 만든다.
+ *
+ * 스레드 안전
+ * - ReentrantReadWriteLock: 검색은 read lock(동시 실행), 추가/삭제는 write lock
+ * - 토큰화는 락 밖에서 수행
+ */
+public class BoardSearchIndex {
+
+    /** BM25 파라미터 */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** 제목 토큰 가중치 */
+    private static final int TITLE_WEIGHT = 2;
+
+    /** 시작 시 색인 구성: 한 번에 읽는 idx 구간 크기 */
+    private static final int BUILD_CHUNK = 2000;
+
+    /** 애플리케이션 전역 공유 인스턴스 */
+    private static final BoardSearchIndex SHARED = new BoardSearchIndex();
+
+    /** 토큰 → (게시글 idx → 가중 빈도) */
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+
+    /** 게시글 idx → 색인된 문서 정보 (삭제/수정 시 postings 정리에 사용) */
+    private final Map<Integer, Doc> docs = new HashMap<>();
+
+    /** 전체 문서 길이 합 (평균 길이 계산용) */
+    private long totalLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 시작 시 색인 구성이 끝났는지 */
+    private volatile boolean ready;
+
+    /** 색인 구성 중에 실시간으로 바뀐 글 번호 (구성 작업이 옛 데이터로 덮어쓰지 않도록) */
+    private final Set<Integer> touchedWhileBuilding = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+
+    /** 색인된 문서 하나 */
+    private static final class Doc {
+        final String[] terms; // 이 문서에 등장한 토큰 (중복 없음)
+        final int length; // 가중 토큰 수
+
+        Doc(String[] terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    /** 검색 결과 한 건 (점수 + idx) */
+    public static final class Hit {
+        public final int idx;
+        public final double score;
+
+        Hit(int idx, double score) {
+            this.idx = idx;
+            this.score = score;
+        }
+    }
+
+    /** 검색 결과 한 페이지 */
+    public static final class Result {
+        public final List<Hit> hits;
+        public final int total;
+        public final String nextCursor;
+
+        Result(List<Hit> hits, int total, String nextCursor) {
+            this.hits = hits;
+            this.total = total;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    public static BoardSearchIndex shared() {
+        return SHARED;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** 색인된 문서 수 */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // 색인 구성 / 갱신
+    // ============================================================
+
+    /**
+     * DB 전체를 읽어서 색인 구성 (애플리케이션 시작 시 1회)
+     * - [1, maxIdx] 를 BUILD_CHUNK 크기 구간으로 나눠 threads 개 스레드가 동시에 읽는다.
+     * - 각 구간은 PK 범위 조회라 서로 독립적이고, 한 번에 메모리에 올라오는 행 수도 제한된다.
+     * - 실패한 뒤 다시 호출해도 된다. (이미 색인된 글은 건너뛰고 나머지만 채움)
+     *
+     * @return 이번에 읽은 행 수
+     */
+    public int buildFromDatabase(BoardDao dao, int threads) throws SQLException, InterruptedException {
+
+        building = true;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "board-search-build");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            int maxIdx = dao.maxIdx();
+            List<Future<Integer>> futures = new ArrayList<>();
+
+            // 최신 글부터 색인 (구성 도중 검색되면 최신 글이 먼저 잡히도록)
+            for (int hi = maxIdx; hi >= 1; hi -= BUILD_CHUNK) {
+                final int to = hi;
+                final int from = Math.max(1, hi - BUILD_CHUNK + 1);
+
+                futures.add(pool.submit(() -> {
+                    List<Board> rows = dao.findRange(from, to);
+                    for (Board b : rows) {
+                        addFromBuild(b.idx, b.title, b.content);
+                    }
+                    return rows.size();
+                }));
+            }
+
+            int count = 0;
+            for (Future<Integer> f : futures) {
+                try {
+                    count += f.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SQLException) {
+                        throw (SQLException) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+
+            ready = true;
+            return count;
+
+        } finally {
+            building = false;
+            touchedWhileBuilding.clear();
+            pool.shutdownNow();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /** 시작 시 구성 작업에서 추가 (실시간 갱신이 먼저 반영된 글은 건너뜀) */
+    private void addFromBuild(int idx, String title, String content) {
+        if (touchedWhileBuilding.contains(idx)) {
+            return;
+        }
+        Map<String, Integer> tf = termFrequencies(title, content);
+        Doc doc = toDoc(tf);
+
+        lock.writeLock().lock();
+        try {
+            if (!touchedWhileBuilding.contains(idx) && !docs.containsKey(idx)) {
+                putLocked(idx, doc, tf);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 글 등록/수정 반영 (같은 idx 가 있으면 교체) */
+    public void add(int idx, String title, String content) {
+        if (building) {
+            touchedWhileBuilding.add(idx);
+        }
+
+        Map<String, Integer> tf = termFrequencies(title, content);
+        Doc doc = toDoc(tf);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(idx);
+            putLocked(idx, doc, tf);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 글 삭제 반영 */
+    public void remove(int idx) {
+        if (building) {
+            touchedWhileBuilding.add(idx);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(idx);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(int idx, Doc doc, Map<String, Integer> tf) {
+        for (Map.Entry<String, Integer> e : tf.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(idx, e.getValue());
+        }
+        docs.put(idx, doc);
+        totalLength += doc.length;
+    }
+
+    private void removeLocked(int idx) {
+        Doc old = docs.remove(idx);
+        if (old == null) {
+            return;
+        }
+
+        for (String term : old.terms) {
+            Map<Integer, Integer> p = postings.get(term);
+            if (p != null) {
+                p.remove(idx);
+                if (p.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= old.length;
+    }
+
+    /** 제목/본문 → 가중 토큰 빈도 (제목 토큰은 TITLE_WEIGHT 배) */
+    private static Map<String, Integer> termFrequencies(String title, String content) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String t : tokenize(title)) {
+            tf.merge(t, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String t : tokenize(content)) {
+            tf.merge(t, 1, Integer::sum);
+        }
+        return tf;
+    }
+
+    private static Doc toDoc(Map<String, Integer> tf) {
+        int length = 0;
+        for (int v : tf.values()) {
+            length += v;
+        }
+        return new Doc(tf.keySet().toArray(new String[0]), length);
+    }
+
+    // ============================================================
+    // 검색
+    // ============================================================
+
+    /**
+     * BM25 점수순 검색 (키셋 페이징)
+     *
+     * - 정렬 기준: 점수 내림차순 → 같은 점수면 idx 내림차순 (최신 글 먼저)
+     * - cursor 는 이전 페이지 마지막 결과의 (점수, idx) 이며, 그 "다음" 결과부터 size 개를 반환한다.
+     *   색인이 그대로면 페이지끼리 겹치거나 빠지는 결과가 없다.
+     *   BM25 점수는 전체 문서 수/평균 길이/토큰 빈도에 따라 달라지므로, 페이지를 넘기는 사이에
+     *   글이 등록/수정/삭제되면 일부 결과의 점수가 커서를 넘어 움직여 다시 나오거나 빠질 수 있다.
+     *   (OFFSET 페이징처럼 한 칸씩 밀리지는 않음, 검색 결과 화면에서는 허용)
+     * - 상위 size+1 개만 우선순위 큐로 골라내므로 결과가 많아도 전체 정렬하지 않는다.
+     *
+     * @throws IllegalArgumentException 커서 형식이 잘못되었을 때
+     */
+    public Result search(String query, String cursor, int size) {
+
+        List<String> terms = new ArrayList<>(new java.util.LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Result(Collections.emptyList(), 0, null);
+        }
+
+        double afterScore = Double.POSITIVE_INFINITY;
+        int afterIdx = Integer.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            double[] c = decodeCursor(cursor);
+            afterScore = c[0];
+            afterIdx = (int) c[1];
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int n = docs.size();
+            if (n == 0) {
+                return new Result(Collections.emptyList(), 0, null);
+            }
+            double avgLen = totalLength / (double) n;
+
+            for (String term : terms) {
+                Map<Integer, Integer> p = postings.get(term);
+                if (p == null) {
+                    continue;
+                }
+
+                int df = p.size();
+                double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+
+                for (Map.Entry<Integer, Integer> e : p.entrySet()) {
+                    Doc d = docs.get(e.getKey());
+                    double tf = e.getValue();
+                    double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * d.length / avgLen));
+                    scores.merge(e.getKey(), idf * norm, Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 상위 size+1 개 선택 (min-heap: 가장 "뒤" 순위가 맨 위)
+        PriorityQueue<Hit> heap = new PriorityQueue<>(size + 1, (a, b) -> compareRank(b, a));
+        for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+            int idx = e.getKey();
+            double score = e.getValue();
+
+            // 커서 이후의 결과만 (점수가 더 낮거나, 같은 점수에서 idx 가 더 작은 것)
+            if (score > afterScore || (score == afterScore && idx >= afterIdx)) {
+                continue;
+            }
+
+            heap.add(new Hit(idx, score));
+            if (heap.size() > size + 1) {
+                heap.poll();
+            }
+        }
+
+        List<Hit> page = new ArrayList<>(heap);
+        page.sort(BoardSearchIndex::compareRank);
+
+        String nextCursor = null;
+        if (page.size() > size) {
+            page = page.subList(0, size);
+            Hit last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.score, last.idx);
+        }
+
+        return new Result(page, scores.size(), nextCursor);
+    }
+
+    /** 순위 비교 (점수 내림차순, 같으면 idx 내림차순) */
+    private static int compareRank(Hit a, Hit b) {
+        int c = Double.compare(b.score, a.score);
+        return c != 0 ? c : Integer.compare(b.idx, a.idx);
+    }
+
+    private static String encodeCursor(double score, int idx) {
+        String raw = "s1:" + Long.toHexString(Double.doubleToLongBits(score)) + ":" + idx;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static double[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !"s1".equals(parts[0])) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16));
+            return new double[] { score, Integer.parseInt(parts[2]) };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    // ============================================================
+    // 토큰화 / 하이라이트
+    // ============================================================
+
+    /** 한글/한자/가나 → bigram 대상 문자 */
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript s = Character.UnicodeScript.of(cp);
+        return s == Character.UnicodeScript.HANGUL
+                || s == Character.UnicodeScript.HAN
+                || s == Character.UnicodeScript.HIRAGANA
+                || s == Character.UnicodeScript.KATAKANA;
+    }
+
+    /**
+     * 문자열 → 토큰 목록 (중복 포함, 등장 순서대로)
+     * - 색인과 검색어에 같은 규칙을 적용한다.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return out;
+        }
+
+        String s = text.toLowerCase(Locale.ROOT);
+        int len = s.length();
+        int i = 0;
+
+        while (i < len) {
+            int cp = s.codePointAt(i);
+
+            if (isCjk(cp)) {
+                // 한글 등 연속 구간 → bigram
+                int start = i;
+                List<Integer> offsets = new ArrayList<>();
+                while (i < len && isCjk(s.codePointAt(i))) {
+                    offsets.add(i);
+                    i += Character.charCount(s.codePointAt(i));
+                }
+                offsets.add(i);
+
+                int chars = offsets.size() - 1;
+                if (chars == 1) {
+                    out.add(s.substring(start, i));
+                } else {
+                    for (int k = 0; k + 2 < offsets.size(); k++) {
+                        out.add(s.substring(offsets.get(k), offsets.get(k + 2)));
+                    }
+                }
+
+            } else if (Character.isLetterOrDigit(cp)) {
+                // 영문/숫자 연속 구간 → 단어
+                int start = i;
+                while (i < len) {
+                    int c = s.codePointAt(i);
+                    if (!Character.isLetterOrDigit(c) || isCjk(c)) {
+                        break;
+                    }
+                    i += Character.charCount(c);
+                }
+                out.add(s.substring(start, i));
+
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * 검색어 토큰이 나타난 부분을 &lt;mark&gt; 로 감싼 HTML 생성
+     * - 원문은 HTML 이스케이프 후 출력 (XSS 방지)
+     * - maxChars > 0 이면 첫 일치 위치 주변 maxChars 글자만 잘라낸다 (본문 미리보기)
+     */
+    public static String highlight(String text, String query, int maxChars) {
+        if (text == null) {
+            return null;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        boolean[] mark = new boolean[text.length()];
+        int first = -1;
+
+        // 소문자 변환으로 길이가 달라지는 특수 문자가 있으면 위치를 맞출 수 없으므로 표시 생략
+        if (lower.length() == text.length()) {
+            for (String t : new java.util.LinkedHashSet<>(tokenize(query))) {
+                int from = 0;
+                while (true) {
+                    int pos = lower.indexOf(t, from);
+                    if (pos < 0) {
+                        break;
+                    }
+                    for (int k = pos; k < pos + t.length(); k++) {
+                        mark[k] = true;
+                    }
+                    if (first < 0 || pos < first) {
+                        first = pos;
+                    }
+                    from = pos + 1;
+                }
+            }
+        }
+
+        int start = 0;
+        int end = text.length();
+        if (maxChars > 0 && text.length() > maxChars) {
+            start = Math.max(0, (first < 0 ? 0 : first) - maxChars / 4);
+            end = Math.min(text.length(), start + maxChars);
+            if (Character.isLowSurrogate(text.charAt(start)) && start > 0) {
+                start--;
+            }
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            sb.append('…');
+        }
+
+        boolean open = false;
+        for (int k = start; k < end; k++) {
+            if (mark[k] && !open) {
+                sb.append("<mark>");
+                open = true;
+            } else if (!mark[k] && open) {
+                sb.append("</mark>");
+                open = false;
+            }
+            appendEscaped(sb, text.charAt(k));
+        }
+        if (open) {
+            sb.append("</mark>");
+        }
+
+        if (end < text.length()) {
+            sb.append('…');
+        }
+        return sb.toString();
+    }
+
+    private static void appendEscaped(StringBuilder sb, char c) {
+        switch (c) {
+            case '<':
+                sb.append("&lt;");
+                break;
+            case '>':
+                sb.append("&gt;");
+                break;
+            case '&':
+                sb.append("&amp;");
+                break;
+            case '"':
+                sb.append("&quot;");
+                break;
+            case '\'':
+                sb.append("&#39;");
+                break;
+            default:
+                sb.append(c);
+        }
+    }
+}
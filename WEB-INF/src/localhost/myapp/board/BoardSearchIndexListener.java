@@ -0,0 +1,66 @@
+package localhost.myapp.board;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * 애플리케이션 시작 시 게시글 검색 색인 구성
+ *
+ * - 별도 스레드에서 구성하므로 톰캣 기동을 막지 않는다.
+ * - 구성이 끝나기 전 검색 요청은 503 으로 응답 (BoardAPI)
+ * - 실패하면(DB 가 아직 안 떠 있는 등) RETRY_MIN_MS 부터 두 배씩, 최대 RETRY_MAX_MS 간격으로 다시 시도
+ * - 색인 구성 스레드 수는 CPU 코어 수 기준 (최대 4, DB 커넥션 풀을 다 쓰지 않도록 제한)
+ */
+@WebListener
+public class BoardSearchIndexListener implements ServletContextListener {
+
+    /** 재시도 간격 (처음 / 최대) */
+    private static final long RETRY_MIN_MS = 5_000L;
+    private static final long RETRY_MAX_MS = 5 * 60_000L;
+
+    private Thread builder;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+
+        int threads = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+        ServletContext ctx = sce.getServletContext();
+
+        builder = new Thread(() -> {
+            long delay = RETRY_MIN_MS;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    long started = System.currentTimeMillis();
+                    int count = BoardSearchIndex.shared().buildFromDatabase(new BoardDao(), threads);
+                    ctx.log("게시글 검색 색인 완료: " + count + "건 (" + (System.currentTimeMillis() - started)
+                            + "ms, threads=" + threads + ", attempt=" + attempt + ")");
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    ctx.log("게시글 검색 색인 구성 실패 (" + attempt + "회째), " + delay + "ms 후 다시 시도", e);
+                }
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    return; // 종료 중
+                }
+                delay = Math.min(delay * 2, RETRY_MAX_MS);
+            }
+        }, "board-search-bootstrap");
+
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (builder != null) {
+            builder.interrupt();
+        }
+    }
+}
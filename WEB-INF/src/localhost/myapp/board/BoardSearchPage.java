@@ -0,0 +1,52 @@
+package localhost.myapp.board;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 게시글 검색 결과 DTO (GET /api/board/search)
+ *
+ * - items : 현재 페이지 결과 (점수순)
+ * - total : 전체 일치 건수
+ * - nextCursor : 다음 페이지 커서 (마지막 페이지면 null)
+ * - hasNext : 다음 페이지 존재 여부
+ */
+public class BoardSearchPage {
+
+    /** 검색 결과 한 건 */
+    public static class Item {
+
+        /** 게시글 번호 */
+        public int idx;
+
+        /** 제목 (HTML 이스케이프 + 일치 부분 &lt;mark&gt;) */
+        public String title;
+
+        /** 본문 미리보기 (HTML 이스케이프 + 일치 부분 &lt;mark&gt;) */
+        public String snippet;
+
+        /** 작성자 아이디 */
+        public String fk_user_id;
+
+        /** 등록일 */
+        public Instant regDate;
+
+        /** BM25 점수 */
+        public double score;
+    }
+
+    public List<Item> items;
+    public int total;
+    public String nextCursor;
+    public boolean hasNext;
+
+    public BoardSearchPage() {
+    }
+
+    public BoardSearchPage(List<Item> items, int total, String nextCursor) {
+        this.items = items;
+        this.total = total;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
@@ -1,40 +1,298 @@
 package localhost.myapp.board;
 
+import localhost.myapp.common.LruCache;
+import localhost.myapp.common.ResponseCache;
+import localhost.myapp.common.jdbc.ReadAfterWrite;
 import localhost.myapp.dto.ServiceResult;
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BoardService {
 
+    /**
+     * 게시글 단건 캐시 (전역 공유)
+     * - 조회수가 몰리는 소수의 인기 글을 메모리에서 바로 반환
+     * - 없는 글(404)도 짧게 캐싱해서 같은 번호 반복 조회가 DB 로 가지 않게 함
+     */
+    private static final LruCache<Integer, Board> SHARED_POSTS = new LruCache<>("board.posts", 1000, 60_000L, 5_000L);
+
+    /**
+     * 목록 페이지 캐시 (전역 공유)
+     * - 대부분의 트래픽은 1~2 페이지 → 짧은 TTL 로도 효과가 크다
+     * - 글이 등록/수정/삭제되면 어느 페이지가 바뀌었는지 따지지 않고 전부 비운다
+     */
+    private static final LruCache<String, List<Board>> SHARED_LISTS = new LruCache<>("board.lists", 100, 10_000L, 0L);
+
+    /**
+     * 완성된 API 응답 바이트 캐시 (전역 공유, BoardAPI 목록/상세)
+     * - 키에 변경 스탬프가 들어가므로 글이 바뀌면 자동으로 새 키가 된다.
+     * - 변경 시 clear() 로 예전 바이트를 바로 버려 메모리를 돌려준다.
+     */
+    private static final ResponseCache SHARED_RESPONSES = new ResponseCache("board.responses",
+            16L * 1024 * 1024, 512 * 1024, 10_000L);
+
+    /**
+     * 쓰기 후 이 시간 동안은 읽은 결과를 공유 캐시에 넣지 않는다. (복제 지연보다 길게, ReadAfterWriteFilter 와 같은 5초)
+     * - 무효화 직후 sticky 가 아닌 요청이 지연된 복제본에서 옛 글을 읽어 캐시를 다시 채우면,
+     *   방금 쓴 사람도 그 캐시를 보게 되기 때문
+     */
+    private static final long REPLICA_LAG_MS = 5_000L;
+
+    /** 마지막 쓰기(또는 다른 곳의 변경 감지) 시각 */
+    private static volatile long lastWriteAt;
+
+    static {
+        // 다른 노드/직접 SQL 로 바뀐 것이 DB 변경 순번으로 감지되면 공유 캐시를 비움
+        BoardChangeStamp.addListener(() -> invalidateShared(0));
+    }
+
     private final BoardDao dao;
 
+    /** 전체 개수 (메모리 유지, 등록/삭제 시 갱신) */
+    private final BoardCountProvider counter;
+
+    private final LruCache<Integer, Board> posts;
+    private final LruCache<String, List<Board>> lists;
+    private final ResponseCache responses;
+
+    /** 제목/본문 검색 색인 (등록/수정/삭제 시 갱신) */
+    private final BoardSearchIndex searchIndex;
+
     public BoardService() {
         this.dao = new BoardDao();
+        this.counter = BoardCountProvider.shared();
+        this.posts = SHARED_POSTS;
+        this.lists = SHARED_LISTS;
+        this.responses = SHARED_RESPONSES;
+        this.searchIndex = BoardSearchIndex.shared();
     }
 
     public BoardService(BoardDao dao) {
         this.dao = dao;
+        this.counter = new BoardCountProvider(dao);
+        this.posts = new LruCache<>("board.posts", 1000, 60_000L, 5_000L);
+        this.lists = new LruCache<>("board.lists", 100, 10_000L, 0L);
+        this.responses = new ResponseCache("board.responses", 16L * 1024 * 1024, 512 * 1024, 10_000L);
+        this.searchIndex = new BoardSearchIndex();
+    }
+
+    /** 게시글 단건 캐시 (hit/miss/eviction 통계 확인용) */
+    public static LruCache<Integer, Board> postCache() {
+        return SHARED_POSTS;
+    }
+
+    /**
+     * BoardService 를 거치지 않은 변경 반영 (예전 api.BoardServlet)
+     * - DB 변경 순번을 올려 다른 노드도 다음 확인 때 비우게 하고, 이 노드의 공유 캐시를 비운다.
+     *
+     * @param idx 바뀐 글 번호 (모르면 0 → 단건 캐시 전체를 비움)
+     */
+    public static void changedElsewhere(int idx) {
+        try {
+            new BoardDao().markChanged();
+        } catch (SQLException e) {
+            e.printStackTrace(); // 다른 노드는 캐시 TTL 이 지나야 반영됨, 이 노드는 아래에서 비움
+        }
+        invalidateShared(idx);
+    }
+
+    /**
+     * 공유 캐시를 비우고 변경 스탬프를 올린다. 전체 개수는 다음 조회 때 DB 로 다시 맞춘다.
+     * (다른 곳의 변경이므로 복제 지연도 쓰기처럼 본다)
+     */
+    private static void invalidateShared(int idx) {
+        written();
+        if (idx > 0) {
+            SHARED_POSTS.remove(idx);
+        } else {
+            SHARED_POSTS.clear();
+        }
+        SHARED_LISTS.clear();
+        SHARED_RESPONSES.clear();
+        BoardCountProvider.shared().invalidate();
+        BoardChangeStamp.bump(); // 캐시 무효화 뒤에 올림
+    }
+
+    /** 응답 바이트 캐시 (BoardAPI 가 사용) */
+    public ResponseCache responses() {
+        return responses;
+    }
+
+    /** 응답 캐시 키: 게시글 상세 (변경 스탬프 포함) */
+    public static String detailKey(int idx, String stamp) {
+        return "detail/" + idx + "@" + stamp;
+    }
+
+    /** 응답 캐시 키: 목록 (page/cursor + size + 변경 스탬프) */
+    public static String listKey(String params, String stamp) {
+        return "list?" + params + "@" + stamp;
+    }
+
+    /** 응답 바이트 캐시 (hit/miss/eviction/메모리 통계 확인용) */
+    public static ResponseCache responseCache() {
+        return SHARED_RESPONSES;
+    }
+
+    /** 목록 캐시 (hit/miss/eviction 통계 확인용) */
+    public static LruCache<String, List<Board>> listCache() {
+        return SHARED_LISTS;
     }
 
-    /** 목록 페이징 (Read는 그대로 반환) */
+    /** 목록 페이징 (Read는 그대로 반환, content 없이 excerpt 만 포함) */
     public List<Board> list(int page, int size) throws SQLException {
         if (page < 1)
             page = 1;
         if (size < 1)
             size = 10;
-        return dao.findAll(page, size);
+
+        final int p = page, s = size;
+        return read(lists, "p:" + p + ":" + s, () -> dao.findAll(p, s));
+    }
+
+    /**
+     * 목록 키셋(커서) 페이징
+     * - cursor 가 null/빈 문자열이면 첫 페이지
+     * - size+1 개를 조회해서 다음 페이지가 실제로 있는지 정확히 판단
+     *
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않을 때
+     */
+    public BoardPage listAfter(String cursor, int size) throws SQLException {
+        if (size < 1)
+            size = 10;
+        size = Math.min(size, 100);
+
+        int beforeIdx = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            beforeIdx = BoardCursor.decode(cursor);
+            if (beforeIdx <= 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+        }
+
+        final int before = beforeIdx, limit = size + 1;
+        List<Board> rows = read(lists, "c:" + before + ":" + limit, () -> dao.findBefore(before, limit));
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size); // 판단용으로 더 가져온 1개 제외
+        }
+
+        String nextCursor = hasNext ? BoardCursor.encode(rows.get(rows.size() - 1).idx) : null;
+        return new BoardPage(rows, nextCursor, hasNext);
+    }
+
+    /**
+     * 제목/본문 검색 (BM25 점수순, 키셋 페이징)
+     * - 색인에서 결과 페이지의 글 번호를 고르고, 미리보기용 본문은 그 글들만 한 번에 조회
+     * - 제목/미리보기는 HTML 이스케이프 후 일치 부분을 <mark> 로 감싼다
+     *
+     * @return 색인이 아직 준비되지 않았으면 null
+     * @throws IllegalArgumentException 검색어가 비었거나 커서 형식이 잘못되었을 때
+     */
+    public BoardSearchPage search(String q, String cursor, int size) throws SQLException {
+        if (q == null || q.trim().isEmpty()) {
+            throw new IllegalArgumentException("검색어를 입력해 주세요.");
+        }
+        if (q.length() > 100) {
+            throw new IllegalArgumentException("검색어는 100자 이하로 입력해 주세요.");
+        }
+        if (!searchIndex.isReady()) {
+            return null;
+        }
+        if (size < 1)
+            size = 10;
+        size = Math.min(size, 50);
+
+        BoardSearchIndex.Result r = searchIndex.search(q, cursor, size);
+
+        // 결과 페이지 글의 본문/작성자/등록일을 한 번에 조회
+        List<Integer> ids = new ArrayList<>();
+        for (BoardSearchIndex.Hit h : r.hits) {
+            ids.add(h.idx);
+        }
+        Map<Integer, Board> rows = new HashMap<>();
+        for (Board b : dao.findByIds(ids)) {
+            rows.put(b.idx, b);
+        }
+
+        List<BoardSearchPage.Item> items = new ArrayList<>();
+        for (BoardSearchIndex.Hit h : r.hits) {
+            Board b = rows.get(h.idx);
+            if (b == null) {
+                continue; // 색인 반영 직전에 삭제된 글
+            }
+
+            BoardSearchPage.Item it = new BoardSearchPage.Item();
+            it.idx = b.idx;
+            it.title = BoardSearchIndex.highlight(b.title, q, 0);
+            it.snippet = BoardSearchIndex.highlight(b.content, q, Board.EXCERPT_LENGTH);
+            it.fk_user_id = b.fk_user_id;
+            it.regDate = b.regDate;
+            it.score = h.score;
+            items.add(it);
+        }
+
+        return new BoardSearchPage(items, r.total, r.nextCursor);
+    }
+
+    /**
+     * 게시판 전체 변경 스탬프 (목록 ETag 용, 요청마다 DB 조회 없음, BoardChangeStamp)
+     * - 목록을 조회하기 "전에" 읽어야 한다. (조회 중 변경되면 다음 요청에서 ETag 가 달라짐)
+     */
+    public String changeStamp() {
+        return BoardChangeStamp.current();
     }
 
-    /** 전체 개수 */
+    /** 전체 개수 (COUNT(*) 대신 BoardCountProvider 의 메모리 값) */
     public int count() throws SQLException {
-        return dao.countAll();
+        return counter.get();
     }
 
-    /** 단건 조회 (없으면 null) */
+    /**
+     * 전체 내보내기 (DB 에서 한 행씩 읽어 바로 callback 으로 전달, 캐시 사용 안 함)
+     */
+    public void exportAll(BoardDao.RowCallback callback) throws SQLException, IOException {
+        dao.exportAll(callback);
+    }
+
+    /** 단건 조회 (없으면 null, 캐시 우선) */
     public Board get(int idx) throws SQLException {
         if (idx <= 0)
             return null;
-        return dao.findById(idx);
+        return read(posts, idx, () -> dao.findById(idx));
+    }
+
+    /**
+     * 공유 캐시를 읽어도 되는지
+     * - 최근에 쓴 클라이언트(sticky)는 캐시를 거치지 않고 primary 에서 바로 읽는다.
+     */
+    public boolean useCache() {
+        return !ReadAfterWrite.isSticky();
+    }
+
+    /**
+     * 읽은 결과를 공유 캐시에 넣어도 되는지
+     * - sticky 요청이 아니고, 마지막 쓰기 후 REPLICA_LAG_MS 가 지났을 때만 (복제본이 따라잡은 뒤)
+     */
+    public boolean fillCache() {
+        return useCache() && System.currentTimeMillis() - lastWriteAt > REPLICA_LAG_MS;
+    }
+
+    /** 캐시 우선 조회 (useCache / fillCache 규칙 적용) */
+    private <K, V> V read(LruCache<K, V> cache, K key, LruCache.Loader<V> loader) throws SQLException {
+        if (!useCache()) {
+            return loader.load();
+        }
+        return cache.get(key, loader, fillCache());
+    }
+
+    /** 쓰기 발생 기록 (캐시를 비우기 전에 호출 → 그 뒤 복제본에서 읽은 값은 캐시에 넣지 않음) */
+    private static void written() {
+        lastWriteAt = System.currentTimeMillis();
     }
 
     /**
@@ -47,6 +305,7 @@ public class BoardService {
             Board b = new Board();
             b.title = title.trim();
             b.content = content.trim();
+            b.excerpt = Board.makeExcerpt(b.content);
             b.fk_user_id = fk_user_id;
 
             Integer newId = dao.insert(b);
@@ -55,6 +314,17 @@ public class BoardService {
                 return ServiceResult.fail("게시글 등록에 실패했습니다.");
             }
 
+            counter.increment();
+            written();
+
+            // 새 글이 목록 맨 앞에 들어가므로 목록 캐시 무효화
+            // (새 번호를 미리 조회해서 "없음"이 캐싱되어 있을 수도 있으므로 단건도 제거)
+            posts.remove(newId);
+            lists.clear();
+            responses.clear(); // 예전 응답 바이트 정리 (키의 스탬프도 곧 바뀜)
+            BoardChangeStamp.bump(); // 캐시 무효화 뒤에 올림 (목록 ETag 변경)
+            searchIndex.add(newId, b.title, b.content);
+
             // ✔ idx 필드에 새로 생성된 PK 저장
             return ServiceResult.okWithId("게시글이 등록되었습니다.", newId);
 
@@ -66,28 +336,104 @@ public class BoardService {
         }
     }
 
+    /** 일괄 등록 최대 건수 */
+    public static final int MAX_BATCH = 1000;
+
     /**
-     * 수정
+     * 일괄 생성
+     * - 항목마다 create() 와 같은 규칙(validate)으로 검사
+     * - 검사를 통과한 항목만 한 트랜잭션으로 batch INSERT
+     * - DB 오류가 나면 전체 rollback → 실패 결과 반환 (일부만 등록되지 않음)
+     *
+     * @param items title/content 만 채워진 Board 목록 (null 항목은 형식 오류로 처리)
+     * @return data = 항목별 ServiceResult 목록 (요청 순서와 같음, 성공 시 idx 포함)
      */
-    public ServiceResult update(int idx, String title, String content, String fk_user_id) {
-        try {
-            if (idx <= 0) {
-                return ServiceResult.fail("잘못된 게시글 번호입니다.");
+    public ServiceResult createBatch(List<Board> items, String fk_user_id) {
+
+        if (items == null || items.isEmpty()) {
+            return ServiceResult.fail("등록할 게시글이 없습니다.");
+        }
+        if (items.size() > MAX_BATCH) {
+            return ServiceResult.fail("한 번에 최대 " + MAX_BATCH + "건까지 등록할 수 있습니다.");
+        }
+
+        List<ServiceResult> results = new ArrayList<>(items.size());
+        List<Board> valid = new ArrayList<>();
+        List<Integer> validPos = new ArrayList<>(); // valid 항목이 results 의 몇 번째인지
+
+        // 1) 항목별 검증
+        for (Board item : items) {
+            try {
+                if (item == null) {
+                    throw new IllegalArgumentException("제목과 내용을 입력해야 합니다.");
+                }
+                validate(item.title, item.content);
+
+                Board b = new Board();
+                b.title = item.title.trim();
+                b.content = item.content.trim();
+                b.excerpt = Board.makeExcerpt(b.content);
+                b.fk_user_id = fk_user_id;
+
+                validPos.add(results.size());
+                valid.add(b);
+                results.add(null); // INSERT 후 채움
+
+            } catch (IllegalArgumentException e) {
+                results.add(ServiceResult.fail(e.getMessage()));
             }
+        }
+
+        // 2) 한 트랜잭션으로 batch INSERT
+        if (!valid.isEmpty()) {
+            try {
+                int[] keys = dao.insertBatch(valid);
+                written();
+
+                for (int i = 0; i < keys.length; i++) {
+                    Board b = valid.get(i);
+                    b.idx = keys[i];
+                    results.set(validPos.get(i), ServiceResult.okWithId("게시글이 등록되었습니다.", keys[i]));
 
-            // 1) 기존 게시글 조회
-            Board b_exists = get(idx); // idx 로 게시물 정보 가져오기
+                    posts.remove(keys[i]);
+                    searchIndex.add(keys[i], b.title, b.content);
+                }
 
-            // 게시물이 없으면
-            if (b_exists == null) {
-                return ServiceResult.fail("게시물이 존재하지 않습니다.");
+                counter.add(keys.length);
+                lists.clear();
+                responses.clear(); // 예전 응답 바이트 정리 (키의 스탬프도 곧 바뀜)
+                BoardChangeStamp.bump(); // 캐시 무효화 뒤에 올림 (목록 ETag 변경)
+
+            } catch (SQLException e) {
+                return ServiceResult.fail("데이터베이스 오류: " + e.getMessage());
             }
+        }
+
+        int failed = items.size() - valid.size();
+        return new ServiceResult(!valid.isEmpty(),
+                valid.size() + "건 등록, " + failed + "건 실패", results, null);
+    }
+
+    /**
+     * 수정 (버전 검사 없음)
+     */
+    public ServiceResult update(int idx, String title, String content, String fk_user_id) {
+        return update(idx, title, content, fk_user_id, null);
+    }
 
-            // 2) 권한 체크
-            // - fk_user_id 컬럼이 null이면 누구나 수정 가능
-            // - null이 아니면 세션에서 전달받은 fk_user_id와 같을 때만 가능
-            if (!canModify(b_exists, fk_user_id)) {
-                return ServiceResult.fail("본인 게시글만 수정할 수 있습니다.");
+    /**
+     * 수정
+     * - 권한 검사 + 버전 검사 + 수정을 UPDATE 한 문장으로 처리 (DB 왕복 1회)
+     * - 0행이면 그때만 한 번 더 읽어서 이유를 구분 (없음 / 권한 없음 / 버전 불일치)
+     *
+     * @param expectedVersion 클라이언트가 읽은 버전 (If-Match), null 이면 검사 생략
+     * @return 성공 시 data = 새 버전 (expectedVersion 을 준 경우만, 아니면 null)
+     */
+    public ServiceResult update(int idx, String title, String content, String fk_user_id,
+            Integer expectedVersion) {
+        try {
+            if (idx <= 0) {
+                return ServiceResult.fail("잘못된 게시글 번호입니다.");
             }
 
             validate(title, content);
@@ -96,15 +442,23 @@ public class BoardService {
             b.idx = idx;
             b.title = title.trim();
             b.content = content.trim();
+            b.excerpt = Board.makeExcerpt(b.content);
 
-            boolean ok = dao.update(b);
+            int rows = dao.update(b, fk_user_id, expectedVersion);
 
-            if (!ok) {
-                return ServiceResult.fail("게시글 수정에 실패했습니다.");
+            if (rows == 0) {
+                return rejected(idx, fk_user_id, expectedVersion, "수정");
             }
 
-            // 수정은 별도 data, idx 필요 없으니 메시지만
-            return ServiceResult.ok("게시글이 수정되었습니다.");
+            written();
+            posts.remove(idx);
+            lists.clear();
+            responses.clear(); // 예전 응답 바이트 정리 (키의 스탬프도 곧 바뀜)
+            BoardChangeStamp.bump(); // 캐시 무효화 뒤에 올림 (목록 ETag 변경)
+            searchIndex.add(idx, b.title, b.content);
+
+            Integer newVersion = expectedVersion != null ? expectedVersion + 1 : null;
+            return ServiceResult.ok("게시글이 수정되었습니다.", newVersion);
 
         } catch (IllegalArgumentException e) {
             return ServiceResult.fail(e.getMessage());
@@ -115,34 +469,36 @@ public class BoardService {
     }
 
     /**
-     * 삭제
+     * 삭제 (버전 검사 없음)
      */
     public ServiceResult delete(int idx, String fk_user_id) {
+        return delete(idx, fk_user_id, null);
+    }
+
+    /**
+     * 삭제
+     * - 권한 검사 + 버전 검사 + 삭제를 DELETE 한 문장으로 처리 (DB 왕복 1회)
+     */
+    public ServiceResult delete(int idx, String fk_user_id, Integer expectedVersion) {
         try {
             if (idx <= 0) {
                 return ServiceResult.fail("잘못된 게시글 번호입니다.");
             }
 
-            // 1) 기존 게시글 조회
-            Board b_exists = get(idx); // idx 로 게시물 정보 가져오기
+            int rows = dao.delete(idx, fk_user_id, expectedVersion);
 
-            // 게시물이 없으면
-            if (b_exists == null) {
-                return ServiceResult.fail("게시물이 존재하지 않습니다.");
+            if (rows == 0) {
+                return rejected(idx, fk_user_id, expectedVersion, "삭제");
             }
 
-            // 2) 권한 체크
-            // - fk_user_id 컬럼이 null이면 누구나 수정 가능
-            // - null이 아니면 세션에서 전달받은 fk_user_id와 같을 때만 가능
-            if (!canModify(b_exists, fk_user_id)) {
-                return ServiceResult.fail("본인 게시글만 삭제할 수 있습니다.");
-            }
+            counter.decrement();
+            written();
 
-            boolean ok = dao.delete(idx);
-
-            if (!ok) {
-                return ServiceResult.fail("게시글 삭제에 실패했습니다.");
-            }
+            posts.remove(idx);
+            lists.clear();
+            responses.clear(); // 예전 응답 바이트 정리 (키의 스탬프도 곧 바뀜)
+            BoardChangeStamp.bump(); // 캐시 무효화 뒤에 올림 (목록 ETag 변경)
+            searchIndex.remove(idx);
 
             // 삭제도 메시지만
             return ServiceResult.ok("게시글이 삭제되었습니다.");
@@ -152,6 +508,36 @@ public class BoardService {
         }
     }
 
+    /**
+     * 수정/삭제가 0행일 때 이유 구분 (실패 경로에서만 추가 조회)
+     * - 캐시가 아니라 DB 를 직접 읽는다. (캐시 값은 이미 지난 버전일 수 있음)
+     */
+    private ServiceResult rejected(int idx, String fk_user_id, Integer expectedVersion, String action)
+            throws SQLException {
+
+        Board cur = dao.findOwnerVersion(idx);
+
+        if (cur == null) {
+            posts.remove(idx);
+            responses.removePrefix(detailKey(idx, "")); // 이 글의 상세 응답 바이트
+            return ServiceResult.fail(ServiceResult.NOT_FOUND, "게시물이 존재하지 않습니다.");
+        }
+
+        if (!canModify(cur, fk_user_id)) {
+            return ServiceResult.fail(ServiceResult.FORBIDDEN, "본인 게시글만 " + action + "할 수 있습니다.");
+        }
+
+        if (expectedVersion != null && cur.version != expectedVersion) {
+            posts.remove(idx); // 캐시에 예전 버전이 남아 있을 수 있음
+            responses.removePrefix(detailKey(idx, "")); // 이 글의 상세 응답 바이트
+            return ServiceResult.fail(ServiceResult.CONFLICT,
+                    "다른 곳에서 먼저 수정되었습니다. 새로고침 후 다시 시도해주세요.");
+        }
+
+        // 검사 사이에 다른 요청이 바꾼 경우 (드묾)
+        return ServiceResult.fail(ServiceResult.CONFLICT, "게시글 " + action + "에 실패했습니다. 다시 시도해주세요.");
+    }
+
     /** 공통 검증 */
     private void validate(String title, String content) {
         if (title == null || content == null) {
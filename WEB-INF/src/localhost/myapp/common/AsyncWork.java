@@ -0,0 +1,565 @@
+package localhost.myapp.common;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import localhost.myapp.common.jdbc.ReadAfterWrite;
+import localhost.myapp.common.jdbc.UnitOfWork;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서블릿 비동기 처리 (DB 를 기다리는 동안 톰캣 커넥터 스레드를 잡지 않음)
+ *
+ * 문제
+ * - doGet/doPost 가 JDBC 호출이 끝날 때까지 톰캣 요청 스레드를 잡고 있다.
+ *   → MySQL 이 잠깐 느려지면 요청 스레드(maxThreads)가 모두 DB 를 기다리고, 정적 파일까지 멈춘다.
+ *
+ * 해결
+ * - startAsync() 후 실제 작업(서비스/DAO 호출 + 응답 작성)은 작업 스레드에서 실행하고,
+ *   요청 스레드는 바로 톰캣에 돌려준다. 작업이 끝나면 작업 스레드에서 complete() 한다.
+ * - 작업 스레드는 가상 스레드 (JDK 21 이상, 리플렉션으로 확인)
+ *   JDK 21 미만이면 고정 크기 풀 + 제한된 대기열 (가득 차면 바로 503)
+ * - 요청마다 제한 시간: 넘으면 onTimeout 으로 응답(보통 503)하고 끝낸다.
+ *   작업 자체는 멈추지 않는다. (JDBC 는 interrupt 로 멈추지 않음) 다만 그 뒤 작업이 쓰는 응답은 버린다.
+ *   대기열에서 기다리다 제한 시간을 넘긴 작업은 아예 실행하지 않는다.
+ * - complete() 뒤에는 컨테이너가 요청 객체를 다른 요청에 재사용할 수 있다.
+ *   → 작업은 서비스 호출 뒤 expired() 를 확인하고, true 면 req 를 더 건드리지 않고 돌아간다.
+ *
+ * 스레드 로컬 넘기기
+ * - ReadAfterWrite 상태는 요청 스레드에서 꺼내 작업 스레드에 다시 묶는다.
+ * - UnitOfWork 는 작업 스레드에서 새로 시작하고, 응답을 쓰기 시작할 때(getWriter/getOutputStream/redirect 등,
+ *   JSP forward 포함) 커넥션을 반납한다. → 느린 클라이언트에 응답을 보내는 동안 풀 커넥션을 잡지 않는다.
+ *   (요청 스레드의 UnitOfWorkFilter 는 DB 를 쓰지 않은 채 바로 끝난다)
+ *
+ * 필터
+ * - 요청이 지나는 모든 필터/서블릿이 asyncSupported 여야 한다. 하나라도 아니면 그냥 요청 스레드에서 실행한다.
+ * - 응답을 감싸고 체인 뒤에 마무리하는 필터(CompressionFilter)는 beforeComplete() 로 마무리를 등록한다.
+ *   → complete() 직전에 작업 스레드(또는 시간 초과 스레드)에서 실행된다.
+ *
+ * 사용 예
+ *
+ * <pre>
+ * protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+ *     AsyncWork.start(req, resp, 10_000, this::get, this::timedOut);
+ * }
+ * </pre>
+ */
+public final class AsyncWork {
+
+    /** 작업 (요청 스레드 밖에서 실행, 응답까지 작성) */
+    @FunctionalInterface
+    public interface Task {
+        void run(HttpServletRequest req, HttpServletResponse resp) throws Exception;
+    }
+
+    /** complete() 직전 마무리 (응답 래퍼 flush 등) */
+    @FunctionalInterface
+    public interface Hook {
+        void run() throws IOException;
+    }
+
+    /** JDK 21 미만일 때 작업 스레드 수 / 대기열 크기 */
+    private static final int FALLBACK_THREADS = 64;
+    private static final int FALLBACK_QUEUE = 1000;
+
+    /** 컨테이너 자체 시간 제한은 우리 제한보다 넉넉하게 (마지막 안전장치) */
+    private static final long CONTAINER_GRACE_MS = 30_000;
+
+    private static final String HOOKS = AsyncWork.class.getName() + ".hooks";
+
+    /** 작업 스레드 부족으로 작업을 시작하지 못함 (onTimeout 에서 notStarted() 로 확인) */
+    private static final String NOT_STARTED = AsyncWork.class.getName() + ".notStarted";
+
+    private static final ExecutorService WORKERS = newWorkers();
+
+    /** 작업 스레드에서 실행 중인 요청 (expired() 용) */
+    private static final ThreadLocal<Call> CURRENT = new ThreadLocal<>();
+
+    private static final ScheduledThreadPoolExecutor TIMER = newTimer();
+
+    // 통계
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicLong STARTED = new AtomicLong();
+    private static final AtomicLong TIMEOUTS = new AtomicLong();
+    private static final AtomicLong REJECTED = new AtomicLong();
+    private static final AtomicLong INLINE = new AtomicLong();
+
+    private AsyncWork() {
+    }
+
+    /**
+     * 작업을 비동기로 실행 (asyncSupported 가 아닌 경로면 지금 스레드에서 바로 실행)
+     *
+     * @param timeoutMs 제한 시간 (넘으면 onTimeout 으로 응답)
+     * @param task      실제 처리 (응답까지 작성)
+     * @param onTimeout 시간 초과 / 작업 스레드 부족 시 응답 (보통 503, 쓰기 요청이면 notStarted() 로 구분)
+     */
+    public static void start(HttpServletRequest req, HttpServletResponse resp, long timeoutMs,
+            Task task, Task onTimeout) throws IOException {
+
+        if (!req.isAsyncSupported() || req.isAsyncStarted()) {
+            INLINE.incrementAndGet();
+            runInline(req, resp, task);
+            return;
+        }
+
+        AsyncContext ctx = req.startAsync(req, resp);
+        ctx.setTimeout(timeoutMs + CONTAINER_GRACE_MS);
+
+        Call call = new Call(ctx, req, resp, onTimeout, ReadAfterWrite.capture());
+        IN_FLIGHT.incrementAndGet();
+        STARTED.incrementAndGet();
+
+        try {
+            WORKERS.execute(() -> call.run(task));
+        } catch (RejectedExecutionException e) {
+            REJECTED.incrementAndGet();
+            req.setAttribute(NOT_STARTED, Boolean.TRUE);
+            call.timeout(); // 작업 스레드 부족 → 시간 초과와 같은 응답
+            return;
+        }
+
+        call.timer = TIMER.schedule(() -> {
+            if (call.timeout()) {
+                TIMEOUTS.incrementAndGet();
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * complete() 직전에 실행할 마무리 등록 (필터가 chain.doFilter 전에 호출)
+     * - 비동기로 처리되지 않은 요청에서는 실행되지 않는다. (필터가 직접 마무리)
+     */
+    @SuppressWarnings("unchecked")
+    public static void beforeComplete(ServletRequest req, Hook hook) {
+        List<Hook> hooks = (List<Hook>) req.getAttribute(HOOKS);
+        if (hooks == null) {
+            hooks = new ArrayList<>(2);
+            req.setAttribute(HOOKS, hooks);
+        }
+        hooks.add(hook);
+    }
+
+    /**
+     * onTimeout 안에서: 작업이 아예 시작되지 않았는지 (작업 스레드 부족)
+     * - true 면 아무것도 반영되지 않았으므로 다시 보내도 안전하다.
+     * - false 면 시간 초과 → 작업은 계속 진행 중이라 쓰기가 나중에 반영될 수 있다.
+     *   (POST/PUT/DELETE 에 "다시 시도" 를 안내하면 중복 등록이 생길 수 있음)
+     */
+    public static boolean notStarted(HttpServletRequest req) {
+        return req.getAttribute(NOT_STARTED) != null;
+    }
+
+    /**
+     * 작업 안에서: 이 요청이 이미 시간 초과로 끝났는지 (비동기로 실행 중이 아니면 항상 false)
+     * - true 면 시간 초과 응답 후 complete() 됐으므로 req 는 다른 클라이언트 요청에 재사용됐을 수 있다.
+     *   서비스 호출 뒤 setAttribute / forward / getSession / 응답 작성 전에 확인하고 바로 돌아간다.
+     */
+    public static boolean expired() {
+        Call c = CURRENT.get();
+        return c != null && !c.open();
+    }
+
+    /** 애플리케이션 종료 시 호출 (AsyncWorkListener) */
+    public static void shutdown() {
+        TIMER.shutdownNow();
+        WORKERS.shutdown();
+        try {
+            if (!WORKERS.awaitTermination(5, TimeUnit.SECONDS)) {
+                WORKERS.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            WORKERS.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== 통계 =====
+
+    /** 지금 처리 중인 비동기 요청 수 */
+    public static int getInFlight() {
+        return IN_FLIGHT.get();
+    }
+
+    public static long getStarted() {
+        return STARTED.get();
+    }
+
+    public static long getTimeouts() {
+        return TIMEOUTS.get();
+    }
+
+    public static long getRejected() {
+        return REJECTED.get();
+    }
+
+    /** asyncSupported 가 아니어서 요청 스레드에서 실행한 수 */
+    public static long getInline() {
+        return INLINE.get();
+    }
+
+    /** 가상 스레드를 쓰는지 (false = 고정 크기 풀) */
+    public static boolean isVirtual() {
+        return !(WORKERS instanceof ThreadPoolExecutor);
+    }
+
+    // ===== 내부 =====
+
+    private static void runInline(HttpServletRequest req, HttpServletResponse resp, Task task) throws IOException {
+        try {
+            task.run(req, resp);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /** 요청 하나의 비동기 처리 상태 */
+    private static final class Call {
+
+        /** 작업 중 → (응답 작성 중) → 끝 / 시간 초과 */
+        private static final int RUNNING = 0;
+        private static final int RESPONDING = 1;
+        private static final int DONE = 2;
+        private static final int TIMED_OUT = 3;
+
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+        private final AsyncContext ctx;
+        private final HttpServletRequest req;
+        private final HttpServletResponse resp;
+        private final Task onTimeout;
+        private final ReadAfterWrite.State rw;
+
+        volatile ScheduledFuture<?> timer;
+
+        Call(AsyncContext ctx, HttpServletRequest req, HttpServletResponse resp, Task onTimeout,
+                ReadAfterWrite.State rw) {
+            this.ctx = ctx;
+            this.req = req;
+            this.resp = resp;
+            this.onTimeout = onTimeout;
+            this.rw = rw;
+        }
+
+        /** 작업 스레드 */
+        void run(Task task) {
+            if (state.get() == TIMED_OUT) {
+                return; // 대기열에서 제한 시간을 넘김 → 이미 응답/complete() 됨, req 를 읽으면 안 됨
+            }
+            CURRENT.set(this);
+            if (rw != null) {
+                rw.guardWrite(this::open); // rw_until 쿠키도 시간 초과 뒤에는 쓰지 않음
+            }
+            ReadAfterWrite.resume(rw);
+            boolean owner = UnitOfWork.begin();
+            GuardedResponse guarded = new GuardedResponse(resp, this);
+            try {
+                task.run(req, guarded);
+
+            } catch (Exception e) {
+                if (state.get() != TIMED_OUT) {
+                    e.printStackTrace();
+                    try {
+                        if (!guarded.isCommitted()) {
+                            guarded.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                        }
+                    } catch (Exception ignore) {
+                        // 응답을 더 쓸 수 없음
+                    }
+                }
+
+            } finally {
+                if (owner) {
+                    UnitOfWork.end(); // 응답을 쓰지 않고 끝났거나 응답 중 다시 빌린 커넥션 반납
+                }
+                ReadAfterWrite.end();
+                CURRENT.remove();
+
+                if (claim(DONE)) {
+                    ScheduledFuture<?> t = timer;
+                    if (t != null) {
+                        t.cancel(false);
+                    }
+                    finish();
+                }
+            }
+        }
+
+        /**
+         * 시간 초과 (타이머 스레드) → 아직 응답을 쓰기 전이면 onTimeout 응답 후 끝냄
+         *
+         * @return 시간 초과로 끝냈으면 true (작업이 이미 응답 중/완료면 false)
+         */
+        boolean timeout() {
+            if (!state.compareAndSet(RUNNING, TIMED_OUT)) {
+                return false; // 이미 응답을 쓰는 중 → 작업 스레드가 끝낸다
+            }
+            try {
+                if (!resp.isCommitted()) {
+                    resp.reset();
+                    onTimeout.run(req, resp);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            finish();
+            return true;
+        }
+
+        /** 아직 작업 스레드가 응답을 바꿔도 되는지 (시간 초과/끝난 뒤에는 false) */
+        boolean open() {
+            int s = state.get();
+            return s == RUNNING || s == RESPONDING;
+        }
+
+        /** 작업 스레드가 응답을 쓰기 시작 → 이후 시간 초과는 무시, DB 작업은 끝났으므로 커넥션 반납 */
+        void responding() {
+            if (state.get() == RESPONDING) {
+                return;
+            }
+            if (state.compareAndSet(RUNNING, RESPONDING)) {
+                UnitOfWork.release(); // 트랜잭션 중이면 무시됨, 이후 DB 작업이 있으면 다시 빌림
+                return;
+            }
+            throw new IllegalStateException("시간 초과로 이미 응답이 끝났습니다.");
+        }
+
+        private boolean claim(int end) {
+            while (true) {
+                int s = state.get();
+                if (s == DONE || s == TIMED_OUT) {
+                    return false;
+                }
+                if (state.compareAndSet(s, end)) {
+                    return true;
+                }
+            }
+        }
+
+        /** 등록된 마무리 실행 후 complete() (한 번만 호출됨) */
+        @SuppressWarnings("unchecked")
+        private void finish() {
+            try {
+                List<Hook> hooks = (List<Hook>) req.getAttribute(HOOKS);
+                if (hooks != null) {
+                    for (Hook h : hooks) {
+                        h.run();
+                    }
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                IN_FLIGHT.decrementAndGet();
+                ctx.complete();
+            }
+        }
+    }
+
+    /**
+     * 작업 스레드에 넘기는 응답
+     * - 본문을 쓰기 시작할 때 Call 에 알린다. (그 전에 시간 초과가 났으면 IllegalStateException)
+     * - 시간 초과 뒤 늦게 끝난 작업이 다른 요청에 재사용된 응답 객체에 쓰지 않도록 막는다.
+     * - 헤더/쿠키/상태/Content-Type 설정은 시간 초과 뒤에는 조용히 무시한다.
+     *   (ETag, 로그인 쿠키, rw_until 쿠키처럼 본문보다 먼저 설정하는 것들이 시간 초과 응답에 섞이지 않도록)
+     */
+    private static final class GuardedResponse extends HttpServletResponseWrapper {
+
+        private final Call call;
+
+        GuardedResponse(HttpServletResponse resp, Call call) {
+            super(resp);
+            this.call = call;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            call.responding();
+            return super.getWriter();
+        }
+
+        @Override
+        public jakarta.servlet.ServletOutputStream getOutputStream() throws IOException {
+            call.responding();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            call.responding();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            call.responding();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            call.responding();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            call.responding();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            call.responding();
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            call.responding();
+            super.reset();
+        }
+
+        // 헤더/상태 설정: 시간 초과 뒤에는 무시 (시간 초과 응답이 이미 나갔거나 나가는 중)
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (call.open()) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (call.open()) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (call.open()) {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (call.open()) {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            if (call.open()) {
+                super.setDateHeader(name, date);
+            }
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            if (call.open()) {
+                super.addDateHeader(name, date);
+            }
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            if (call.open()) {
+                super.addCookie(cookie);
+            }
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            if (call.open()) {
+                super.setStatus(sc);
+            }
+        }
+
+        @Override
+        public void setContentType(String type) {
+            if (call.open()) {
+                super.setContentType(type);
+            }
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            if (call.open()) {
+                super.setCharacterEncoding(charset);
+            }
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            if (call.open()) {
+                super.setContentLength(len);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (call.open()) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setLocale(Locale loc) {
+            if (call.open()) {
+                super.setLocale(loc);
+            }
+        }
+    }
+
+    /** 가상 스레드 실행기 (JDK 21+), 없으면 고정 크기 풀 */
+    private static ExecutorService newWorkers() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(FALLBACK_THREADS, FALLBACK_THREADS,
+                    60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(FALLBACK_QUEUE), named("async-work-"));
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor newTimer() {
+        ScheduledThreadPoolExecutor t = new ScheduledThreadPoolExecutor(1, named("async-timeout-"));
+        t.setRemoveOnCancelPolicy(true); // 제때 끝난 요청의 타이머는 바로 제거
+        return t;
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
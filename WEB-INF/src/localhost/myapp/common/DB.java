@@ -2,8 +2,13 @@ package localhost.myapp.common;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
+import javax.naming.NamingException;
 import javax.sql.DataSource;
 
+import localhost.myapp.common.jdbc.InstrumentedDataSource;
+import localhost.myapp.common.log.AccessLog;
+import localhost.myapp.common.jdbc.ReplicaDataSource;
+
 /**
  * JNDI 기반 DataSource 헬퍼 클래스
  *
@@ -16,6 +21,13 @@ import javax.sql.DataSource;
  * - static 초기화 블록에서 딱 한 번 lookup → 캐시
  * - 스레드 안전: JVM이 클래스 로딩 시 static 블록을 단 한 번만 실행하도록 보장
  * - final 키워드로 DataSource 인스턴스 불변성 확보
+ *
+ * 읽기 복제본 (선택)
+ * - "jdbc/MyDBReplica" Resource 가 있으면 getReadDataSource() 의 읽기를 복제본으로 보낸다.
+ * - 없으면 getReadDataSource() 도 primary(jdbc/MyDB)를 쓴다. (설정 없이 예전과 동일하게 동작)
+ *
+ * 측정
+ * - 두 풀 모두 InstrumentedDataSource 로 감싸서 준다. (획득/점유 시간, 문장별 실행 시간, 느린 문장, 누수)
  */
 public class DB {
 
@@ -27,6 +39,11 @@ public class DB {
      */
     private static final DataSource ds;
 
+    /**
+     * 읽기용 DataSource (복제본 우선, 복제본이 없거나 장애면 primary)
+     */
+    private static final ReplicaDataSource readDs;
+
     /**
      * static 초기화 블록
      *
@@ -56,7 +73,7 @@ public class DB {
              * type="javax.sql.DataSource"
              * ... />
              */
-            ds = (DataSource) ctx.lookup("java:comp/env/jdbc/MyDB");
+            ds = InstrumentedDataSource.wrap("primary", (DataSource) ctx.lookup("java:comp/env/jdbc/MyDB"));
 
         } catch (Exception e) {
             /**
@@ -69,6 +86,28 @@ public class DB {
              */
             throw new RuntimeException("JNDI DataSource lookup failed: jdbc/MyDB", e);
         }
+
+        readDs = new ReplicaDataSource(ds, lookupReplica());
+    }
+
+    /**
+     * 복제본 Resource 조회 (선택 사항이므로 없으면 null)
+     *
+     * <Resource name="jdbc/MyDBReplica"
+     * type="javax.sql.DataSource"
+     * defaultReadOnly="true"
+     * ... />
+     */
+    private static DataSource lookupReplica() {
+        try {
+            Context ctx = new InitialContext();
+            DataSource replica = InstrumentedDataSource.wrap("replica",
+                    (DataSource) ctx.lookup("java:comp/env/jdbc/MyDBReplica"));
+            AccessLog.event("db.replica", "읽기 복제본 사용: jdbc/MyDBReplica");
+            return replica;
+        } catch (NamingException e) {
+            return null; // 복제본 미설정 → primary 만 사용
+        }
     }
 
     /**
@@ -91,4 +130,15 @@ public class DB {
     public static DataSource getDataSource() {
         return ds;
     }
+
+    /**
+     * 읽기 전용 DataSource 접근자 (목록/상세/개수 조회용)
+     *
+     * - 복제본이 설정되어 있으면 복제본 커넥션(read-only)을 준다.
+     * - 방금 쓴 클라이언트(ReadAfterWrite), 복제본 장애 시에는 primary 커넥션을 준다.
+     * - 쓰기에 사용하면 안 된다. (복제본은 read-only)
+     */
+    public static ReplicaDataSource getReadDataSource() {
+        return readDs;
+    }
 }
@@ -0,0 +1,69 @@
+package localhost.myapp.common;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 날짜/시간 표시 헬퍼
+ *
+ * - DB 의 reg_date 는 DAO 에서 Instant 로 읽는다. (문자열로 들고 다니지 않음)
+ * - 화면(JSP)과 JSON 에는 예전과 같은 "yyyy-MM-dd HH:mm:ss" (서버 시간대) 형식으로 내보낸다.
+ *   → 클라이언트(board.js)가 보던 형식이 바뀌지 않는다.
+ */
+public final class Dates {
+
+    /** 표시용 시간대 (서버 기본 시간대 = DB 세션 시간대와 같다고 가정) */
+    public static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZONE);
+
+    /** Gson 용 Instant 변환기 (new GsonBuilder().registerTypeAdapter(Instant.class, Dates.GSON_ADAPTER)) */
+    public static final TypeAdapter<Instant> GSON_ADAPTER = new TypeAdapter<Instant>() {
+
+        @Override
+        public void write(JsonWriter out, Instant value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else {
+                out.value(format(value));
+            }
+        }
+
+        @Override
+        public Instant read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return parse(in.nextString());
+        }
+    };
+
+    private Dates() {
+    }
+
+    /** Instant → "yyyy-MM-dd HH:mm:ss" (null 이면 null) */
+    public static String format(Instant t) {
+        return t == null ? null : FORMAT.format(t);
+    }
+
+    /** "yyyy-MM-dd HH:mm:ss" 또는 ISO-8601(2025-01-01T00:00:00Z) → Instant */
+    public static Instant parse(String s) {
+        if (s == null || s.isEmpty()) {
+            return null;
+        }
+        if (s.endsWith("Z")) {
+            return Instant.parse(s);
+        }
+        return LocalDateTime.parse(s.replace('T', ' '), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+                .atZone(ZONE).toInstant();
+    }
+}
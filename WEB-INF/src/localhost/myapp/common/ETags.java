@@ -0,0 +1,100 @@
+package localhost.myapp.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP ETag / If-Match / If-None-Match 헬퍼
+ *
+ * 용어
+ * - opaque : 따옴표 안의 실제 값 (예: b12-v3)
+ * - 헤더 값 : "b12-v3" 또는 W/"b12-v3" 또는 "a", "b" 처럼 여러 개, 또는 *
+ *
+ * 비교는 약한 비교(weak comparison)로 한다.
+ * - gzip 필터 등이 ETag 앞에 W/ 를 붙여도 같은 태그로 본다.
+ *
+ * 조건부 GET 사용 예 (응답 본문을 만들기 전에 호출)
+ *
+ * <pre>
+ * if (ETags.notModified(req, resp, "bl-" + stamp)) {
+ *     return; // 304, 본문 없음
+ * }
+ * </pre>
+ */
+public final class ETags {
+
+    /** If-Match: * / If-None-Match: * (어떤 버전이든) */
+    public static final String ANY = "*";
+
+    private ETags() {
+    }
+
+    /** opaque → 헤더에 넣을 강한 ETag 값 ("...") */
+    public static String quote(String opaque) {
+        return "\"" + opaque + "\"";
+    }
+
+    /**
+     * If-Match / If-None-Match 헤더 → opaque 목록
+     * - W/ 접두어와 따옴표 제거
+     * - * 는 ANY 하나로 반환
+     * - 헤더가 없거나 비어 있으면 빈 목록
+     */
+    public static List<String> parse(String header) {
+
+        List<String> tags = new ArrayList<>();
+        if (header == null) {
+            return tags;
+        }
+
+        for (String part : header.split(",")) {
+            String t = part.trim();
+            if (t.isEmpty()) {
+                continue;
+            }
+            if (ANY.equals(t)) {
+                tags.add(ANY);
+                continue;
+            }
+            if (t.startsWith("W/")) {
+                t = t.substring(2);
+            }
+            if (t.length() >= 2 && t.startsWith("\"") && t.endsWith("\"")) {
+                t = t.substring(1, t.length() - 1);
+            }
+            tags.add(t);
+        }
+        return tags;
+    }
+
+    /**
+     * 조건부 GET 처리
+     * - 응답에 ETag + Cache-Control(private, no-cache: 매번 서버에 재검증) 설정
+     * - If-None-Match 가 일치하면 304 Not Modified 로 응답하고 true
+     *   → 호출한 쪽은 JSON/JSP 를 만들지 말고 바로 return
+     */
+    public static boolean notModified(HttpServletRequest req, HttpServletResponse resp, String opaque) {
+
+        resp.setHeader("ETag", quote(opaque));
+        resp.setHeader("Cache-Control", "private, no-cache");
+
+        if (matches(req.getHeader("If-None-Match"), opaque)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /** 헤더에 opaque 가 있는지 (* 도 일치로 본다) */
+    public static boolean matches(String header, String opaque) {
+        for (String t : parse(header)) {
+            if (ANY.equals(t) || t.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package localhost.myapp.common;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.dto.ServiceResult;
+import localhost.myapp.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+
+/**
+ * 공용 JSON 변환 (애플리케이션 전체가 Gson 하나를 공유)
+ *
+ * 왜 필요한가
+ * - 서블릿마다 new Gson() 을 만들면 타입별 어댑터 캐시도 서블릿마다 따로 생긴다.
+ * - gson.toJson(body) 는 응답 전체를 String 으로 만든 뒤 다시 Writer 로 복사한다.
+ *   → 목록이 크면 큰 문자열이 한 번 더 생긴다.
+ * - 리플렉션 어댑터는 필드마다 Field.get() 을 호출한다.
+ *
+ * 그래서
+ * - Board / User / GoogleNews / ServiceResult / 페이지 DTO 는 직접 작성한 어댑터로 쓴다. (JsonAdapters)
+ * - write() 는 JsonWriter 로 응답 Writer 에 바로 쓴다. (중간 String 없음)
+ *
+ * 사용 예
+ *
+ * <pre>
+ * Json.write(resp, 200, ServiceResult.ok(list));
+ * </pre>
+ */
+public final class Json {
+
+    /** 공용 Gson (스레드 안전, 어댑터 캐시 공유) */
+    public static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new JsonAdapters())
+            .registerTypeAdapter(Instant.class, Dates.GSON_ADAPTER)
+            .create();
+
+    private Json() {
+    }
+
+    /**
+     * 상태코드 + JSON 응답 (응답 Writer 로 바로 출력)
+     * - 실패 ServiceResult 는 Metrics 에 code/상태별로 센다. (/metrics)
+     */
+    public static void write(HttpServletResponse resp, int status, Object body) throws IOException {
+        if (body instanceof ServiceResult && !((ServiceResult) body).success) {
+            Metrics.failure(status, ((ServiceResult) body).code);
+        }
+        resp.setStatus(status);
+        resp.setContentType("application/json; charset=UTF-8");
+
+        JsonWriter out = GSON.newJsonWriter(resp.getWriter());
+        write(out, body);
+        out.flush();
+    }
+
+    /**
+     * Writer 에 값 하나를 JSON 으로 출력 (flush 하지 않음, NDJSON 처럼 여러 번 이어 쓸 때)
+     */
+    public static void write(Writer writer, Object value) throws IOException {
+        write(GSON.newJsonWriter(writer), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        TypeAdapter<Object> adapter = (TypeAdapter<Object>) GSON.getAdapter(value.getClass());
+        adapter.write(out, value);
+    }
+}
@@ -0,0 +1,492 @@
+package localhost.myapp.common;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import localhost.myapp.board.Board;
+import localhost.myapp.board.BoardPage;
+import localhost.myapp.board.BoardSearchPage;
+import localhost.myapp.dto.ServiceResult;
+import localhost.myapp.news.GoogleNews;
+import localhost.myapp.news.NewsArchivePage;
+import localhost.myapp.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * API 응답 DTO 전용 TypeAdapter 모음 (리플렉션 없이 필드를 직접 읽고 쓴다)
+ *
+ * - 필드 이름/순서는 예전 리플렉션 출력과 같다. (클라이언트 JSON 형식 유지)
+ * - null 필드는 쓰지 않는다. (Gson 기본값과 동일, JsonWriter 의 serializeNulls=false)
+ * - DTO 에 필드를 추가하면 여기 write/read 에도 추가해야 JSON 에 나온다.
+ *
+ * 예외
+ * - User.password 는 응답에 절대 내보내지 않는다. (읽기만 허용)
+ */
+final class JsonAdapters implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+
+        Class<? super T> raw = type.getRawType();
+        TypeAdapter<?> adapter;
+
+        if (raw == Board.class) {
+            adapter = new BoardAdapter();
+        } else if (raw == User.class) {
+            adapter = new UserAdapter();
+        } else if (raw == GoogleNews.class) {
+            adapter = new NewsAdapter();
+        } else if (raw == ServiceResult.class) {
+            adapter = new ServiceResultAdapter(gson);
+        } else if (raw == BoardPage.class) {
+            adapter = new BoardPageAdapter(gson.getAdapter(Board.class));
+        } else if (raw == BoardSearchPage.class) {
+            adapter = new SearchPageAdapter(gson.getAdapter(BoardSearchPage.Item.class));
+        } else if (raw == BoardSearchPage.Item.class) {
+            adapter = new SearchItemAdapter();
+        } else if (raw == NewsArchivePage.class) {
+            adapter = new NewsPageAdapter(gson.getAdapter(GoogleNews.class));
+        } else {
+            return null; // 나머지는 Gson 기본 처리
+        }
+
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+
+    // ===== Board =====
+
+    /** { idx, title, content, excerpt, regDate, fk_user_id, version } */
+    static final class BoardAdapter extends TypeAdapter<Board> {
+
+        @Override
+        public void write(JsonWriter out, Board b) throws IOException {
+            out.beginObject();
+            out.name("idx").value(b.idx);
+            out.name("title").value(b.title);
+            out.name("content").value(b.content);
+            out.name("excerpt").value(b.excerpt);
+            out.name("regDate").value(Dates.format(b.regDate));
+            out.name("fk_user_id").value(b.fk_user_id);
+            out.name("version").value(b.version);
+            out.endObject();
+        }
+
+        @Override
+        public Board read(JsonReader in) throws IOException {
+            Board b = new Board();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "idx":
+                        b.idx = in.nextInt();
+                        break;
+                    case "title":
+                        b.title = nextString(in);
+                        break;
+                    case "content":
+                        b.content = nextString(in);
+                        break;
+                    case "excerpt":
+                        b.excerpt = nextString(in);
+                        break;
+                    case "regDate":
+                        b.regDate = Dates.parse(nextString(in));
+                        break;
+                    case "fk_user_id":
+                        b.fk_user_id = nextString(in);
+                        break;
+                    case "version":
+                        b.version = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return b;
+        }
+    }
+
+    // ===== User =====
+
+    /** { idx, id, email, regDate } (password 는 쓰지 않음) */
+    static final class UserAdapter extends TypeAdapter<User> {
+
+        @Override
+        public void write(JsonWriter out, User u) throws IOException {
+            out.beginObject();
+            out.name("idx").value(u.idx);
+            out.name("id").value(u.id);
+            out.name("email").value(u.email);
+            out.name("regDate").value(Dates.format(u.regDate));
+            out.endObject();
+        }
+
+        @Override
+        public User read(JsonReader in) throws IOException {
+            User u = new User();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "idx":
+                        u.idx = in.nextInt();
+                        break;
+                    case "id":
+                        u.id = nextString(in);
+                        break;
+                    case "password":
+                        u.password = nextString(in);
+                        break;
+                    case "email":
+                        u.email = nextString(in);
+                        break;
+                    case "regDate":
+                        u.regDate = Dates.parse(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return u;
+        }
+    }
+
+    // ===== GoogleNews =====
+
+    /** { title, link, pubDate, source } */
+    static final class NewsAdapter extends TypeAdapter<GoogleNews> {
+
+        @Override
+        public void write(JsonWriter out, GoogleNews n) throws IOException {
+            out.beginObject();
+            out.name("title").value(n.title);
+            out.name("link").value(n.link);
+            out.name("pubDate").value(n.pubDate);
+            out.name("source").value(n.source);
+            out.endObject();
+        }
+
+        @Override
+        public GoogleNews read(JsonReader in) throws IOException {
+            GoogleNews n = new GoogleNews();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title":
+                        n.title = nextString(in);
+                        break;
+                    case "link":
+                        n.link = nextString(in);
+                        break;
+                    case "pubDate":
+                        n.pubDate = nextString(in);
+                        break;
+                    case "source":
+                        n.source = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return n;
+        }
+    }
+
+    // ===== ServiceResult =====
+
+    /**
+     * { success, message, data, idx, code }
+     * - data 는 실제 타입의 어댑터로 쓴다. (Board, List&lt;Board&gt;, BoardPage, Map ...)
+     * - 읽을 때 data 는 JsonElement 로 둔다. (타입 정보가 없으므로)
+     */
+    static final class ServiceResultAdapter extends TypeAdapter<ServiceResult> {
+
+        private final Gson gson;
+
+        ServiceResultAdapter(Gson gson) {
+            this.gson = gson;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(JsonWriter out, ServiceResult r) throws IOException {
+            out.beginObject();
+            out.name("success").value(r.success);
+            out.name("message").value(r.message);
+            if (r.data != null) {
+                out.name("data");
+                TypeAdapter<Object> a = (TypeAdapter<Object>) gson.getAdapter(r.data.getClass());
+                a.write(out, r.data);
+            }
+            out.name("idx").value(r.idx);
+            out.name("code").value(r.code);
+            out.endObject();
+        }
+
+        @Override
+        public ServiceResult read(JsonReader in) throws IOException {
+            ServiceResult r = new ServiceResult();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success":
+                        r.success = in.nextBoolean();
+                        break;
+                    case "message":
+                        r.message = nextString(in);
+                        break;
+                    case "data":
+                        r.data = gson.getAdapter(JsonElement.class).read(in);
+                        break;
+                    case "idx":
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                        } else {
+                            r.idx = in.nextInt();
+                        }
+                        break;
+                    case "code":
+                        r.code = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return r;
+        }
+    }
+
+    // ===== 페이지 DTO =====
+
+    /** { items: [Board], nextCursor, hasNext } */
+    static final class BoardPageAdapter extends TypeAdapter<BoardPage> {
+
+        private final TypeAdapter<Board> boards;
+
+        BoardPageAdapter(TypeAdapter<Board> boards) {
+            this.boards = boards;
+        }
+
+        @Override
+        public void write(JsonWriter out, BoardPage p) throws IOException {
+            out.beginObject();
+            if (p.items != null) {
+                out.name("items");
+                writeList(out, p.items, boards);
+            }
+            out.name("nextCursor").value(p.nextCursor);
+            out.name("hasNext").value(p.hasNext);
+            out.endObject();
+        }
+
+        @Override
+        public BoardPage read(JsonReader in) throws IOException {
+            BoardPage p = new BoardPage();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "items":
+                        p.items = readList(in, boards);
+                        break;
+                    case "nextCursor":
+                        p.nextCursor = nextString(in);
+                        break;
+                    case "hasNext":
+                        p.hasNext = in.nextBoolean();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return p;
+        }
+    }
+
+    /** { items: [Item], total, nextCursor, hasNext } */
+    static final class SearchPageAdapter extends TypeAdapter<BoardSearchPage> {
+
+        private final TypeAdapter<BoardSearchPage.Item> items;
+
+        SearchPageAdapter(TypeAdapter<BoardSearchPage.Item> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void write(JsonWriter out, BoardSearchPage p) throws IOException {
+            out.beginObject();
+            if (p.items != null) {
+                out.name("items");
+                writeList(out, p.items, items);
+            }
+            out.name("total").value(p.total);
+            out.name("nextCursor").value(p.nextCursor);
+            out.name("hasNext").value(p.hasNext);
+            out.endObject();
+        }
+
+        @Override
+        public BoardSearchPage read(JsonReader in) throws IOException {
+            BoardSearchPage p = new BoardSearchPage();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "items":
+                        p.items = readList(in, items);
+                        break;
+                    case "total":
+                        p.total = in.nextInt();
+                        break;
+                    case "nextCursor":
+                        p.nextCursor = nextString(in);
+                        break;
+                    case "hasNext":
+                        p.hasNext = in.nextBoolean();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return p;
+        }
+    }
+
+    /** { idx, title, snippet, fk_user_id, regDate, score } */
+    static final class SearchItemAdapter extends TypeAdapter<BoardSearchPage.Item> {
+
+        @Override
+        public void write(JsonWriter out, BoardSearchPage.Item it) throws IOException {
+            out.beginObject();
+            out.name("idx").value(it.idx);
+            out.name("title").value(it.title);
+            out.name("snippet").value(it.snippet);
+            out.name("fk_user_id").value(it.fk_user_id);
+            out.name("regDate").value(Dates.format(it.regDate));
+            out.name("score").value(it.score);
+            out.endObject();
+        }
+
+        @Override
+        public BoardSearchPage.Item read(JsonReader in) throws IOException {
+            BoardSearchPage.Item it = new BoardSearchPage.Item();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "idx":
+                        it.idx = in.nextInt();
+                        break;
+                    case "title":
+                        it.title = nextString(in);
+                        break;
+                    case "snippet":
+                        it.snippet = nextString(in);
+                        break;
+                    case "fk_user_id":
+                        it.fk_user_id = nextString(in);
+                        break;
+                    case "regDate":
+                        it.regDate = Dates.parse(nextString(in));
+                        break;
+                    case "score":
+                        it.score = in.nextDouble();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return it;
+        }
+    }
+
+    /** { items: [GoogleNews], nextCursor, hasNext } */
+    static final class NewsPageAdapter extends TypeAdapter<NewsArchivePage> {
+
+        private final TypeAdapter<GoogleNews> news;
+
+        NewsPageAdapter(TypeAdapter<GoogleNews> news) {
+            this.news = news;
+        }
+
+        @Override
+        public void write(JsonWriter out, NewsArchivePage p) throws IOException {
+            out.beginObject();
+            if (p.items != null) {
+                out.name("items");
+                writeList(out, p.items, news);
+            }
+            out.name("nextCursor").value(p.nextCursor);
+            out.name("hasNext").value(p.hasNext);
+            out.endObject();
+        }
+
+        @Override
+        public NewsArchivePage read(JsonReader in) throws IOException {
+            NewsArchivePage p = new NewsArchivePage();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "items":
+                        p.items = readList(in, news);
+                        break;
+                    case "nextCursor":
+                        p.nextCursor = nextString(in);
+                        break;
+                    case "hasNext":
+                        p.hasNext = in.nextBoolean();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return p;
+        }
+    }
+
+    // ===== 공통 =====
+
+    /** 문자열 또는 null */
+    static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+        out.beginArray();
+        for (T v : list) {
+            adapter.write(out, v);
+        }
+        out.endArray();
+    }
+
+    static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(adapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+}
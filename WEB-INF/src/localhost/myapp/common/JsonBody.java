@@ -0,0 +1,252 @@
+package localhost.myapp.common;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import jakarta.servlet.http.HttpServletRequest;
+import localhost.myapp.dto.ServiceResult;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 요청 body(JSON) → 명령 객체 바인딩 (JsonObject 트리를 만들지 않음)
+ *
+ * - 요청 스트림을 JsonReader 로 읽으면서 바로 CreateBoard / Login 같은 객체에 채운다.
+ * - body 크기 제한: Content-Length 로 먼저 거르고, 없으면(chunked) 읽는 도중 초과 시 중단
+ * - 중첩 깊이 제한: 모르는 필드를 건너뛸 때도 깊이를 센다. ([[[[...]]]] 같은 입력 차단)
+ * - 결과는 기존 readJson 과 같이 ServiceResult (성공 시 data = 명령 객체)
+ *
+ * 사용 예
+ *
+ * <pre>
+ * ServiceResult jr = JsonBody.read(req, 64 * 1024, CreateBoard::read);
+ * if (!jr.success) { ... 400 / 413 ... }
+ * CreateBoard cmd = (CreateBoard) jr.data;
+ * </pre>
+ */
+public final class JsonBody {
+
+    /** 기본 최대 중첩 깊이 (명령 객체는 2~3 단계면 충분) */
+    public static final int MAX_DEPTH = 8;
+
+    /** 명령 객체 읽기 함수 */
+    @FunctionalInterface
+    public interface Binder<T> {
+        T read(Reader in) throws IOException;
+    }
+
+    /** 바인딩 중 검증 실패 (메시지를 그대로 400 응답에 사용) */
+    public static final class Invalid extends IOException {
+        public Invalid(String message) {
+            super(message);
+        }
+    }
+
+    /** 크기 초과 (413) */
+    private static final class TooLarge extends IOException {
+        TooLarge() {
+            super("요청 body 가 너무 큽니다.");
+        }
+    }
+
+    private JsonBody() {
+    }
+
+    /**
+     * 요청 body 를 읽어 명령 객체로 변환
+     *
+     * @param maxBytes body 최대 바이트 수
+     * @return 성공: ok(명령 객체) / 실패: fail(메시지), 크기 초과는 code = TOO_LARGE
+     */
+    public static <T> ServiceResult read(HttpServletRequest req, long maxBytes, Binder<T> binder)
+            throws IOException {
+
+        // 1. Content-Type 검사
+        String contentType = req.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith("application/json")) {
+            return ServiceResult.fail("Content-Type 은 application/json 이어야 합니다.");
+        }
+
+        // 2. 크기 검사 (Content-Length 가 있으면 읽기 전에)
+        if (req.getContentLengthLong() > maxBytes) {
+            return ServiceResult.fail(ServiceResult.TOO_LARGE, "요청 body 가 너무 큽니다. (최대 " + maxBytes + " bytes)");
+        }
+
+        // 3. 스트림에서 바로 바인딩 (JSON 은 항상 UTF-8)
+        JsonReader jr = new JsonReader(new InputStreamReader(
+                new LimitedInputStream(req.getInputStream(), maxBytes), StandardCharsets.UTF_8));
+
+        try {
+            try {
+                jr.peek();
+            } catch (java.io.EOFException e) {
+                return ServiceResult.fail("요청 body 가 비어 있습니다.");
+            }
+
+            T command = binder.read(new Reader(jr, MAX_DEPTH));
+
+            if (jr.peek() != JsonToken.END_DOCUMENT) {
+                return ServiceResult.fail("잘못된 JSON 형식입니다. (값 뒤에 내용이 더 있음)");
+            }
+            return ServiceResult.ok(command);
+
+        } catch (TooLarge e) {
+            return ServiceResult.fail(ServiceResult.TOO_LARGE, "요청 body 가 너무 큽니다. (최대 " + maxBytes + " bytes)");
+
+        } catch (Invalid e) {
+            return ServiceResult.fail(e.getMessage());
+
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            // 문법 오류 / 형식 불일치 (문자열 자리에 객체 등)
+            return ServiceResult.fail("잘못된 JSON 형식입니다.");
+
+        } catch (java.io.EOFException e) {
+            return ServiceResult.fail("잘못된 JSON 형식입니다. (body 가 중간에 끝남)");
+        }
+    }
+
+    /**
+     * 깊이를 세는 JsonReader 래퍼 (명령 객체의 read 에서 사용)
+     */
+    public static final class Reader {
+
+        private final JsonReader in;
+        private final int maxDepth;
+        private int depth;
+
+        Reader(JsonReader in, int maxDepth) {
+            this.in = in;
+            this.maxDepth = maxDepth;
+        }
+
+        public JsonToken peek() throws IOException {
+            return in.peek();
+        }
+
+        /** 다음 값이 객체가 아니면 Invalid (body 최상위 형식 검사) */
+        public void expectObject() throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new Invalid("JSON 객체 형식의 body 가 필요합니다. (예: {\"id\":\"user\"})");
+            }
+        }
+
+        /** 다음 값이 배열이 아니면 Invalid */
+        public void expectArray() throws IOException {
+            if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new Invalid("JSON 배열 형식의 body 가 필요합니다. (예: [{\"title\":\"...\",\"content\":\"...\"}])");
+            }
+        }
+
+        public void beginObject() throws IOException {
+            enter();
+            in.beginObject();
+        }
+
+        public void endObject() throws IOException {
+            in.endObject();
+            depth--;
+        }
+
+        public void beginArray() throws IOException {
+            enter();
+            in.beginArray();
+        }
+
+        public void endArray() throws IOException {
+            in.endArray();
+            depth--;
+        }
+
+        public boolean hasNext() throws IOException {
+            return in.hasNext();
+        }
+
+        public String nextName() throws IOException {
+            return in.nextName();
+        }
+
+        /** 문자열 (숫자/불리언도 문자열로, null 은 null) */
+        public String nextString() throws IOException {
+            switch (in.peek()) {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case BOOLEAN:
+                    return String.valueOf(in.nextBoolean());
+                default:
+                    return in.nextString(); // 객체/배열이면 IllegalStateException
+            }
+        }
+
+        /** 정수 (null 이면 null) */
+        public Integer nextInteger() throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return in.nextInt();
+        }
+
+        /** 모르는 값 건너뛰기 (객체/배열이면 깊이 제한을 지키며) */
+        public void skipValue() throws IOException {
+            switch (in.peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    while (hasNext()) {
+                        in.nextName();
+                        skipValue();
+                    }
+                    endObject();
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    while (hasNext()) {
+                        skipValue();
+                    }
+                    endArray();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        private void enter() throws Invalid {
+            if (++depth > maxDepth) {
+                throw new Invalid("JSON 중첩이 너무 깊습니다. (최대 " + maxDepth + ")");
+            }
+        }
+    }
+
+    /** 최대 바이트를 넘으면 TooLarge 를 던지는 InputStream */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long max) {
+            super(in);
+            this.remaining = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --remaining < 0) {
+                throw new TooLarge();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0 && (remaining -= n) < 0) {
+                throw new TooLarge();
+            }
+            return n;
+        }
+    }
+}
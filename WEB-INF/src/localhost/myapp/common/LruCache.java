@@ -0,0 +1,210 @@
+package localhost.myapp.common;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 크기 제한 + 만료시간(TTL)을 가진 LRU 캐시
+ *
+ * 특징
+ * - maxSize 를 넘으면 가장 오래 사용하지 않은 항목부터 제거 (LinkedHashMap access-order)
+ * - 항목마다 만료 시각을 가지며, 만료된 항목은 조회 시점에 버린다
+ * - 조회 결과가 없음(null)도 캐싱할 수 있다 (negativeTtlMs, 404 반복 조회 방지)
+ * - hit / miss / eviction 카운터 제공
+ *
+ * 스레드 안전
+ * - 내부 Map 접근은 synchronized 로 보호 (임계 구역은 Map 연산뿐이라 짧다)
+ * - DB 조회(loader)는 락 밖에서 실행 → 느린 조회가 다른 키 조회를 막지 않는다
+ *   (같은 키를 동시에 처음 조회하면 loader 가 여러 번 실행될 수 있다)
+ * - remove()/clear() 는 세대(generation)를 올린다. loader 실행 중에 세대가 바뀌었으면
+ *   읽어 온 값은 무효화 전의 값일 수 있으므로 반환만 하고 저장하지 않는다.
+ *   (세대는 키 해시로 나눈 GENERATION_STRIPES 개 칸에 둔다 → 키마다 기록을 남기지 않아 메모리가 늘지 않음,
+ *    같은 칸의 다른 키가 무효화돼도 저장을 건너뛸 뿐 틀린 값이 남지는 않는다)
+ *
+ * 주의
+ * - 캐시된 객체는 여러 요청이 공유하므로 꺼내 쓴 쪽에서 값을 바꾸면 안 된다.
+ */
+public class LruCache<K, V> {
+
+    /** 캐시 미스 시 실제 값을 읽어오는 함수 (보통 DAO 호출) */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    /** 캐시 항목 (value == null 이면 "없음"을 캐싱한 것) */
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** 세대 칸 수 (2의 거듭제곱) */
+    private static final int GENERATION_STRIPES = 64;
+
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    /** 칸별 세대 (remove 가 올림, map 락으로 보호) */
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    /** 전체 세대 (clear 가 올림, map 락으로 보호) */
+    private long epoch;
+
+    /**
+     * @param name          캐시 이름 (통계 출력용)
+     * @param maxSize       최대 항목 수
+     * @param ttlMs         값이 있는 항목의 유지 시간
+     * @param negativeTtlMs 값이 없는(null) 결과의 유지 시간 (0 이면 캐싱하지 않음)
+     */
+    public LruCache(String name, int maxSize, long ttlMs, long negativeTtlMs) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+
+        // accessOrder=true → get() 할 때마다 맨 뒤로 이동 (LRU)
+        this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시 조회 → 없거나 만료되었으면 loader 로 읽어서 저장 (read-through)
+     *
+     * @return 캐시 또는 loader 가 돌려준 값 (없으면 null)
+     */
+    public V get(K key, Loader<V> loader) throws SQLException {
+        return get(key, loader, true);
+    }
+
+    /**
+     * 캐시 조회 → 없거나 만료되었으면 loader 로 읽음
+     *
+     * @param store false 면 읽은 값을 저장하지 않음 (복제 지연 중이라 옛 값일 수 있을 때 등)
+     */
+    public V get(K key, Loader<V> loader, boolean store) throws SQLException {
+
+        long now = System.currentTimeMillis();
+        long generation;
+
+        synchronized (map) {
+            Entry<V> e = map.get(key);
+            if (e != null) {
+                if (e.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return e.value;
+                }
+                map.remove(key); // 만료된 항목 제거
+            }
+            generation = generation(key);
+        }
+
+        misses.incrementAndGet();
+
+        // 락 밖에서 DB 조회
+        V value = loader.load();
+        if (store) {
+            store(key, value, generation);
+        }
+        return value;
+    }
+
+    /** 값 저장 (null 이면 negativeTtlMs 동안 "없음"으로 저장) */
+    public void put(K key, V value) {
+        store(key, value, -1);
+    }
+
+    /** 저장 (generation >= 0 이면 그 세대가 그대로일 때만) */
+    private void store(K key, V value, long generation) {
+        long ttl = value != null ? ttlMs : negativeTtlMs;
+        if (ttl <= 0) {
+            return;
+        }
+
+        Entry<V> e = new Entry<>(value, System.currentTimeMillis() + ttl);
+        synchronized (map) {
+            if (generation >= 0 && generation != generation(key)) {
+                return; // 조회 중에 무효화됨 → 옛 값일 수 있으므로 저장하지 않음
+            }
+            map.put(key, e);
+        }
+    }
+
+    /** 항목 하나 제거 (수정/삭제 시 무효화) */
+    public void remove(K key) {
+        synchronized (map) {
+            map.remove(key);
+            generations[stripe(key)]++;
+        }
+    }
+
+    /** 전체 비우기 (목록 캐시처럼 어떤 항목이 영향을 받는지 알기 어려울 때) */
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+            epoch++;
+        }
+    }
+
+    /** 키의 현재 세대 (둘 다 늘기만 하므로 합이 같으면 어느 쪽도 바뀌지 않은 것, map 락 안에서 호출) */
+    private long generation(K key) {
+        return epoch + generations[stripe(key)];
+    }
+
+    private static int stripe(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    // ---------------------- 통계 ----------------------
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return name + "{size=" + size() + ", hits=" + getHits()
+                + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "}";
+    }
+}
@@ -0,0 +1,266 @@
+package localhost.myapp.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 완성된 응답 바이트 캐시 (직렬화 + UTF-8 인코딩 + gzip 결과를 그대로 보관)
+ *
+ * 왜 필요한가
+ * - 데이터가 그대로여도 인기 목록/상세 요청마다 JSON 직렬화 → UTF-8 인코딩 → gzip 압축을 다시 한다.
+ * - 결과 바이트를 보관해 두면 ServletOutputStream.write() 한 번으로 끝난다.
+ *
+ * 키
+ * - (경로, 파라미터, 데이터 버전) 을 합친 문자열. 예: "list?page=1&size=10@" + 변경 스탬프
+ * - 데이터 버전이 키에 들어 있으므로 글이 바뀌면 예전 항목은 다시 쓰이지 않는다.
+ *   (BoardService 가 변경 시 clear() 를 호출해 메모리도 바로 돌려준다)
+ *
+ * 메모리
+ * - 항목 수가 아니라 바이트 수(maxBytes)로 제한하고, 넘으면 LRU 순서로 제거한다.
+ * - maxEntryBytes 보다 큰 응답은 캐싱하지 않는다. (큰 항목 하나가 캐시를 비우지 않도록)
+ * - ttlMs 가 지나면 버린다. (다른 서버/도구가 DB 를 직접 바꿔 스탬프가 안 바뀐 경우 대비)
+ *
+ * gzip
+ * - GZIP_MIN_SIZE 이상이면 저장할 때 한 번 압축해 같이 보관한다.
+ * - Accept-Encoding: gzip 요청에는 압축본을 Content-Encoding: gzip 으로 바로 보낸다.
+ *   (CompressionFilter 는 Content-Encoding 이 있는 응답을 건드리지 않는다)
+ */
+public class ResponseCache {
+
+    /** 이 크기 이상이면 gzip 본도 만들어 둔다 (CompressionFilter minSize 와 같은 기준) */
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    /** 항목 하나의 고정 비용 추정치 (키, Entry 객체, 배열 헤더) */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /** 응답 본문 작성 함수 (Writer 는 UTF-8) */
+    @FunctionalInterface
+    public interface Body {
+        void write(Writer out) throws IOException;
+    }
+
+    /** 캐시 항목 (불변) */
+    public static final class Entry {
+        final byte[] body;
+        final byte[] gzip; // null 이면 압축본 없음
+        final String contentType;
+        final String etag; // opaque 값 (따옴표 없음), null 가능
+        final long expiresAt;
+
+        Entry(byte[] body, byte[] gzip, String contentType, String etag, long expiresAt) {
+            this.body = body;
+            this.gzip = gzip;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        int weight(String key) {
+            return body.length + (gzip == null ? 0 : gzip.length) + key.length() * 2 + ENTRY_OVERHEAD;
+        }
+    }
+
+    private final String name;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final long ttlMs;
+
+    private long usedBytes; // map 과 함께 synchronized(this) 로 보호
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** accessOrder=true → get() 할 때마다 맨 뒤로 (LRU) */
+    private final LinkedHashMap<String, Entry> map = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * @param name          캐시 이름 (통계 출력용)
+     * @param maxBytes      전체 메모리 한도 (바이트)
+     * @param maxEntryBytes 항목 하나의 최대 크기 (넘으면 캐싱하지 않음)
+     * @param ttlMs         항목 유지 시간
+     */
+    public ResponseCache(String name, long maxBytes, int maxEntryBytes, long ttlMs) {
+        this.name = name;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.ttlMs = ttlMs;
+    }
+
+    /** 캐시 조회 (없으면 null) */
+    public Entry get(String key) {
+        Entry e;
+        synchronized (this) {
+            e = map.get(key);
+            if (e != null && e.expiresAt <= System.currentTimeMillis()) {
+                map.remove(key); // 만료
+                usedBytes -= e.weight(key);
+                e = null;
+            }
+        }
+        if (e == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return e;
+    }
+
+    /**
+     * 본문을 바이트로 만들어 캐시에 넣고 반환 (직렬화/압축은 락 밖에서)
+     *
+     * @param etag 이 응답의 ETag opaque 값 (없으면 null)
+     */
+    public Entry put(String key, String contentType, String etag, Body body) throws IOException {
+
+        Entry e = build(contentType, etag, body);
+
+        int weight = e.weight(key);
+        if (weight > maxEntryBytes) {
+            return e; // 너무 큼 → 이번 응답에만 사용
+        }
+
+        synchronized (this) {
+            Entry old = map.put(key, e);
+            if (old != null) {
+                usedBytes -= old.weight(key);
+            }
+            usedBytes += weight;
+
+            // 한도를 넘으면 가장 오래 쓰지 않은 항목부터 제거
+            Iterator<Map.Entry<String, Entry>> it = map.entrySet().iterator();
+            while (usedBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                usedBytes -= eldest.getValue().weight(eldest.getKey());
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return e;
+    }
+
+    /** 본문을 바이트로 만들기만 하고 캐시에는 넣지 않음 (이번 응답에만 사용) */
+    public Entry build(String contentType, String etag, Body body) throws IOException {
+
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(4096);
+        try (Writer w = new OutputStreamWriter(buf, StandardCharsets.UTF_8)) {
+            body.write(w);
+        }
+        byte[] bytes = buf.toByteArray();
+
+        return new Entry(bytes, bytes.length >= GZIP_MIN_SIZE ? gzip(bytes) : null, contentType, etag,
+                System.currentTimeMillis() + ttlMs);
+    }
+
+    /** 전체 비우기 (데이터 변경 시) */
+    public synchronized void clear() {
+        map.clear();
+        usedBytes = 0;
+    }
+
+    /** 특정 접두어 키만 비우기 (예: "detail/3@") */
+    public synchronized void removePrefix(String prefix) {
+        Iterator<Map.Entry<String, Entry>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            if (e.getKey().startsWith(prefix)) {
+                usedBytes -= e.getValue().weight(e.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 캐시 항목을 응답으로 출력 (write 한 번)
+     * - gzip 본이 있고 클라이언트가 받을 수 있으면 압축본 + 약한 ETag
+     */
+    public static void write(HttpServletRequest req, HttpServletResponse resp, int status, Entry e)
+            throws IOException {
+
+        resp.setStatus(status);
+        resp.setContentType(e.contentType);
+
+        byte[] out = e.body;
+        if (e.gzip != null) {
+            resp.addHeader("Vary", "Accept-Encoding");
+            if (acceptsGzip(req.getHeader("Accept-Encoding"))) {
+                out = e.gzip;
+                resp.setHeader("Content-Encoding", "gzip");
+                if (e.etag != null) {
+                    resp.setHeader("ETag", "W/" + ETags.quote(e.etag)); // 표현이 다르므로 약한 ETag
+                }
+            }
+        }
+
+        resp.setContentLength(out.length);
+        resp.getOutputStream().write(out);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return localhost.myapp.filter.CompressionFilter.acceptsGzip(acceptEncoding);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(buf, 8192) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION); // 한 번만 압축하므로 최대 압축
+            }
+        }) {
+            gz.write(data);
+        }
+        return buf.toByteArray();
+    }
+
+    // ===== 통계 =====
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: entries=%d, used=%dKB/%dKB, hits=%d, misses=%d, evictions=%d",
+                name, size(), getUsedBytes() / 1024, maxBytes / 1024, getHits(), getMisses(), getEvictions());
+    }
+}
@@ -0,0 +1,76 @@
+package localhost.myapp.common.auth;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 로그인 상태 (HttpSession 대신 서명한 토큰, AuthToken)
+ *
+ * - 로그인 성공 → login() : 토큰을 auth 쿠키로 내려준다. (API 는 응답 data 의 token 을 Bearer 헤더로 써도 된다)
+ * - 요청마다 AuthFilter 가 쿠키 또는 "Authorization: Bearer ..." 를 검증해서
+ *   사용자 ID 를 요청 속성(USER_ATTRIBUTE)에 넣는다. → user(req), JSP 는 ${requestScope.loginId}
+ * - 세션을 쓰지 않으므로 sticky session 없이 어느 노드가 받아도 되고, 노드를 재시작해도 로그인이 유지된다.
+ *
+ * flash 메시지(flash_success / flash_error)는 여전히 세션에 둔다. (리다이렉트 직후 한 번 보이는 용도, 잃어도 무방)
+ */
+public final class Auth {
+
+    /** 로그인 사용자 ID 요청 속성 */
+    public static final String USER_ATTRIBUTE = "loginId";
+
+    /** 토큰 쿠키 이름 */
+    public static final String COOKIE = "auth";
+
+    /** 토큰 유효 시간 (AuthFilter init-param ttlMinutes 로 바꿈) */
+    private static volatile long ttlSeconds = 2 * 60 * 60;
+
+    private Auth() {
+    }
+
+    /** 로그인 사용자 ID (없으면 null) */
+    public static String user(HttpServletRequest req) {
+        return (String) req.getAttribute(USER_ATTRIBUTE);
+    }
+
+    /**
+     * 로그인 처리: 토큰 발급 + 쿠키 + 이번 요청에도 바로 반영
+     *
+     * @return 발급한 토큰 (API 응답으로 내려줄 때)
+     */
+    public static String login(HttpServletRequest req, HttpServletResponse resp, String userId) {
+        String token = AuthToken.shared().issue(userId, ttlSeconds);
+        setCookie(req, resp, token, (int) ttlSeconds);
+        req.setAttribute(USER_ATTRIBUTE, userId);
+        return token;
+    }
+
+    /** 로그아웃: 쿠키 삭제 (토큰 자체는 만료까지 유효, AuthToken 참고) */
+    public static void logout(HttpServletRequest req, HttpServletResponse resp) {
+        setCookie(req, resp, "", 0);
+        req.removeAttribute(USER_ATTRIBUTE);
+    }
+
+    /** 만료가 가까운 쿠키 토큰을 새로 발급 (AuthFilter, 응답을 쓰기 전에) */
+    public static void renew(HttpServletRequest req, HttpServletResponse resp, String userId) {
+        setCookie(req, resp, AuthToken.shared().issue(userId, ttlSeconds), (int) ttlSeconds);
+    }
+
+    private static void setCookie(HttpServletRequest req, HttpServletResponse resp, String value, int maxAge) {
+        Cookie c = new Cookie(COOKIE, value);
+        c.setMaxAge(maxAge);
+        c.setPath(req.getContextPath().isEmpty() ? "/" : req.getContextPath());
+        c.setHttpOnly(true); // 스크립트에서 읽지 못하게
+        c.setSecure(req.isSecure());
+        c.setAttribute("SameSite", "Lax"); // 다른 사이트에서 보낸 POST 에는 붙지 않음
+        resp.addCookie(c);
+    }
+
+    public static long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public static void setTtlSeconds(long seconds) {
+        ttlSeconds = seconds;
+    }
+}
@@ -0,0 +1,251 @@
+package localhost.myapp.common.auth;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 서명한 로그인 토큰 (HMAC-SHA256, 만료 시각 포함)
+ *
+ * 형식 (점으로 구분, 모두 URL-safe 라 쿠키/헤더에 그대로 넣을 수 있다)
+ *
+ * <pre>
+ * v1.{kid}.{사용자 ID Base64URL}.{만료 epoch 초}.{서명 Base64URL}
+ * 서명 = HMAC-SHA256(key[kid], "v1.{kid}.{사용자 ID}.{만료}")
+ * </pre>
+ *
+ * - 검증은 서명 비교와 만료 확인뿐이다. (DB / 세션 조회 없음 → 어느 노드든 같은 키만 있으면 검증 가능)
+ * - 서명 비교는 MessageDigest.isEqual (시간 차로 서명을 알아낼 수 없도록)
+ * - 서버에 상태가 없으므로 로그아웃은 쿠키를 지울 뿐, 이미 나간 토큰은 만료까지 유효하다. (TTL 을 짧게)
+ *
+ * 키 (키 교체 지원)
+ * - 시스템 프로퍼티 myapp.auth.keys 또는 환경 변수 MYAPP_AUTH_KEYS
+ *   "kid:Base64키,kid:Base64키,..." (키는 32바이트 이상 권장)
+ * - 첫 번째 키로 서명하고, 나머지는 검증만 한다.
+ *   교체 순서: 새 키를 뒤에 추가해 모든 노드에 배포 → 새 키를 맨 앞으로 → TTL 이 지나면 옛 키 삭제
+ * - 설정이 없으면 IllegalStateException (AuthFilter 가 시작하지 못함 → 설정 누락이 배포 직후 드러남)
+ * - 개발할 때는 myapp.auth.devKey=true 로 임시 키를 쓸 수 있다. (시작할 때마다 새로 만듦 → 재시작하면 로그인이 풀리고
+ *   노드끼리 토큰이 안 맞음) 이 경우 isDevKey() 가 true 이고 AuthFilter 가 시작할 때 경고를 남긴다.
+ */
+public final class AuthToken {
+
+    private static final String VERSION = "v1";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /** 사용자 ID 최대 길이 (헤더/쿠키 크기 제한) */
+    private static final int MAX_USER_LENGTH = 200;
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+    /** 키 하나 (Mac 은 스레드 안전하지 않으므로 스레드마다 하나) */
+    private static final class Key {
+        final String kid;
+        final ThreadLocal<Mac> mac;
+
+        Key(String kid, byte[] secret) {
+            this.kid = kid;
+            SecretKeySpec spec = new SecretKeySpec(secret, ALGORITHM);
+            this.mac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac m = Mac.getInstance(ALGORITHM);
+                    m.init(spec);
+                    return m;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException(e); // JDK 기본 알고리즘이라 나지 않음
+                }
+            });
+        }
+
+        byte[] sign(String payload) {
+            return mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8)); // doFinal 후 Mac 은 초기 상태로
+        }
+    }
+
+    /** 검증된 토큰 내용 */
+    public static final class Claims {
+        public final String userId;
+        public final long expiresAt; // epoch 초
+        public final String kid;
+
+        Claims(String userId, long expiresAt, String kid) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+            this.kid = kid;
+        }
+    }
+
+    private static volatile AuthToken shared;
+
+    /** 첫 번째 = 서명용 */
+    private final List<Key> keys;
+
+    /** 설정 없이 만든 임시 키인지 (myapp.auth.devKey) */
+    private final boolean devKey;
+
+    AuthToken(List<Key> keys) {
+        this(keys, false);
+    }
+
+    private AuthToken(List<Key> keys, boolean devKey) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("키가 하나도 없습니다.");
+        }
+        this.keys = keys;
+        this.devKey = devKey;
+    }
+
+    /** 설정(myapp.auth.keys / MYAPP_AUTH_KEYS)으로 만든 공유 인스턴스 */
+    public static AuthToken shared() {
+        AuthToken t = shared;
+        if (t == null) {
+            synchronized (AuthToken.class) {
+                t = shared;
+                if (t == null) {
+                    t = shared = fromConfig();
+                }
+            }
+        }
+        return t;
+    }
+
+    private static AuthToken fromConfig() {
+        String spec = System.getProperty("myapp.auth.keys");
+        if (spec == null || spec.isBlank()) {
+            spec = System.getenv("MYAPP_AUTH_KEYS");
+        }
+        if (spec == null || spec.isBlank()) {
+            if (!Boolean.getBoolean("myapp.auth.devKey")) {
+                throw new IllegalStateException("로그인 토큰 키가 없습니다. myapp.auth.keys 또는 MYAPP_AUTH_KEYS 를 설정하세요."
+                        + " (개발용 임시 키는 -Dmyapp.auth.devKey=true)");
+            }
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            List<Key> keys = new ArrayList<>();
+            keys.add(new Key("dev", secret));
+            return new AuthToken(keys, true);
+        }
+        return parse(spec);
+    }
+
+    /** "kid:Base64키,kid:Base64키" → AuthToken */
+    static AuthToken parse(String spec) {
+        List<Key> keys = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            part = part.trim();
+            if (part.isEmpty()) {
+                continue;
+            }
+            int colon = part.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("키 형식은 kid:Base64키 입니다. (" + keys.size() + "번째 다음 항목)");
+            }
+            String kid = part.substring(0, colon);
+            if (kid.indexOf('.') >= 0) {
+                throw new IllegalArgumentException("kid 에 '.' 을 쓸 수 없습니다: " + kid);
+            }
+            byte[] secret = Base64.getDecoder().decode(part.substring(colon + 1).trim());
+            if (secret.length < 16) {
+                throw new IllegalArgumentException("키가 너무 짧습니다 (16바이트 이상): " + kid);
+            }
+            keys.add(new Key(kid, secret));
+        }
+        return new AuthToken(keys);
+    }
+
+    /**
+     * 토큰 발급 (서명용 키 = 첫 번째 키)
+     *
+     * @param ttlSeconds 유효 시간
+     */
+    public String issue(String userId, long ttlSeconds) {
+        if (userId == null || userId.isEmpty() || userId.length() > MAX_USER_LENGTH) {
+            throw new IllegalArgumentException("사용자 ID 길이가 올바르지 않습니다.");
+        }
+        Key k = keys.get(0);
+        long exp = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String payload = VERSION + '.' + k.kid + '.' + B64.encodeToString(userId.getBytes(StandardCharsets.UTF_8))
+                + '.' + exp;
+        return payload + '.' + B64.encodeToString(k.sign(payload));
+    }
+
+    /**
+     * 토큰 검증
+     *
+     * @return 서명이 맞고 만료 전이면 내용, 아니면 null (형식 오류, 모르는 kid, 서명 불일치, 만료)
+     */
+    public Claims verify(String token) {
+        if (token == null || token.length() > 512 || !token.startsWith(VERSION + '.')) {
+            return null;
+        }
+
+        // v1.kid.user.exp.sig
+        int p1 = VERSION.length();
+        int p2 = token.indexOf('.', p1 + 1);
+        int p3 = p2 < 0 ? -1 : token.indexOf('.', p2 + 1);
+        int p4 = p3 < 0 ? -1 : token.indexOf('.', p3 + 1);
+        if (p4 < 0 || token.indexOf('.', p4 + 1) >= 0) {
+            return null;
+        }
+
+        long exp;
+        try {
+            exp = Long.parseLong(token, p3 + 1, p4, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (exp <= System.currentTimeMillis() / 1000) {
+            return null; // 만료 (서명 계산 전에 걸러냄)
+        }
+
+        Key k = key(token, p1 + 1, p2);
+        if (k == null) {
+            return null; // 모르는 kid (이미 삭제한 옛 키 등)
+        }
+
+        byte[] expected = k.sign(token.substring(0, p4));
+        byte[] actual;
+        try {
+            actual = B64D.decode(token.substring(p4 + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+
+        String userId;
+        try {
+            userId = new String(B64D.decode(token.substring(p2 + 1, p3)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new Claims(userId, exp, k.kid);
+    }
+
+    private Key key(String token, int from, int to) {
+        for (Key k : keys) {
+            if (k.kid.length() == to - from && token.startsWith(k.kid, from)) {
+                return k;
+            }
+        }
+        return null;
+    }
+
+    /** 서명용 kid (지금 발급하는 토큰의 kid) */
+    public String signingKid() {
+        return keys.get(0).kid;
+    }
+
+    /** 설정 없이 만든 임시 키인지 (재시작/다른 노드에서는 토큰이 맞지 않음) */
+    public boolean isDevKey() {
+        return devKey;
+    }
+}
@@ -0,0 +1,396 @@
+package localhost.myapp.common.jdbc;
+
+import localhost.myapp.common.log.AccessLog;
+import localhost.myapp.metrics.LatencyHistogram;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * 측정용 DataSource 래퍼 (커넥션 풀 앞에 끼워서 DB 사용을 잰다)
+ *
+ * - 커넥션 획득 대기 시간 : getConnection() 이 돌아올 때까지 (풀이 비어 기다린 시간 포함)
+ * - 커넥션 점유 시간 : getConnection() ~ close()
+ * - 문장 실행 시간 / 실패 / 변경 행 수 : execute* 마다 SqlStats 에 기록 (IN 목록은 SqlStats 가 합침)
+ *   executeBatch 는 SQL 뒤에 batch 표시를 붙여 따로 센다.
+ * - 느린 문장 : myapp.db.slowQueryMs (기본 500ms) 이상이면 접근 로그에 "sql.slow" 이벤트
+ * - 누수 감지 : myapp.db.leakThresholdMs (기본 30초) 넘게 반납하지 않은 커넥션을 접근 로그에 "db.leak" 이벤트로
+ *   남긴다. (커넥션마다 한 번, 점유 시간과 빌린 스레드 이름) 0 이면 끈다.
+ *   빌린 곳의 스택은 myapp.db.leakStack=true 일 때만 남긴다. (커넥션을 빌릴 때마다 Throwable 을 만들므로 평소에는 끔)
+ *   검사는 getConnection() / 지표 수집 때 최대 5초에 한 번 한다. (별도 스레드 없음)
+ *
+ * 같은 풀은 한 번만 감싼다. (wrap 이 같은 객체를 돌려줌)
+ * → common.DB 와 localhost.myapp.DB 가 같은 DataSource 를 주므로 UnitOfWork 의 DataSource 비교가 그대로 맞다.
+ *
+ * 결과 행을 읽는 수는 ResultSet 까지 감싸지 않고 Jdbc 가 SqlStats.rows() 로 센다.
+ * (컬럼 하나 읽을 때마다 리플렉션을 거치지 않도록)
+ */
+public final class InstrumentedDataSource implements DataSource {
+
+    /** 느린 문장 기준 */
+    private static final long SLOW_QUERY_NANOS = TimeUnit.MILLISECONDS
+            .toNanos(Long.getLong("myapp.db.slowQueryMs", 500));
+
+    /** 누수로 볼 점유 시간 (0 이면 누수 감지 끔) */
+    private static final long LEAK_NANOS = TimeUnit.MILLISECONDS
+            .toNanos(Long.getLong("myapp.db.leakThresholdMs", 30_000));
+
+    /** 누수 로그에 빌린 곳의 스택을 남길지 (빌릴 때마다 스택을 만듦) */
+    private static final boolean LEAK_STACK = LEAK_NANOS > 0 && Boolean.getBoolean("myapp.db.leakStack");
+
+    /** 누수 검사 최소 간격 */
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** 스택을 남길 최대 줄 수 */
+    private static final int MAX_STACK_LINES = 30;
+
+    private static final Map<DataSource, InstrumentedDataSource> WRAPPED = new IdentityHashMap<>();
+    private static final List<InstrumentedDataSource> ALL = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final DataSource target;
+
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram hold = new LatencyHistogram();
+    private final LongAdder acquireFailures = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder slowQueries = new LongAdder();
+
+    /** 빌려 가서 아직 반납하지 않은 커넥션 */
+    private final Set<Borrow> active = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+
+    private InstrumentedDataSource(String name, DataSource target) {
+        this.name = name;
+        this.target = target;
+    }
+
+    /**
+     * 풀 감싸기 (이미 감싼 풀이면 같은 래퍼, null 이면 null)
+     *
+     * @param name 지표의 pool 레이블 (primary, replica)
+     */
+    public static DataSource wrap(String name, DataSource target) {
+        if (target == null || target instanceof InstrumentedDataSource) {
+            return target;
+        }
+        synchronized (WRAPPED) {
+            InstrumentedDataSource w = WRAPPED.get(target);
+            if (w == null) {
+                w = new InstrumentedDataSource(name, target);
+                WRAPPED.put(target, w);
+                ALL.add(w);
+            }
+            return w;
+        }
+    }
+
+    /** 감싼 풀 전부 (지표용) */
+    public static List<InstrumentedDataSource> all() {
+        return Collections.unmodifiableList(ALL);
+    }
+
+    // ===== DataSource =====
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection con;
+        try {
+            con = target.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            acquireFailures.increment(); // 풀 고갈(대기 시간 초과), DB 다운 등
+            throw e;
+        }
+        return borrowed(con, start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection con;
+        try {
+            con = target.getConnection(username, password);
+        } catch (SQLException | RuntimeException e) {
+            acquireFailures.increment();
+            throw e;
+        }
+        return borrowed(con, start);
+    }
+
+    private Connection borrowed(Connection con, long start) {
+        long now = System.nanoTime();
+        acquire.record(now - start);
+        maybeCheckLeaks(now);
+
+        Borrow b = new Borrow(con, now);
+        active.add(b);
+        return b.proxy;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+
+    // ===== 누수 감지 =====
+
+    private void maybeCheckLeaks(long now) {
+        long next = nextSweep.get();
+        if (LEAK_NANOS > 0 && now - next >= 0 && nextSweep.compareAndSet(next, now + SWEEP_INTERVAL_NANOS)) {
+            sweep(now);
+        }
+    }
+
+    /** 누수 검사 (지표 수집 때 호출, 최대 SWEEP_INTERVAL 에 한 번) */
+    public void checkLeaks() {
+        maybeCheckLeaks(System.nanoTime());
+    }
+
+    private void sweep(long now) {
+        for (Borrow b : active) {
+            long held = now - b.borrowedAt;
+            if (held >= LEAK_NANOS && !b.leakReported) {
+                b.leakReported = true;
+                leaks.increment();
+                AccessLog.event("db.leak", "pool=" + name + " held=" + TimeUnit.NANOSECONDS.toMillis(held)
+                        + "ms thread=" + b.thread + "\n" + stackText(b.stack));
+            }
+        }
+    }
+
+    /** 빌린 곳의 스택 (남기지 않았으면 설정 안내) */
+    private static String stackText(Throwable t) {
+        if (t == null) {
+            return "\t(빌린 곳의 스택은 myapp.db.leakStack=true 일 때 남음)\n";
+        }
+        StringBuilder sb = new StringBuilder(1024);
+        StackTraceElement[] st = t.getStackTrace();
+        int lines = 0;
+        for (StackTraceElement e : st) {
+            if (e.getClassName().startsWith(InstrumentedDataSource.class.getName())) {
+                continue; // 래퍼 자신은 생략
+            }
+            if (lines++ == MAX_STACK_LINES) {
+                sb.append("\t...\n");
+                break;
+            }
+            sb.append("\tat ").append(e).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // ===== 문장 실행 =====
+
+    private Object execute(Statement st, String sql, Method method, Object[] args) throws Throwable {
+
+        String m = method.getName();
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            sql = (String) args[0]; // Statement.execute(sql) 류
+        }
+        String key = sql == null ? "(statement)" : sql;
+        if (m.equals("executeBatch") || m.equals("executeLargeBatch")) {
+            key = key + " /* batch */";
+        }
+
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            Object result = invoke(st, method, args);
+            ok = true;
+            SqlStats.rows(key, changedRows(result));
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            SqlStats.record(key, nanos, ok);
+            if (nanos >= SLOW_QUERY_NANOS) {
+                slowQueries.increment();
+                AccessLog.event("sql.slow", TimeUnit.NANOSECONDS.toMillis(nanos) + "ms pool=" + name
+                        + (ok ? " " : " failed ") + SqlStats.normalize(key));
+            }
+        }
+    }
+
+    /** executeUpdate / executeBatch 결과 → 변경 행 수 (SUCCESS_NO_INFO 등 음수는 제외) */
+    private static long changedRows(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long n = 0;
+        if (result instanceof int[]) {
+            for (int r : (int[]) result) {
+                n += Math.max(0, r);
+            }
+        } else if (result instanceof long[]) {
+            for (long r : (long[]) result) {
+                n += Math.max(0, r);
+            }
+        }
+        return n; // execute() 의 Boolean, executeQuery() 의 ResultSet 은 0 (읽은 행은 Jdbc 가 셈)
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ===== 프록시 =====
+
+    /** 빌려 간 커넥션 하나 */
+    private final class Borrow implements InvocationHandler {
+        final Connection target;
+        final long borrowedAt;
+        final String thread = Thread.currentThread().getName();
+        final Throwable stack = LEAK_STACK ? new Throwable("borrowed") : null;
+        final Connection proxy;
+        volatile boolean leakReported;
+        private boolean closed;
+
+        Borrow(Connection target, long borrowedAt) {
+            this.target = target;
+            this.borrowedAt = borrowedAt;
+            this.proxy = (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        active.remove(this);
+                        hold.record(System.nanoTime() - borrowedAt);
+                        target.close(); // 풀에 반납
+                    }
+                    return null;
+                case "prepareStatement":
+                    return statement(InstrumentedDataSource.invoke(target, method, args), (String) args[0],
+                            PreparedStatement.class);
+                case "prepareCall":
+                    return statement(InstrumentedDataSource.invoke(target, method, args), (String) args[0],
+                            CallableStatement.class);
+                case "createStatement":
+                    return statement(InstrumentedDataSource.invoke(target, method, args), null, Statement.class);
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "Instrumented[" + name + "] " + target;
+                default:
+                    return InstrumentedDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Statement statement(Object st, String sql, Class<? extends Statement> type) {
+            Statement target = (Statement) st;
+            InvocationHandler h = (p, method, args) -> {
+                String m = method.getName();
+                if (m.startsWith("execute")) {
+                    return execute(target, sql, method, args);
+                }
+                switch (m) {
+                    case "getConnection":
+                        return proxy; // 감싼 커넥션을 돌려줘야 close() 가 점유 시간에 잡힘
+                    case "equals":
+                        return p == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    default:
+                        return InstrumentedDataSource.invoke(target, method, args);
+                }
+            };
+            return (Statement) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[] { type }, h);
+        }
+    }
+
+    // ===== 지표 =====
+
+    public String getName() {
+        return name;
+    }
+
+    /** 커넥션 획득 대기 시간 */
+    public LatencyHistogram acquireHistogram() {
+        return acquire;
+    }
+
+    /** 커넥션 점유 시간 (반납한 것만) */
+    public LatencyHistogram holdHistogram() {
+        return hold;
+    }
+
+    /** 빌려 가서 아직 반납하지 않은 커넥션 수 */
+    public int getActive() {
+        return active.size();
+    }
+
+    public long getAcquireFailures() {
+        return acquireFailures.sum();
+    }
+
+    public long getLeaks() {
+        return leaks.sum();
+    }
+
+    public long getSlowQueries() {
+        return slowQueries.sum();
+    }
+}
@@ -0,0 +1,280 @@
+package localhost.myapp.common.jdbc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 작은 JDBC 헬퍼 (DAO 의 try-with-resources 반복 코드 정리)
+ *
+ * - 커넥션 얻기 → PreparedStatement 준비 → 파라미터 바인딩 → 실행 → 매핑 → 닫기를 한 곳에서 처리
+ * - 행 변환은 RowMapper (컬럼 위치를 SQL 마다 한 번만 계산)
+ * - 읽은 행 수를 SqlStats 에 문장별로 기록 (실행 시간은 DB.getDataSource() 의 InstrumentedDataSource 가 기록)
+ *
+ * 읽기/쓰기 분리
+ * - query / queryOne / queryLong / stream 은 읽기용 DataSource (복제본 가능, ReplicaDataSource)
+ * - update / insert / withConnection 은 쓰기용 DataSource (primary)
+ * - 쓰기가 성공하면 ReadAfterWrite.markWrite() → 이후 읽기는 primary 로 (방금 쓴 내용이 보이도록)
+ * - 쓰기 직전 확인처럼 복제 지연이 있으면 안 되는 읽기는 primary() 로 한다.
+ *
+ * UnitOfWork 가 묶여 있으면 (UnitOfWorkFilter)
+ * - 커넥션을 매번 풀에서 빌리지 않고 요청 단위로 하나를 재사용한다.
+ * - transaction() 으로 여러 DAO 호출을 한 트랜잭션으로 묶을 수 있다.
+ *
+ * 파라미터 바인딩 (params 순서대로 ? 에 대응)
+ * - null → NULL, Instant → Timestamp, 그 외는 setObject
+ *
+ * 사용 예
+ *
+ * <pre>
+ * Jdbc jdbc = new Jdbc(DB.getDataSource(), DB.getReadDataSource());
+ * Board b = jdbc.queryOne("SELECT ... WHERE idx=?", DETAIL, idx);
+ * int rows = jdbc.update("DELETE FROM board WHERE idx=?", idx);
+ * </pre>
+ */
+public final class Jdbc {
+
+    /** 커넥션을 직접 다뤄야 하는 작업 (트랜잭션, batch 등) */
+    @FunctionalInterface
+    public interface ConnectionCallback<T> {
+        T run(Connection con) throws SQLException;
+    }
+
+    /** stream() 에서 행 하나마다 호출 */
+    @FunctionalInterface
+    public interface RowHandler<T> {
+        void handle(T row) throws SQLException, IOException;
+    }
+
+    private final DataSource ds;     // 쓰기 (primary)
+    private final DataSource readDs; // 읽기 (복제본 또는 primary)
+    private final Jdbc primary;      // 읽기도 primary 로 하는 같은 헬퍼
+
+    /** 읽기/쓰기 모두 같은 DataSource */
+    public Jdbc(DataSource ds) {
+        this(ds, ds);
+    }
+
+    /**
+     * @param ds     쓰기용 (primary)
+     * @param readDs 읽기용 (복제본 라우팅 DataSource)
+     */
+    public Jdbc(DataSource ds, DataSource readDs) {
+        this.ds = ds;
+        this.readDs = readDs;
+        this.primary = readDs == ds ? this : new Jdbc(ds);
+    }
+
+    public DataSource getDataSource() {
+        return ds;
+    }
+
+    /** 읽기도 primary 에서 하는 Jdbc (쓰기 직전 확인, 중복 체크 등) */
+    public Jdbc primary() {
+        return primary;
+    }
+
+    /** 여러 행 조회 */
+    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+
+        try (Connection con = readConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+
+            bind(ps, params);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                List<T> list = new ArrayList<>();
+                if (rs.next()) {
+                    int[] c = mapper.positions(sql, rs);
+                    do {
+                        list.add(mapper.map(rs, c));
+                    } while (rs.next());
+                }
+                SqlStats.rows(sql, list.size());
+                return list;
+            }
+        }
+    }
+
+    /** 한 행 조회 (없으면 null, 여러 행이면 첫 행) */
+    public <T> T queryOne(String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+
+        try (Connection con = readConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+
+            bind(ps, params);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                T row = rs.next() ? mapper.map(rs, mapper.positions(sql, rs)) : null;
+                SqlStats.rows(sql, row != null ? 1 : 0);
+                return row;
+            }
+        }
+    }
+
+    /** 첫 행 첫 컬럼 숫자 (COUNT, MAX 등, 행이 없거나 NULL 이면 null) */
+    public Long queryLong(String sql, Object... params) throws SQLException {
+
+        try (Connection con = readConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+
+            bind(ps, params);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                Long v = null;
+                if (rs.next()) {
+                    long n = rs.getLong(1);
+                    v = rs.wasNull() ? null : n;
+                }
+                return v;
+            }
+        }
+    }
+
+    /** INSERT / UPDATE / DELETE → 변경된 행 수 */
+    public int update(String sql, Object... params) throws SQLException {
+
+        try (Connection con = writeConnection();
+                PreparedStatement ps = con.prepareStatement(sql)) {
+
+            bind(ps, params);
+            int rows = ps.executeUpdate();
+            if (rows > 0) {
+                ReadAfterWrite.markWrite();
+            }
+            return rows;
+        }
+    }
+
+    /** INSERT → 생성된 PK (AUTO_INCREMENT, 없으면 null) */
+    public Integer insert(String sql, Object... params) throws SQLException {
+
+        try (Connection con = writeConnection();
+                PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            bind(ps, params);
+
+            Integer key = null;
+            if (ps.executeUpdate() > 0) {
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        key = rs.getInt(1);
+                    }
+                }
+                ReadAfterWrite.markWrite();
+            }
+            return key;
+        }
+    }
+
+    /**
+     * 스트리밍 조회 (MySQL: forward-only + fetchSize(Integer.MIN_VALUE) → 한 행씩 받아옴)
+     * - 결과를 List 에 모으지 않고 handler 로 바로 넘긴다. (메모리 사용량 일정)
+     * - 끝날 때까지 커넥션 하나를 점유한다. (UnitOfWork 커넥션이 아닌 별도 커넥션)
+     */
+    public <T> void stream(String sql, RowMapper<T> mapper, RowHandler<T> handler, Object... params)
+            throws SQLException, IOException {
+
+        try (Connection con = readDs.getConnection(); // 스트리밍 중에는 다른 문장을 못 쓰므로 UnitOfWork 와 별도
+                PreparedStatement ps = con.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            ps.setFetchSize(Integer.MIN_VALUE);
+            bind(ps, params);
+
+            long rows = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    int[] c = mapper.positions(sql, rs);
+                    do {
+                        handler.handle(mapper.map(rs, c));
+                        rows++;
+                    } while (rs.next());
+                }
+            } catch (IOException e) {
+                // 받는 쪽이 끊김 → 스트리밍 ResultSet 은 닫을 때 남은 행을 끝까지 읽으므로 먼저 쿼리를 취소
+                try {
+                    ps.cancel();
+                } catch (SQLException ignore) {
+                    // 취소를 못 하면 남은 행을 읽고 닫힘
+                }
+                throw e;
+            } finally {
+                SqlStats.rows(sql, rows); // 중간에 끊겨도 읽은 만큼
+            }
+        }
+    }
+
+    /**
+     * 커넥션 하나로 여러 작업 (트랜잭션, batch)
+     * - 커넥션은 callback 이 끝나면 닫힌다. (풀에 반환)
+     * - 실행 시간은 InstrumentedDataSource 가 문장마다 기록한다. (executeBatch 포함)
+     * - primary 커넥션이며, 정상 종료하면 쓰기로 간주한다. (ReadAfterWrite)
+     */
+    public <T> T withConnection(ConnectionCallback<T> callback) throws SQLException {
+        try (Connection con = writeConnection()) {
+            T result = callback.run(con);
+            ReadAfterWrite.markWrite();
+            return result;
+        }
+    }
+
+    /**
+     * 트랜잭션으로 실행 (정상 종료 → commit, 예외 → rollback)
+     *
+     * <pre>
+     * jdbc.transaction(() -&gt; {
+     *     dao.update(...);
+     *     dao.delete(...);
+     *     return null;
+     * });
+     * </pre>
+     *
+     * - 안에서 호출하는 DAO 들이 같은 primary 를 쓰면 모두 같은 커넥션, 같은 트랜잭션이 된다.
+     * - 이미 트랜잭션 중이면 바깥 트랜잭션에 합쳐진다.
+     */
+    public <T> T transaction(UnitOfWork.Work<T> work) throws SQLException {
+        return UnitOfWork.transaction(ds, work);
+    }
+
+    /** 쓰기 커넥션 (UnitOfWork 가 있으면 요청 단위 커넥션, 없으면 풀에서) */
+    private Connection writeConnection() throws SQLException {
+        UnitOfWork uow = UnitOfWork.current();
+        return uow != null ? uow.writeConnection(ds) : ds.getConnection();
+    }
+
+    /** 읽기 커넥션 (UnitOfWork 가 있으면 요청 단위 커넥션, 없으면 풀에서) */
+    private Connection readConnection() throws SQLException {
+        UnitOfWork uow = UnitOfWork.current();
+        return uow != null ? uow.readConnection(readDs, ds) : readDs.getConnection();
+    }
+
+    /** 파라미터 바인딩 (1부터) */
+    public static void bind(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            Object p = params[i];
+            if (p == null) {
+                ps.setNull(i + 1, Types.NULL);
+            } else if (p instanceof Instant) {
+                ps.setTimestamp(i + 1, Timestamp.from((Instant) p));
+            } else {
+                ps.setObject(i + 1, p);
+            }
+        }
+    }
+
+    /** DATETIME / TIMESTAMP 컬럼 → Instant (NULL 이면 null) */
+    public static Instant instant(ResultSet rs, int col) throws SQLException {
+        Timestamp ts = rs.getTimestamp(col);
+        return ts == null ? null : ts.toInstant();
+    }
+}
@@ -0,0 +1,108 @@
+package localhost.myapp.common.jdbc;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 요청 단위 "내가 쓴 글은 바로 보이기(read-your-writes)" 상태 (스레드 로컬)
+ *
+ * 문제
+ * - 읽기를 복제본(replica)으로 보내면 복제 지연 동안 방금 쓴 글이 목록/상세에 안 보일 수 있다.
+ *
+ * 해결
+ * - 쓰기(INSERT/UPDATE/DELETE)가 성공하면 Jdbc 가 markWrite() 를 호출한다.
+ *   → 이번 요청의 나머지 읽기는 primary 로 간다. (sticky)
+ *   → onWrite 콜백으로 필터가 쿠키를 남겨, 일정 시간 동안 다음 요청들도 primary 에서 읽는다.
+ * - 요청 밖(리스너, 백그라운드 작업)에서는 상태가 없으므로 항상 복제본을 쓴다.
+ * - 비동기 처리(AsyncWork)는 capture() 로 꺼낸 상태를 작업 스레드에서 resume() 으로 다시 묶는다.
+ *
+ * 사용 (ReadAfterWriteFilter)
+ *
+ * <pre>
+ * ReadAfterWrite.begin(stickyFromCookie, () -&gt; addCookie(...));
+ * try {
+ *     chain.doFilter(req, resp);
+ * } finally {
+ *     ReadAfterWrite.end();
+ * }
+ * </pre>
+ */
+public final class ReadAfterWrite {
+
+    /** 요청 하나의 상태 (capture/resume 으로 다른 스레드에 넘길 수 있음) */
+    public static final class State {
+        boolean sticky;
+        Runnable onWrite; // 첫 쓰기에서 한 번만 호출
+
+        /**
+         * onWrite 를 allowed 가 true 일 때만 실행하도록 감싼다. (AsyncWork: 시간 초과 뒤에는 응답에 쿠키를 쓰지 않음)
+         */
+        public void guardWrite(BooleanSupplier allowed) {
+            Runnable r = onWrite;
+            if (r != null) {
+                onWrite = () -> {
+                    if (allowed.getAsBoolean()) {
+                        r.run();
+                    }
+                };
+            }
+        }
+    }
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReadAfterWrite() {
+    }
+
+    /**
+     * 요청 시작
+     *
+     * @param sticky  true 면 처음부터 primary 에서 읽음 (최근에 쓴 적 있는 클라이언트)
+     * @param onWrite 이번 요청에서 처음 쓰기가 일어났을 때 호출 (null 가능)
+     */
+    public static void begin(boolean sticky, Runnable onWrite) {
+        State s = new State();
+        s.sticky = sticky;
+        s.onWrite = onWrite;
+        CURRENT.set(s);
+    }
+
+    /** 요청 끝 (스레드 풀 재사용 대비 반드시 호출) */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /** 현재 스레드의 상태 (없으면 null) → 비동기 작업 스레드로 넘길 때 사용 */
+    public static State capture() {
+        return CURRENT.get();
+    }
+
+    /** capture() 한 상태를 현재 스레드에 묶음 (끝나면 end() 호출) */
+    public static void resume(State state) {
+        if (state == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(state);
+        }
+    }
+
+    /** 지금 읽기를 primary 로 보내야 하는지 */
+    public static boolean isSticky() {
+        State s = CURRENT.get();
+        return s != null && s.sticky;
+    }
+
+    /** 쓰기 성공 기록 (Jdbc 가 호출) */
+    public static void markWrite() {
+        State s = CURRENT.get();
+        if (s == null) {
+            return;
+        }
+        s.sticky = true;
+
+        Runnable r = s.onWrite;
+        if (r != null) {
+            s.onWrite = null;
+            r.run();
+        }
+    }
+}
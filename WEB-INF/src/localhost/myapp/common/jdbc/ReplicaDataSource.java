@@ -0,0 +1,179 @@
+package localhost.myapp.common.jdbc;
+
+import localhost.myapp.common.log.AccessLog;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * 읽기 전용 DataSource (복제본 우선, 안 되면 primary)
+ *
+ * getConnection() 이 고르는 순서
+ * 1) ReadAfterWrite.isSticky() → primary (방금 쓴 클라이언트는 복제 지연을 피한다)
+ * 2) 복제본이 설정되어 있고 차단 상태가 아니면 → 복제본 (setReadOnly(true))
+ * 3) 복제본 커넥션 실패 → 일정 시간(cooldown) 복제본 차단 후 primary 로 대체
+ *
+ * 차단(circuit breaker)
+ * - 복제본이 죽어 있으면 요청마다 연결 타임아웃을 기다리게 되므로, 한 번 실패하면
+ *   cooldown 동안은 시도하지 않고 바로 primary 를 쓴다.
+ * - cooldown 이 지나면 요청 하나만 복제본을 다시 시도해 본다. (나머지는 결과가 나올 때까지 primary)
+ *
+ * 주의
+ * - primary 로 대체된 커넥션에는 setReadOnly 를 하지 않는다.
+ *   (풀에 read-only 상태로 반납되면 다음 쓰기가 실패할 수 있으므로)
+ * - 복제본 풀 설정에 defaultReadOnly="true" 를 함께 주면 매번 상태를 바꾸지 않아도 된다.
+ */
+public final class ReplicaDataSource implements DataSource {
+
+    /** 복제본 실패 후 primary 만 쓰는 시간 */
+    private static final long COOLDOWN_NANOS = 10_000_000_000L; // 10초
+
+    private final DataSource primary;
+    private final DataSource replica; // null 이면 복제본 없음 → 항상 primary
+
+    private volatile long blockedUntil; // System.nanoTime() 기준, 0 이면 차단 아님
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaFailures = new LongAdder();
+
+    /**
+     * @param primary 쓰기용 (대체 경로)
+     * @param replica 읽기용 복제본 (null 가능)
+     */
+    public ReplicaDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        if (replica == null || ReadAfterWrite.isSticky()) {
+            return fromPrimary();
+        }
+
+        long until = blockedUntil;
+        boolean probe = false;
+        if (until != 0) {
+            if (System.nanoTime() - until < 0 || !probing.compareAndSet(false, true)) {
+                return fromPrimary(); // 차단 중이거나 다른 요청이 재시도 중
+            }
+            probe = true;
+        }
+
+        try {
+            Connection con = replica.getConnection();
+            try {
+                if (!con.isReadOnly()) {
+                    con.setReadOnly(true);
+                }
+            } catch (SQLException e) {
+                con.close();
+                throw e;
+            }
+            if (probe) {
+                blockedUntil = 0;
+                AccessLog.event("db.replica", "복제본 연결 복구");
+            }
+            replicaReads.increment();
+            return con;
+
+        } catch (SQLException e) {
+            replicaFailures.increment();
+            if (until == 0 || probe) {
+                AccessLog.event("db.replica", "복제본 연결 실패 → " + (COOLDOWN_NANOS / 1_000_000_000L)
+                        + "초간 primary 사용: " + e.getMessage());
+            }
+            blockedUntil = System.nanoTime() + COOLDOWN_NANOS;
+            return fromPrimary();
+
+        } finally {
+            if (probe) {
+                probing.set(false);
+            }
+        }
+    }
+
+    private Connection fromPrimary() throws SQLException {
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    /** 복제본에서 처리한 읽기 커넥션 수 */
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    /** primary 로 보낸 읽기 커넥션 수 (복제본 없음 / sticky / 차단) */
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    /** 복제본 연결 실패 수 */
+    public long getReplicaFailures() {
+        return replicaFailures.sum();
+    }
+
+    /** 지금 복제본이 차단 상태인지 */
+    public boolean isReplicaBlocked() {
+        long until = blockedUntil;
+        return until != 0 && System.nanoTime() - until < 0;
+    }
+
+    // ===== DataSource 나머지 메서드 (primary 에 위임) =====
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ReplicaDataSource 는 풀 설정의 계정만 사용합니다.");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
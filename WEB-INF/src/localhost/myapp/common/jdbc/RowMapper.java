@@ -0,0 +1,113 @@
+package localhost.myapp.common.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ResultSet 한 행 → 객체 변환기 (컬럼 위치를 SQL 마다 한 번만 계산)
+ *
+ * 왜 필요한가
+ * - rs.getString("title") 처럼 이름으로 읽으면 드라이버가 행마다, 컬럼마다 이름 → 위치를 찾는다.
+ * - 같은 SQL 이면 컬럼 위치는 항상 같으므로, 처음 한 번만 ResultSetMetaData 로 위치를 구해
+ *   int[] 로 캐싱하고, 이후에는 rs.getString(col[1]) 처럼 위치로 읽는다.
+ *
+ * 사용 예
+ *
+ * <pre>
+ * static final RowMapper&lt;Board&gt; LIST = RowMapper.of((rs, c) -&gt; {
+ *     Board b = new Board();
+ *     b.idx = rs.getInt(c[0]);
+ *     b.title = rs.getString(c[1]);
+ *     return b;
+ * }, "idx", "title");
+ *
+ * String sql = "SELECT " + LIST.columns() + " FROM board"; // SELECT * 대신 필요한 컬럼만
+ * </pre>
+ *
+ * - c[i] 는 labels[i] 컬럼의 위치 (1부터 시작)
+ * - SELECT 목록을 columns() 로 만들면 매퍼와 SQL 의 컬럼이 어긋나지 않는다.
+ */
+public final class RowMapper<T> {
+
+    /** 실제 변환 함수 (c = 컬럼 위치 배열) */
+    @FunctionalInterface
+    public interface Mapping<T> {
+        T map(ResultSet rs, int[] c) throws SQLException;
+    }
+
+    private final String[] labels;
+    private final Mapping<T> mapping;
+
+    /** SQL → 컬럼 위치 (SQL 종류는 많지 않으므로 크기 제한 없음) */
+    private final Map<String, int[]> positions = new ConcurrentHashMap<>();
+
+    private RowMapper(Mapping<T> mapping, String[] labels) {
+        this.mapping = mapping;
+        this.labels = labels;
+    }
+
+    /**
+     * @param mapping 변환 함수
+     * @param labels  읽을 컬럼 이름 (c[0], c[1] ... 순서)
+     */
+    public static <T> RowMapper<T> of(Mapping<T> mapping, String... labels) {
+        return new RowMapper<>(mapping, labels.clone());
+    }
+
+    /** SELECT 목록 (예: "idx, title, reg_date") */
+    public String columns() {
+        return String.join(", ", labels);
+    }
+
+    /** 별칭을 붙인 SELECT 목록 (예: columns("b") → "b.idx, b.title") */
+    public String columns(String alias) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labels.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(alias).append('.').append(labels[i]);
+        }
+        return sb.toString();
+    }
+
+    /** 현재 행 변환 */
+    public T map(ResultSet rs, int[] c) throws SQLException {
+        return mapping.map(rs, c);
+    }
+
+    /**
+     * 이 SQL 결과에서 각 label 의 컬럼 위치 (처음 한 번만 메타데이터 조회)
+     *
+     * @throws SQLException 결과에 필요한 컬럼이 없을 때 (SQL 과 매퍼가 맞지 않음)
+     */
+    public int[] positions(String sql, ResultSet rs) throws SQLException {
+
+        int[] c = positions.get(sql);
+        if (c != null) {
+            return c;
+        }
+
+        ResultSetMetaData md = rs.getMetaData();
+        Map<String, Integer> byLabel = new HashMap<>();
+        for (int i = md.getColumnCount(); i >= 1; i--) {
+            byLabel.put(md.getColumnLabel(i).toLowerCase(), i); // 같은 이름이면 앞 컬럼 우선
+        }
+
+        c = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            Integer pos = byLabel.get(labels[i].toLowerCase());
+            if (pos == null) {
+                throw new SQLException("결과에 컬럼이 없습니다: " + labels[i] + " (" + sql + ")");
+            }
+            c[i] = pos;
+        }
+
+        positions.put(sql, c);
+        return c;
+    }
+}
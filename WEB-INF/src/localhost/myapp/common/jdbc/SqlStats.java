@@ -0,0 +1,126 @@
+package localhost.myapp.common.jdbc;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 문장별 실행 통계 (InstrumentedDataSource 가 실행할 때마다 기록)
+ *
+ * - 호출 수 / 실패 수 / 누적 시간 / 최대 시간 / 행 수
+ * - 행 수 = executeUpdate/executeBatch 의 변경 행 + Jdbc 가 읽은 결과 행
+ * - 문장(PreparedStatement 의 ? 포함 SQL) 단위로 모은다.
+ *   IN (?, ?, ?) 처럼 개수가 바뀌는 목록은 IN (?...) 로 합쳐서 한 종류로 센다.
+ * - 기록은 LongAdder / CAS 만 사용하므로 요청 스레드를 거의 막지 않는다.
+ */
+public final class SqlStats {
+
+    /** 문장 종류 최대 개수 (넘으면 "(other)" 로 합침, 메모리 보호) */
+    private static final int MAX_STATEMENTS = 500;
+
+    private static final String OTHER = "(other)";
+
+    private static final Pattern PARAM_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    /** 문장 하나의 통계 */
+    public static final class Stat {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+
+        void record(long nanos, boolean ok) {
+            calls.increment();
+            totalNanos.add(nanos);
+            if (!ok) {
+                errors.increment();
+            }
+
+            long max;
+            while (nanos > (max = maxNanos.get())) {
+                if (maxNanos.compareAndSet(max, nanos)) {
+                    break;
+                }
+            }
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        /** 평균 실행 시간 (ms) */
+        public double getAvgMillis() {
+            long n = getCalls();
+            return n == 0 ? 0 : getTotalNanos() / 1_000_000.0 / n;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d, errors=%d, avg=%.2fms, max=%.2fms, rows=%d",
+                    getCalls(), getErrors(), getAvgMillis(), getMaxNanos() / 1_000_000.0, getRows());
+        }
+    }
+
+    private static final Map<String, Stat> STATS = new ConcurrentHashMap<>();
+
+    private SqlStats() {
+    }
+
+    /** 실행 1회 기록 */
+    public static void record(String sql, long nanos, boolean ok) {
+        stat(normalize(sql)).record(nanos, ok);
+    }
+
+    /** 읽거나 바꾼 행 수 더하기 (0 이면 기록하지 않음) */
+    public static void rows(String sql, long n) {
+        if (n > 0) {
+            stat(normalize(sql)).rows.add(n);
+        }
+    }
+
+    private static Stat stat(String key) {
+        Stat s = STATS.get(key);
+        if (s != null) {
+            return s;
+        }
+        if (STATS.size() >= MAX_STATEMENTS) {
+            key = OTHER;
+        }
+        return STATS.computeIfAbsent(key, k -> new Stat());
+    }
+
+    /** IN (?, ?, ?) → IN (?...) */
+    static String normalize(String sql) {
+        return sql.contains("?,") ? PARAM_LIST.matcher(sql).replaceAll("(?...)") : sql;
+    }
+
+    /** 문장별 통계 (읽기 전용 뷰) */
+    public static Map<String, Stat> snapshot() {
+        return Collections.unmodifiableMap(STATS);
+    }
+
+    /** 통계 초기화 */
+    public static void reset() {
+        STATS.clear();
+    }
+}
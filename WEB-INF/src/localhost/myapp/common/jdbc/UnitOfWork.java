@@ -0,0 +1,288 @@
+package localhost.myapp.common.jdbc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 단위 작업 묶음 (Unit of Work, 스레드 로컬)
+ *
+ * 문제
+ * - DAO 메서드마다 풀에서 커넥션을 빌리고 반납하므로, 한 요청이 DAO 를 세 번 부르면
+ *   커넥션도 세 번 빌린다. (수정: UPDATE → 실패 이유 조회, 상세: 조회 → 개수 ...)
+ * - DAO 호출 여러 개를 하나의 트랜잭션으로 묶을 방법이 없다.
+ *
+ * 해결
+ * - 요청이 시작될 때 UnitOfWork 를 스레드에 묶는다. (UnitOfWorkFilter 또는 UnitOfWork.run)
+ * - Jdbc 는 UnitOfWork 가 있으면 풀 대신 여기서 커넥션을 받는다.
+ *   → 처음 필요할 때 한 번 빌리고 요청 끝까지 재사용 (close() 는 무시되는 프록시)
+ * - 쓰기 커넥션(primary)과 읽기 커넥션(복제본)은 따로 빌린다.
+ *   단, 복제본이 없거나, 이미 쓰기 커넥션이 있거나, 방금 쓴 요청(ReadAfterWrite)이면
+ *   읽기도 쓰기 커넥션으로 한다. → 대부분의 요청은 커넥션 1개
+ * - Jdbc.transaction() 안의 작업은 쓰기 커넥션 하나에서 commit / rollback 된다.
+ * - 요청 안에서 같은 행을 다시 조회하면 find() 의 식별자 맵(identity map)에서 돌려준다.
+ *
+ * 주의
+ * - 커넥션을 요청 끝까지 잡고 있으므로, 느린 작업(외부 HTTP 호출 등) 전에는 release() 로 먼저 반납한다.
+ *   (AsyncWork 작업은 응답을 쓰기 시작할 때 자동으로 release() 한다)
+ * - 스레드 로컬이므로 다른 스레드(비동기 작업)에서는 보이지 않는다.
+ */
+public final class UnitOfWork {
+
+    /** 트랜잭션 안에서 실행할 작업 */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    /** 식별자 맵에 없을 때 DB 에서 읽어오는 함수 */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    /** 식별자 맵에서 "DB 에도 없음" 표시 */
+    private static final Object ABSENT = new Object();
+
+    private Connection write;     // primary (쓰기 + 필요 시 읽기)
+    private DataSource writeDs;
+    private Connection read;      // 복제본 (읽기 전용)
+    private DataSource readDs;
+
+    private int txDepth;          // transaction() 중첩 깊이 (바깥 것만 commit)
+
+    private final Map<String, Object> identities = new HashMap<>();
+
+    private UnitOfWork() {
+    }
+
+    // ===== 바인딩 =====
+
+    /** 현재 스레드의 UnitOfWork (없으면 null → Jdbc 는 예전처럼 매번 풀에서 빌림) */
+    public static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /** 요청 시작 (이미 있으면 그대로 사용하고 false) */
+    public static boolean begin() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new UnitOfWork());
+        return true;
+    }
+
+    /** 요청 끝: 커넥션 반납 (끝나지 않은 트랜잭션은 rollback) */
+    public static void end() {
+        UnitOfWork uow = CURRENT.get();
+        if (uow == null) {
+            return;
+        }
+        CURRENT.remove();
+        uow.close();
+    }
+
+    /**
+     * 작업 하나를 UnitOfWork 로 묶어서 실행 (필터 밖, 리스너/배치 등에서 사용)
+     * - 이미 묶여 있으면 그 안에서 실행한다.
+     */
+    public static <T> T run(Work<T> work) throws SQLException {
+        boolean owner = begin();
+        try {
+            return work.run();
+        } finally {
+            if (owner) {
+                end();
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션으로 실행 (예외가 나면 전체 rollback, Jdbc.transaction 이 호출)
+     * - UnitOfWork 가 없으면 이 작업 동안만 만든다.
+     * - 중첩되면 바깥 트랜잭션에 합쳐진다. (commit 은 가장 바깥에서 한 번)
+     */
+    static <T> T transaction(DataSource ds, Work<T> work) throws SQLException {
+        return run(() -> CURRENT.get().inTransaction(ds, work));
+    }
+
+    private <T> T inTransaction(DataSource ds, Work<T> work) throws SQLException {
+
+        if (txDepth > 0) {
+            txDepth++;
+            try {
+                return work.run();
+            } finally {
+                txDepth--;
+            }
+        }
+
+        Connection con = writeConnection(ds);
+        con.setAutoCommit(false);
+        txDepth = 1;
+        Map<String, Object> before = new HashMap<>(identities);
+        try {
+            T result = work.run();
+            con.commit();
+            return result;
+
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            identities.clear();       // rollback 된 쓰기가 맵에 반영됐을 수 있으므로
+            identities.putAll(before);
+            throw e;
+
+        } finally {
+            txDepth = 0;
+            con.setAutoCommit(true);
+        }
+    }
+
+    /** 트랜잭션 중인지 */
+    public boolean inTransaction() {
+        return txDepth > 0;
+    }
+
+    /**
+     * 잡고 있는 커넥션을 지금 반납 (트랜잭션 중이면 무시)
+     * - 이후 DB 작업이 있으면 다시 빌린다.
+     */
+    public static void release() {
+        UnitOfWork uow = CURRENT.get();
+        if (uow != null && uow.txDepth == 0) {
+            uow.closeConnections();
+        }
+    }
+
+    // ===== 커넥션 (Jdbc 가 사용) =====
+
+    /** 쓰기 커넥션 (처음 한 번만 풀에서 빌림) */
+    Connection writeConnection(DataSource ds) throws SQLException {
+        if (write == null) {
+            write = ds.getConnection();
+            writeDs = ds;
+        } else if (ds != writeDs) {
+            return ds.getConnection(); // 다른 DB → 이 작업 단위와 무관 (호출자가 닫음)
+        }
+        return nonClosing(write);
+    }
+
+    /** 읽기 커넥션 (쓰기 커넥션이 있거나 sticky 면 그것을 재사용) */
+    Connection readConnection(DataSource ds, DataSource primary) throws SQLException {
+
+        boolean samePool = ds == primary
+                || (ds instanceof ReplicaDataSource && !((ReplicaDataSource) ds).hasReplica());
+
+        if (samePool || write != null || txDepth > 0 || ReadAfterWrite.isSticky()) {
+            return writeConnection(primary);
+        }
+
+        if (read == null) {
+            read = ds.getConnection();
+            readDs = ds;
+        } else if (ds != readDs) {
+            return ds.getConnection();
+        }
+        return nonClosing(read);
+    }
+
+    // ===== 식별자 맵 =====
+
+    /**
+     * 요청 안에서 같은 행은 한 번만 조회
+     *
+     * @param type 종류 (예: "board")
+     * @param id   키
+     * @return 맵에 있으면 그 값 (없다고 기록된 경우 null), 아니면 loader 결과를 기록 후 반환
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T find(String type, Object id, Loader<T> loader) throws SQLException {
+
+        UnitOfWork uow = CURRENT.get();
+        if (uow == null) {
+            return loader.load();
+        }
+
+        String key = type + ":" + id;
+        Object v = uow.identities.get(key);
+        if (v != null) {
+            return v == ABSENT ? null : (T) v;
+        }
+
+        T loaded = loader.load();
+        uow.identities.put(key, loaded == null ? ABSENT : loaded);
+        return loaded;
+    }
+
+    /** 수정/삭제 후 식별자 맵에서 제거 (다음 find 는 DB 에서 다시 읽음) */
+    public static void evict(String type, Object id) {
+        UnitOfWork uow = CURRENT.get();
+        if (uow != null) {
+            uow.identities.remove(type + ":" + id);
+        }
+    }
+
+    // ===== 정리 =====
+
+    private void close() {
+        if (txDepth > 0 && write != null) {
+            try {
+                write.rollback();
+                write.setAutoCommit(true);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            txDepth = 0;
+        }
+        closeConnections();
+        identities.clear();
+    }
+
+    private void closeConnections() {
+        if (write != null) {
+            closeQuietly(write);
+            write = null;
+        }
+        if (read != null) {
+            closeQuietly(read);
+            read = null;
+        }
+    }
+
+    private static void closeQuietly(Connection con) {
+        try {
+            con.close(); // 풀에 반납
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** close() 를 무시하는 커넥션 프록시 (DAO 의 try-with-resources 가 닫아도 반납되지 않음) */
+    private static Connection nonClosing(Connection target) {
+
+        InvocationHandler h = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "isClosed":
+                    return target.isClosed();
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(UnitOfWork.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, h);
+    }
+}
@@ -0,0 +1,424 @@
+package localhost.myapp.common.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 접근 로그 (요청 스레드는 링 버퍼에 넣기만 하고, 파일 쓰기는 백그라운드 스레드 하나가)
+ *
+ * 문제
+ * - 필터/리스너가 요청마다 System.out.println 을 여러 번 했다.
+ *   → println 은 PrintStream 잠금을 잡고 바로 쓰므로, 요청이 많으면 스레드들이 stdout 에서 줄을 선다.
+ *
+ * 동작
+ * - request() / event() 는 항목 객체 하나를 LogRing(잠금 없음)에 넣고 바로 반환한다.
+ *   가득 차 있으면 기다리지 않고 버리고 dropped 를 센다. (로그 때문에 요청이 느려지지 않도록)
+ * - 기록 스레드가 모아서(BATCH 개씩) JSON 한 줄씩 만들고 FileChannel 로 한 번에 쓴다.
+ *   쌓인 게 없으면 FLUSH_INTERVAL_MS 동안 쉰다.
+ * - sampleRate 로 일부만 남길 수 있다. 5xx 응답과 slowMs 이상 걸린 요청은 항상 남긴다.
+ * - 파일은 {dir}/access.log, maxFileBytes 를 넘거나 날짜가 바뀌면 access-yyyyMMdd-HHmmss-SSS.log 로 이름을 바꾸고
+ *   새로 연다. 지난 파일은 maxFiles 개까지만 둔다.
+ *
+ * 한 줄 형식
+ *
+ * <pre>
+ * {"ts":"2024-01-01T00:00:00.123Z","type":"request","method":"GET","uri":"/api/board","query":"size=10",
+ *  "status":200,"ms":3.214,"ip":"127.0.0.1","async":true}
+ * {"ts":"2024-01-01T00:00:00.456Z","type":"event","event":"session.created","detail":"3F2A9C"}
+ * </pre>
+ *
+ * 시작 전(start) 에 들어온 항목도 버퍼에 남아 있다가 시작하면 기록된다. (버퍼 크기까지)
+ */
+public final class AccessLog {
+
+    /** 링 버퍼 크기 (2의 거듭제곱) */
+    private static final int CAPACITY = 16_384;
+
+    /** 한 번에 꺼내서 쓰는 최대 항목 수 */
+    private static final int BATCH = 512;
+
+    /** 쌓인 항목이 없을 때 쉬는 시간 */
+    private static final long FLUSH_INTERVAL_MS = 50;
+
+    private static final String FILE_NAME = "access.log";
+    private static final DateTimeFormatter ROTATED = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    /** 로그 한 줄 (불변, 문자열 조립은 기록 스레드에서) */
+    private static final class Entry {
+        final long at = System.currentTimeMillis();
+        final String event;   // null 이면 요청
+        final String method;
+        final String uri;
+        final String query;
+        final int status;
+        final long nanos;
+        final String ip;
+        final boolean async;
+
+        Entry(String method, String uri, String query, int status, long nanos, String ip, boolean async) {
+            this.event = null;
+            this.method = method;
+            this.uri = uri;
+            this.query = query;
+            this.status = status;
+            this.nanos = nanos;
+            this.ip = ip;
+            this.async = async;
+        }
+
+        Entry(String event, String detail) {
+            this.event = event;
+            this.method = null;
+            this.uri = detail;
+            this.query = null;
+            this.status = 0;
+            this.nanos = 0;
+            this.ip = null;
+            this.async = false;
+        }
+    }
+
+    private static final LogRing<Entry> RING = new LogRing<>(CAPACITY);
+
+    private static volatile double sampleRate = 1.0;
+    private static volatile long slowNanos = TimeUnit.SECONDS.toNanos(1);
+
+    private static Thread writer;
+    private static volatile boolean running;
+
+    // 통계
+    private static final AtomicLong logged = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong sampledOut = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong writtenBytes = new AtomicLong();
+    private static final AtomicLong rotations = new AtomicLong();
+    private static final AtomicLong writeFailures = new AtomicLong();
+
+    private AccessLog() {
+    }
+
+    // ===== 수명 =====
+
+    /**
+     * 기록 스레드 시작 (이미 시작했으면 무시)
+     *
+     * @param dir          로그 디렉터리 (없으면 만든다)
+     * @param sampleRate   0.0 ~ 1.0, 정상 요청을 남길 비율
+     * @param slowMs       이 시간 이상 걸린 요청은 샘플링과 관계없이 남김
+     * @param maxFileBytes 이 크기를 넘으면 새 파일로
+     * @param maxFiles     남겨 둘 지난 파일 수
+     */
+    public static synchronized void start(Path dir, double sampleRate, long slowMs, long maxFileBytes,
+            int maxFiles) {
+        if (writer != null) {
+            return;
+        }
+        AccessLog.sampleRate = Math.max(0, Math.min(1, sampleRate));
+        AccessLog.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+
+        running = true;
+        FileSink sink = new FileSink(dir, maxFileBytes, maxFiles);
+        writer = new Thread(() -> drainLoop(sink), "access-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** 남은 항목을 모두 쓰고 파일을 닫는다. (최대 2초) */
+    public static synchronized void shutdown() {
+        Thread t = writer;
+        if (t == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(t);
+        try {
+            t.join(2_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    // ===== 기록 (요청 스레드) =====
+
+    /**
+     * 요청 한 건
+     *
+     * @param nanos 처리 시간 (System.nanoTime 차이)
+     */
+    public static void request(String method, String uri, String query, int status, long nanos, String ip,
+            boolean async) {
+        double rate = sampleRate;
+        if (rate < 1.0 && status < 500 && nanos < slowNanos && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOut.incrementAndGet();
+            return;
+        }
+        offer(new Entry(method, uri, query, status, nanos, ip, async));
+    }
+
+    /** 애플리케이션/세션 이벤트 한 건 (샘플링 없음) */
+    public static void event(String name, String detail) {
+        offer(new Entry(name, detail));
+    }
+
+    private static void offer(Entry e) {
+        if (RING.offer(e)) {
+            logged.incrementAndGet();
+        } else {
+            dropped.incrementAndGet(); // 기록 스레드가 못 따라감 → 버림
+        }
+    }
+
+    // ===== 기록 스레드 =====
+
+    private static void drainLoop(FileSink sink) {
+
+        StringBuilder sb = new StringBuilder(64 * 1024);
+
+        try {
+            while (true) {
+                int n = 0;
+                Entry e;
+                while (n < BATCH && (e = RING.poll()) != null) {
+                    format(sb, e);
+                    n++;
+                }
+
+                if (n > 0) {
+                    byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+                    sb.setLength(0);
+                    try {
+                        sink.write(bytes);
+                        written.addAndGet(n);
+                        writtenBytes.addAndGet(bytes.length);
+                    } catch (IOException ex) {
+                        writeFailures.incrementAndGet(); // 이 묶음은 버리고 다음 묶음에서 다시 열어 봄
+                        ex.printStackTrace();
+                        sink.close();
+                    }
+                    if (sb.capacity() > 1024 * 1024) {
+                        sb = new StringBuilder(64 * 1024); // 큰 묶음 뒤에 버퍼가 계속 커져 있지 않도록
+                    }
+                    continue; // 더 남아 있을 수 있음
+                }
+
+                if (!running) {
+                    break; // 종료 요청 + 남은 항목 없음
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS));
+            }
+        } finally {
+            sink.close();
+        }
+    }
+
+    /** 항목 → JSON 한 줄 */
+    private static void format(StringBuilder sb, Entry e) {
+        sb.append("{\"ts\":\"").append(Instant.ofEpochMilli(e.at)).append('"');
+        if (e.event != null) {
+            sb.append(",\"type\":\"event\",\"event\":");
+            quote(sb, e.event);
+            if (e.uri != null) {
+                sb.append(",\"detail\":");
+                quote(sb, e.uri);
+            }
+        } else {
+            sb.append(",\"type\":\"request\",\"method\":");
+            quote(sb, e.method);
+            sb.append(",\"uri\":");
+            quote(sb, e.uri);
+            if (e.query != null) {
+                sb.append(",\"query\":");
+                quote(sb, e.query);
+            }
+            sb.append(",\"status\":").append(e.status);
+            long micros = e.nanos / 1_000;
+            sb.append(",\"ms\":").append(micros / 1_000).append('.');
+            long frac = micros % 1_000;
+            if (frac < 100) {
+                sb.append(frac < 10 ? "00" : "0");
+            }
+            sb.append(frac);
+            sb.append(",\"ip\":");
+            quote(sb, e.ip);
+            sb.append(",\"async\":").append(e.async);
+        }
+        sb.append("}\n");
+    }
+
+    /** JSON 문자열 (따옴표 포함, 제어 문자 이스케이프) */
+    private static void quote(StringBuilder sb, String s) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    // ===== 통계 =====
+
+    /** 버퍼에 넣은 항목 수 */
+    public static long getLogged() {
+        return logged.get();
+    }
+
+    /** 버퍼가 가득 차서 버린 항목 수 */
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    /** 샘플링으로 뺀 요청 수 */
+    public static long getSampledOut() {
+        return sampledOut.get();
+    }
+
+    /** 파일에 쓴 항목 수 */
+    public static long getWritten() {
+        return written.get();
+    }
+
+    public static long getWrittenBytes() {
+        return writtenBytes.get();
+    }
+
+    public static long getRotations() {
+        return rotations.get();
+    }
+
+    public static long getWriteFailures() {
+        return writeFailures.get();
+    }
+
+    /** 버퍼에서 기다리는 항목 수 (대략) */
+    public static int getPending() {
+        return RING.size();
+    }
+
+    // ===== 파일 =====
+
+    /** 회전하는 로그 파일 (기록 스레드에서만 사용) */
+    private static final class FileSink {
+
+        private final Path dir;
+        private final Path file;
+        private final long maxFileBytes;
+        private final int maxFiles;
+
+        private FileChannel channel;
+        private long size;
+        private LocalDate openedOn;
+
+        FileSink(Path dir, long maxFileBytes, int maxFiles) {
+            this.dir = dir;
+            this.file = dir.resolve(FILE_NAME);
+            this.maxFileBytes = maxFileBytes;
+            this.maxFiles = maxFiles;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            LocalDate today = LocalDate.now();
+            if (channel != null && (size + bytes.length > maxFileBytes || !today.equals(openedOn))) {
+                rotate();
+            }
+            if (channel == null) {
+                open();
+            }
+
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            size += bytes.length;
+        }
+
+        private void open() throws IOException {
+            Files.createDirectories(dir);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            size = channel.size();
+            openedOn = size > 0
+                    ? LocalDate.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault())
+                    : LocalDate.now();
+        }
+
+        /** access.log → access-yyyyMMdd-HHmmss-SSS.log, 오래된 파일 정리 */
+        private void rotate() throws IOException {
+            close();
+            String stamp = LocalDateTime.now().format(ROTATED);
+            Path target = dir.resolve("access-" + stamp + ".log");
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            rotations.incrementAndGet();
+
+            List<Path> old = new ArrayList<>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "access-*.log")) {
+                for (Path p : ds) {
+                    old.add(p);
+                }
+            }
+            Collections.sort(old); // 이름에 시각이 있으므로 이름순 = 오래된 순
+            for (int i = 0; i < old.size() - maxFiles; i++) {
+                Files.deleteIfExists(old.get(i));
+            }
+        }
+
+        void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            channel = null;
+        }
+    }
+}
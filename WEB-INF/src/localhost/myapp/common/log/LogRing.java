@@ -0,0 +1,81 @@
+package localhost.myapp.common.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 크기가 정해진 잠금 없는(lock-free) 링 버퍼 (여러 생산자 → 소비자 하나)
+ *
+ * - 요청 스레드들은 offer() 로 넣고, 기록 스레드 하나만 poll() 로 꺼낸다.
+ * - 칸마다 순번(sequence)을 두어 칸이 비었는지/찼는지 판단한다. (Vyukov 방식)
+ *   · 칸 i 의 순번 == pos       → 비어 있음, 생산자가 pos 를 CAS 로 차지하고 넣은 뒤 pos+1 로
+ *   · 칸 i 의 순번 == pos+1     → 찼음, 소비자가 꺼낸 뒤 pos+capacity 로 (한 바퀴 뒤 생산자 차례)
+ * - 가득 차면 기다리지 않고 false (호출한 쪽에서 버린 개수를 센다)
+ */
+final class LogRing<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+
+    /** 다음에 넣을 위치 (생산자끼리 CAS) */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** 다음에 꺼낼 위치 (소비자 하나만 사용) */
+    private volatile long head;
+
+    /**
+     * @param capacity 2의 거듭제곱
+     */
+    LogRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        mask = capacity - 1;
+        items = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** 넣기 (가득 차면 false, 막히지 않음) */
+    boolean offer(T item) {
+        long pos = tail.get();
+        for (;;) {
+            int i = (int) (pos & mask);
+            long diff = sequences.get(i) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items.lazySet(i, item);
+                    sequences.set(i, pos + 1); // 소비자에게 공개
+                    return true;
+                }
+                pos = tail.get(); // 다른 생산자가 먼저 차지
+            } else if (diff < 0) {
+                return false; // 한 바퀴 전 항목이 아직 안 꺼내짐 → 가득 참
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /** 꺼내기 (비었으면 null, 소비자 스레드에서만) */
+    T poll() {
+        int i = (int) (head & mask);
+        if (sequences.get(i) != head + 1) {
+            return null; // 비었거나 생산자가 아직 쓰는 중
+        }
+        T item = items.get(i);
+        items.lazySet(i, null);
+        sequences.set(i, head + mask + 1); // 한 바퀴 뒤 생산자 차례
+        head++;
+        return item;
+    }
+
+    /** 대략적인 대기 항목 수 (통계용) */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
@@ -1,89 +1,67 @@
 package localhost.myapp.dao;
 
 import localhost.myapp.DB;
+import localhost.myapp.common.jdbc.Jdbc;
+import localhost.myapp.common.jdbc.RowMapper;
 import localhost.myapp.model.Board;
 
-import javax.sql.DataSource;
-import java.sql.*;
-import java.util.ArrayList;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
  * 게시판 CRUD.
  * - 목록 조회는 DESC 정렬 + LIMIT/OFFSET 로 간단 페이징 지원
+ * - 목록은 content 대신 excerpt(요약)만 조회 (본문은 findById 에서만)
  */
 public class BoardDao {
-    private final DataSource ds = DB.getDataSource();
+
+    static final RowMapper<Board> LIST = RowMapper.of((rs, c) -> {
+        Board b = new Board();
+        b.idx = rs.getInt(c[0]);
+        b.title = rs.getString(c[1]);
+        b.excerpt = rs.getString(c[2]);
+        b.regDate = Jdbc.instant(rs, c[3]);
+        return b;
+    }, "idx", "title", "excerpt", "reg_date");
+
+    static final RowMapper<Board> DETAIL = RowMapper.of((rs, c) -> {
+        Board b = new Board();
+        b.idx = rs.getInt(c[0]);
+        b.title = rs.getString(c[1]);
+        b.content = rs.getString(c[2]);
+        b.excerpt = rs.getString(c[3]);
+        b.regDate = Jdbc.instant(rs, c[4]);
+        return b;
+    }, "idx", "title", "content", "excerpt", "reg_date");
+
+    private final Jdbc jdbc = new Jdbc(DB.getDataSource(), DB.getReadDataSource());
 
     public List<Board> findAll(int page, int size) throws SQLException {
         int limit = Math.max(1, Math.min(size, 100));
         int offset = Math.max(0, (page - 1) * limit);
-        String sql = "SELECT idx, title, content, reg_date FROM board ORDER BY idx DESC LIMIT ? OFFSET ?";
-        try (Connection con = ds.getConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setInt(1, limit);
-            ps.setInt(2, offset);
-            try (ResultSet rs = ps.executeQuery()) {
-                List<Board> list = new ArrayList<>();
-                while (rs.next()) {
-                    Board b = new Board();
-                    b.idx = rs.getInt("idx");
-                    b.title = rs.getString("title");
-                    b.content = rs.getString("content");
-                    b.regDate = rs.getString("reg_date");
-                    list.add(b);
-                }
-                return list;
-            }
-        }
+        String sql = "SELECT " + LIST.columns() + " FROM board ORDER BY idx DESC LIMIT ? OFFSET ?";
+        return jdbc.query(sql, LIST, limit, offset);
     }
 
     public Board findById(int idx) throws SQLException {
-        String sql = "SELECT * FROM board WHERE idx=?";
-        try (Connection con = ds.getConnection();
-            PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setInt(1, idx);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    Board b = new Board();
-                    b.idx = rs.getInt("idx");
-                    b.title = rs.getString("title");
-                    b.content = rs.getString("content");
-                    b.regDate = rs.getString("reg_date");
-                    return b;
-                }
-                return null;
-            }
-        }
+        String sql = "SELECT " + DETAIL.columns() + " FROM board WHERE idx=?";
+        return jdbc.queryOne(sql, DETAIL, idx);
     }
 
     public boolean insert(Board b) throws SQLException {
-        String sql = "INSERT INTO board (title, content) VALUES (?, ?)";
-        try (Connection con = ds.getConnection();
-            PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, b.title);
-            ps.setString(2, b.content);
-            return ps.executeUpdate() == 1;
-        }
+        String sql = "INSERT INTO board (title, content, excerpt) VALUES (?, ?, ?)";
+        return jdbc.update(sql, b.title, b.content,
+                localhost.myapp.board.Board.makeExcerpt(b.content)) == 1;
     }
 
     public boolean update(Board b) throws SQLException {
-        String sql = "UPDATE board SET title=?, content=? WHERE idx=?";
-        try (Connection con = ds.getConnection();
-            PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, b.title);
-            ps.setString(2, b.content);
-            ps.setInt(3, b.idx);
-            return ps.executeUpdate() == 1;
-        }
+        String sql = "UPDATE board SET title=?, content=?, excerpt=?, version=version+1 WHERE idx=?";
+        return jdbc.update(sql, b.title, b.content,
+                localhost.myapp.board.Board.makeExcerpt(b.content), b.idx) == 1;
     }
 
     public boolean delete(int idx) throws SQLException {
         String sql = "DELETE FROM board WHERE idx=?";
-        try (Connection con = ds.getConnection();
-            PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setInt(1, idx);
-            return ps.executeUpdate() == 1;
-        }
+        return jdbc.update(sql, idx) == 1;
     }
-}
\ No newline at end of file
+}
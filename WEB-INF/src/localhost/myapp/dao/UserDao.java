@@ -1,55 +1,39 @@
 package localhost.myapp.dao;
 
 import localhost.myapp.DB;
+import localhost.myapp.common.jdbc.Jdbc;
+import localhost.myapp.common.jdbc.RowMapper;
 import localhost.myapp.model.User;
 
-import javax.sql.DataSource;
-import java.sql.*;
+import java.sql.SQLException;
 
 public class UserDao {
-    private final DataSource ds = DB.getDataSource();
+
+    static final RowMapper<User> ROW = RowMapper.of((rs, c) -> {
+        User u = new User();
+        u.idx = rs.getInt(c[0]);
+        u.id = rs.getString(c[1]);
+        u.password = rs.getString(c[2]);
+        u.email = rs.getString(c[3]);
+        u.regDate = Jdbc.instant(rs, c[4]);
+        return u;
+    }, "idx", "id", "password", "email", "reg_date");
+
+    private final Jdbc jdbc = new Jdbc(DB.getDataSource(), DB.getReadDataSource());
 
     public boolean insert(User u) throws SQLException {
         String sql = "INSERT INTO user (id, password, email) VALUES (?, sha2(?, 256), ?)";
-        try (Connection con = ds.getConnection();
-            PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, u.id);
-            ps.setString(2, u.password);
-            ps.setString(3, u.email);
-            return ps.executeUpdate() == 1;
-        }
+        return jdbc.update(sql, u.id, u.password, u.email) == 1;
     }
 
     public User findById(String id) throws SQLException {
-        String sql = "SELECT * FROM user WHERE id=?";
-        try (Connection con = ds.getConnection();
-            PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    User u = new User();
-                    u.idx = rs.getInt("idx");
-                    u.id = rs.getString("id");
-                    u.password = rs.getString("password");
-                    u.email = rs.getString("email");
-                    u.regDate = rs.getString("reg_date");
-                    return u;
-                }
-                return null;
-            }
-        }
+        String sql = "SELECT " + ROW.columns() + " FROM user WHERE id=?";
+        return jdbc.queryOne(sql, ROW, id);
     }
 
     public boolean login(String id, String password) throws SQLException {
         String sql = "SELECT COUNT(*) FROM user WHERE id=? AND password=sha2(?, 256)";
-        try (Connection con = ds.getConnection();
-            PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, id);
-            ps.setString(2, password);
-            try (ResultSet rs = ps.executeQuery()) {
-                rs.next();
-                return rs.getInt(1) == 1;
-            }
-        }
+        Long n = jdbc.queryLong(sql, id, password);
+        return n != null && n == 1;
     }
-}
\ No newline at end of file
+}
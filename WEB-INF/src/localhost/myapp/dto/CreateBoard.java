@@ -0,0 +1,84 @@
+package localhost.myapp.dto;
+
+import localhost.myapp.common.JsonBody;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 게시글 작성 요청 (POST /api/board, POST /api/board/batch 의 항목)
+ *
+ * Body: { "title": "...", "content": "..." }
+ */
+public class CreateBoard {
+
+    /** 제목 */
+    public String title;
+
+    /** 본문 */
+    public String content;
+
+    /** JSON 객체 하나 읽기 (title, content 필수) */
+    public static CreateBoard read(JsonBody.Reader in) throws IOException {
+        in.expectObject();
+        CreateBoard c = readFields(in);
+        if (c.title == null || c.content == null) {
+            throw new JsonBody.Invalid("필수 필드(title, content)가 없습니다.");
+        }
+        return c;
+    }
+
+    /**
+     * JSON 배열 읽기 (일괄 등록)
+     * - 형식이 맞지 않는 항목은 null (서비스에서 항목 실패로 처리)
+     * - maxItems 를 넘으면 나머지를 읽지 않고 바로 실패
+     */
+    public static List<CreateBoard> readList(JsonBody.Reader in, int maxItems) throws IOException {
+        List<CreateBoard> list = new ArrayList<>();
+
+        in.expectArray();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (list.size() == maxItems) {
+                throw new JsonBody.Invalid("한 번에 최대 " + maxItems + "건까지 등록할 수 있습니다.");
+            }
+
+            switch (in.peek()) {
+                case BEGIN_OBJECT: {
+                    CreateBoard c = readFields(in);
+                    list.add(c.title == null || c.content == null ? null : c);
+                    break;
+                }
+                default:
+                    in.skipValue();
+                    list.add(null);
+            }
+        }
+        in.endArray();
+
+        return list;
+    }
+
+    /** 필드만 읽기 (모르는 필드는 건너뜀) */
+    private static CreateBoard readFields(JsonBody.Reader in) throws IOException {
+        CreateBoard c = new CreateBoard();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "title":
+                    c.title = in.nextString();
+                    break;
+                case "content":
+                    c.content = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return c;
+    }
+}
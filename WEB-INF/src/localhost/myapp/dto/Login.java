@@ -0,0 +1,46 @@
+package localhost.myapp.dto;
+
+import localhost.myapp.common.JsonBody;
+
+import java.io.IOException;
+
+/**
+ * 로그인 요청 (POST /api/user/login)
+ *
+ * Body: { "id": "...", "password": "..." }
+ */
+public class Login {
+
+    /** 아이디 */
+    public String id;
+
+    /** 비밀번호 (평문, 서비스에서만 사용) */
+    public String password;
+
+    /** JSON 객체 하나 읽기 (id, password 필수) */
+    public static Login read(JsonBody.Reader in) throws IOException {
+        in.expectObject();
+
+        Login l = new Login();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    l.id = in.nextString();
+                    break;
+                case "password":
+                    l.password = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (l.id == null || l.password == null) {
+            throw new JsonBody.Invalid("필수 필드(id, password)가 없습니다.");
+        }
+        return l;
+    }
+}
@@ -0,0 +1,52 @@
+package localhost.myapp.dto;
+
+import localhost.myapp.common.JsonBody;
+
+import java.io.IOException;
+
+/**
+ * 회원가입 요청 (POST /api/user/register)
+ *
+ * Body: { "id": "...", "password": "...", "email": "..." }
+ */
+public class Register {
+
+    /** 아이디 */
+    public String id;
+
+    /** 비밀번호 (평문, DB 에서 sha2 로 해싱) */
+    public String password;
+
+    /** 이메일 */
+    public String email;
+
+    /** JSON 객체 하나 읽기 (id, password, email 필수) */
+    public static Register read(JsonBody.Reader in) throws IOException {
+        in.expectObject();
+
+        Register r = new Register();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    r.id = in.nextString();
+                    break;
+                case "password":
+                    r.password = in.nextString();
+                    break;
+                case "email":
+                    r.email = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (r.id == null || r.password == null || r.email == null) {
+            throw new JsonBody.Invalid("필수 필드(id, password, email)가 없습니다.");
+        }
+        return r;
+    }
+}
@@ -8,6 +8,7 @@ package localhost.myapp.dto;
  * - message : 설명 메시지
  * - data : 실제 데이터 (Object)
  * - idx : 새로 생성된 리소스(PK) 번호 (게시글 생성 시 등)
+ * - code : 실패 종류 (NOT_FOUND / FORBIDDEN / CONFLICT / TOO_LARGE, 일반 실패는 null)
  */
 public class ServiceResult {
 
@@ -23,6 +24,24 @@ public class ServiceResult {
     /** 새로 생성된 리소스의 식별자 (예: 게시글 idx) */
     public Integer idx;
 
+    /** 실패 종류 → API 에서 HTTP 상태코드 결정에 사용 */
+    public String code;
+
+    /** 대상 없음 (404) */
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    /** 권한 없음 (403) */
+    public static final String FORBIDDEN = "FORBIDDEN";
+
+    /** 버전 불일치, 다른 사람이 먼저 수정함 (412) */
+    public static final String CONFLICT = "CONFLICT";
+
+    /** 요청 body 가 너무 큼 (413) */
+    public static final String TOO_LARGE = "TOO_LARGE";
+
+    /** 처리 결과를 아직 모름, 쓰기 요청 시간 초과 (202) */
+    public static final String PENDING = "PENDING";
+
     /** 기본 생성자 */
     public ServiceResult() {
     }
@@ -59,4 +78,11 @@ public class ServiceResult {
     public static ServiceResult fail(String message) {
         return new ServiceResult(false, message, null, null);
     }
+
+    /** ❌ 실패 (실패 종류 + 메시지) */
+    public static ServiceResult fail(String code, String message) {
+        ServiceResult r = new ServiceResult(false, message, null, null);
+        r.code = code;
+        return r;
+    }
 }
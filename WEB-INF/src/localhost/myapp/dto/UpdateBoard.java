@@ -0,0 +1,47 @@
+package localhost.myapp.dto;
+
+import localhost.myapp.common.JsonBody;
+
+import java.io.IOException;
+
+/**
+ * 게시글 수정 요청 (PUT /api/board/{idx})
+ *
+ * Body: { "title": "...", "content": "..." }
+ * - 버전은 body 가 아니라 If-Match 헤더로 받는다.
+ */
+public class UpdateBoard {
+
+    /** 제목 */
+    public String title;
+
+    /** 본문 */
+    public String content;
+
+    /** JSON 객체 하나 읽기 (title, content 필수) */
+    public static UpdateBoard read(JsonBody.Reader in) throws IOException {
+        in.expectObject();
+
+        UpdateBoard u = new UpdateBoard();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "title":
+                    u.title = in.nextString();
+                    break;
+                case "content":
+                    u.content = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (u.title == null || u.content == null) {
+            throw new JsonBody.Invalid("필수 필드(title, content)가 없습니다.");
+        }
+        return u;
+    }
+}
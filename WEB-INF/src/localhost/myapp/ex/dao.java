@@ -3,12 +3,12 @@ package localhost.myapp.ex;
 import java.io.IOException;
 import java.sql.SQLException;
 
-import com.google.gson.Gson;
 
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.common.Json;
 import localhost.myapp.user.User;
 import localhost.myapp.user.UserDao;
 
@@ -32,7 +32,7 @@ public class dao extends HttpServlet {
             User u = userDao.findById("1234");
 
             // 4) 조회된 User 객체를 JSON 문자열로 변환
-            String json = new Gson().toJson(u);
+            String json = Json.GSON.toJson(u);
 
             // 5) JSON 응답 출력
             resp.getWriter().print(json);
@@ -0,0 +1,86 @@
+package localhost.myapp.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.common.auth.Auth;
+import localhost.myapp.common.auth.AuthToken;
+
+import java.io.IOException;
+
+/**
+ * 로그인 토큰 확인 필터
+ *
+ * 동작
+ * - "Authorization: Bearer {토큰}" 헤더, 없으면 auth 쿠키에서 토큰을 꺼내 AuthToken 으로 검증한다.
+ * - 통과하면 사용자 ID 를 요청 속성(Auth.USER_ATTRIBUTE)에 넣는다. DB / 세션은 보지 않는다.
+ * - 토큰이 없거나 틀리거나 만료됐으면 비로그인으로 그냥 통과시킨다. (막는 것은 각 서블릿/서비스가 판단)
+ * - 쿠키 토큰이 유효 시간의 절반을 넘겼거나 옛 키로 서명됐으면 새 토큰으로 바꿔 준다.
+ *   (쓰는 동안에는 로그인이 풀리지 않고, 키를 바꾸면 쿠키도 차츰 새 키로 옮겨 감)
+ *   Bearer 토큰은 클라이언트가 가지고 있으므로 바꾸지 않는다.
+ *
+ * init-param
+ * - ttlMinutes : 토큰 유효 시간 (기본 120분)
+ */
+public class AuthFilter extends HttpFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    @Override
+    public void init() throws ServletException {
+        String v = getInitParameter("ttlMinutes");
+        if (v != null && !v.isBlank()) {
+            Auth.setTtlSeconds(Long.parseLong(v.trim()) * 60);
+        }
+        if (AuthToken.shared().isDevKey()) { // 키 설정 오류는 시작할 때 드러나도록 (없으면 IllegalStateException)
+            getServletContext().log("[Auth] myapp.auth.devKey: 임시 키 사용 (재시작/다른 노드에서는 로그인이 유지되지 않음, 개발용)");
+        }
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws IOException, ServletException {
+
+        String token;
+        boolean fromCookie = false;
+
+        String header = req.getHeader("Authorization");
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            token = header.substring(BEARER.length()).trim();
+        } else {
+            token = cookie(req);
+            fromCookie = token != null;
+        }
+
+        if (token != null && !token.isEmpty()) {
+            AuthToken.Claims c = AuthToken.shared().verify(token);
+            if (c != null) {
+                req.setAttribute(Auth.USER_ATTRIBUTE, c.userId);
+
+                long left = c.expiresAt - System.currentTimeMillis() / 1000;
+                if (fromCookie && (left < Auth.getTtlSeconds() / 2
+                        || !c.kid.equals(AuthToken.shared().signingKid()))) { // 옛 키로 서명된 쿠키도 새 키로
+                    Auth.renew(req, resp, c.userId);
+                }
+            }
+        }
+
+        chain.doFilter(req, resp);
+    }
+
+    private static String cookie(HttpServletRequest req) {
+        Cookie[] cookies = req.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie c : cookies) {
+            if (Auth.COOKIE.equals(c.getName())) {
+                return c.getValue();
+            }
+        }
+        return null;
+    }
+}
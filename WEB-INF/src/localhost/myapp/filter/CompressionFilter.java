@@ -0,0 +1,116 @@
+package localhost.myapp.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.common.AsyncWork;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * 응답 gzip 압축 필터 (web.xml 에 등록, 모든 요청)
+ *
+ * - BoardAPI 의 JSON, JSP 화면의 HTML 처럼 텍스트 응답을 gzip 으로 압축한다.
+ * - 본문 전체를 모으지 않고 minSize 까지만 모은 뒤 바로 압축하면서 내보낸다. (GzipResponseWrapper)
+ * - 압축 여부와 관계없이 압축 대상 Content-Type 이면 Vary: Accept-Encoding 을 붙인다.
+ * - 비동기 요청은 AsyncWork 가 complete() 직전에 압축을 마무리한다.
+ *
+ * 초기 설정값 (web.xml init-param, 모두 선택)
+ * - minSize : 이 바이트 수 이하 응답은 압축하지 않음 (기본 1024)
+ * - level : 압축 레벨 1~9 (기본 6, 숫자가 클수록 작지만 CPU 를 더 씀)
+ * - mimeTypes : 압축할 Content-Type 목록 (쉼표 구분)
+ */
+public class CompressionFilter extends HttpFilter {
+
+    private static final String DEFAULT_MIME_TYPES = "text/html,text/plain,text/css,text/csv,text/xml,"
+            + "text/javascript,application/javascript,application/json,application/x-ndjson,"
+            + "application/xml,application/rss+xml,image/svg+xml";
+
+    private int minSize = 1024;
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private final Set<String> mimeTypes = new HashSet<>();
+
+    @Override
+    public void init(FilterConfig config) throws ServletException {
+        super.init(config);
+
+        String v = config.getInitParameter("minSize");
+        if (v != null) {
+            minSize = Integer.parseInt(v.trim());
+        }
+
+        v = config.getInitParameter("level");
+        if (v != null) {
+            level = Integer.parseInt(v.trim());
+        }
+
+        v = config.getInitParameter("mimeTypes");
+        for (String t : (v != null ? v : DEFAULT_MIME_TYPES).split(",")) {
+            if (!t.isBlank()) {
+                mimeTypes.add(t.trim().toLowerCase());
+            }
+        }
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws IOException, ServletException {
+
+        // HEAD 는 본문이 없으므로 압축할 것도 없다
+        if ("HEAD".equals(req.getMethod())) {
+            chain.doFilter(req, resp);
+            return;
+        }
+
+        GzipResponseWrapper wrapper = new GzipResponseWrapper(resp,
+                acceptsGzip(req.getHeader("Accept-Encoding")), minSize, level, mimeTypes);
+
+        // 비동기 처리(AsyncWork)면 체인이 먼저 돌아오므로 마무리는 complete() 직전에
+        // (작업이 아주 빨리 끝날 수 있으므로 체인 전에 등록)
+        AsyncWork.beforeComplete(req, wrapper::finish);
+
+        chain.doFilter(req, wrapper);
+
+        if (!req.isAsyncStarted()) {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Accept-Encoding 에 gzip 이 있는지 (q=0 은 거부로 처리)
+     * 예: "gzip, deflate, br" / "gzip;q=1.0, identity; q=0.5" / "*"
+     */
+    public static boolean acceptsGzip(String header) {
+        if (header == null) {
+            return false;
+        }
+
+        for (String part : header.split(",")) {
+            String[] kv = part.trim().split(";");
+            String coding = kv[0].trim().toLowerCase();
+
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+
+            for (int i = 1; i < kv.length; i++) {
+                String p = kv[i].trim();
+                if (p.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(p.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
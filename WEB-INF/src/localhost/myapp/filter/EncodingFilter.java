@@ -4,7 +4,7 @@ import jakarta.servlet.*;
 import jakarta.servlet.annotation.WebFilter;
 import java.io.IOException;
 
-@WebFilter("/*") // 모든 요청에 필터 적용
+@WebFilter(urlPatterns = "/*", asyncSupported = true) // 모든 요청에 필터 적용 (비동기 서블릿 포함)
 public class EncodingFilter implements Filter {
 
     @Override
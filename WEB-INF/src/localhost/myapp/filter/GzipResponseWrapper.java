@@ -0,0 +1,355 @@
+package localhost.myapp.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip 압축 응답 래퍼 (CompressionFilter 에서 사용)
+ *
+ * 동작
+ * - 처음 minSize 바이트까지만 메모리에 모은다.
+ * - minSize 를 넘는 순간 압축 여부를 결정하고, 이후는 바로바로 내보낸다. (전체 버퍼링 없음)
+ *   · 압축 : Content-Encoding: gzip, Content-Length 제거, ETag 를 약한 ETag(W/) 로 변경
+ *   · 그대로 : 미뤄 두었던 Content-Length 를 그대로 전달
+ * - minSize 를 넘지 못하고 끝나면 압축하지 않는다. (작은 응답은 압축 이득보다 비용이 큼)
+ *
+ * 압축하지 않는 경우
+ * - 클라이언트가 gzip 을 받지 않음 / 압축 대상 Content-Type 이 아님
+ * - 이미 Content-Encoding 이 있음 (미리 압축된 .gz 정적 파일 등)
+ * - 204, 206, 304 등 본문이 없거나 범위 응답인 경우
+ */
+class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    private final boolean acceptsGzip;
+    private final int minSize;
+    private final int level;
+    private final Set<String> mimeTypes;
+
+    /** 아직 결정 전에 setContentLength 로 받은 값 (-1 = 없음) */
+    private long contentLength = -1;
+
+    private CompressingStream stream;
+    private PrintWriter writer;
+
+    GzipResponseWrapper(HttpServletResponse resp, boolean acceptsGzip, int minSize, int level,
+            Set<String> mimeTypes) {
+        super(resp);
+        this.acceptsGzip = acceptsGzip;
+        this.minSize = minSize;
+        this.level = level;
+        this.mimeTypes = mimeTypes;
+    }
+
+    // ---------------------- 본문 출력 ----------------------
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() 가 이미 호출되었습니다.");
+        }
+        if (stream == null) {
+            stream = new CompressingStream();
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (stream != null) {
+                throw new IllegalStateException("getOutputStream() 이 이미 호출되었습니다.");
+            }
+            stream = new CompressingStream();
+            writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream != null) {
+            stream.flush();
+            if (stream.state == State.UNDECIDED) {
+                return; // 아직 헤더(압축 여부)를 정하지 않았으므로 커밋하지 않는다
+            }
+        }
+        super.flushBuffer();
+    }
+
+    /** 요청 처리가 끝난 뒤 필터가 호출 → 남은 데이터 출력, gzip 마무리 */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream != null) {
+            stream.finish();
+        }
+    }
+
+    // ---------------------- 헤더 가로채기 ----------------------
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (stream == null || stream.state == State.UNDECIDED) {
+            contentLength = len; // 압축 여부가 정해질 때까지 보류
+        } else if (stream.state == State.RAW) {
+            super.setContentLengthLong(len);
+        }
+        // GZIP 이면 원본 길이는 의미 없으므로 버린다
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+            return;
+        }
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+            return;
+        }
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+            return;
+        }
+        super.setIntHeader(name, value);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+            return;
+        }
+        super.addIntHeader(name, value);
+    }
+
+    // ---------------------- 초기화 / 오류 ----------------------
+
+    @Override
+    public void reset() {
+        super.reset();
+        contentLength = -1;
+        if (stream != null && stream.state == State.UNDECIDED) {
+            stream.buffer.reset();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (stream != null && stream.state == State.UNDECIDED) {
+            stream.buffer.reset();
+        }
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        abandon();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        abandon();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        abandon();
+        super.sendRedirect(location);
+    }
+
+    /** 오류/리다이렉트 → 모아 둔 본문은 버리고 컨테이너에 맡긴다 */
+    private void abandon() {
+        if (stream != null && stream.state == State.UNDECIDED) {
+            stream.buffer.reset();
+            stream.state = State.DONE;
+        }
+    }
+
+    // ---------------------- 압축 여부 결정 ----------------------
+
+    private enum State {
+        UNDECIDED, GZIP, RAW, DONE
+    }
+
+    /** 압축 대상 Content-Type 인지 (charset 등 파라미터 제외하고 비교) */
+    private boolean isCompressibleType() {
+        String ct = getContentType();
+        if (ct == null) {
+            return false;
+        }
+        int semi = ct.indexOf(';');
+        String mime = (semi < 0 ? ct : ct.substring(0, semi)).trim().toLowerCase();
+        return mimeTypes.contains(mime);
+    }
+
+    private boolean shouldCompress() {
+        int status = getStatus();
+        return acceptsGzip
+                && status >= 200 && status != SC_NO_CONTENT && status != SC_PARTIAL_CONTENT
+                && status != SC_NOT_MODIFIED
+                && getHeader("Content-Encoding") == null
+                && getHeader("Content-Range") == null
+                && isCompressibleType();
+    }
+
+    /** 응답이 Accept-Encoding 에 따라 달라질 수 있음을 캐시에 알림 */
+    private void addVary() {
+        for (String v : getHeaders("Vary")) {
+            if (v.toLowerCase().contains("accept-encoding") || v.contains("*")) {
+                return;
+            }
+        }
+        super.addHeader("Vary", "Accept-Encoding");
+    }
+
+    /**
+     * 압축 스트림
+     * - UNDECIDED : buffer 에 모으는 중
+     * - GZIP / RAW : 결정 후 바로 출력
+     */
+    private final class CompressingStream extends ServletOutputStream {
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(minSize);
+        State state = State.UNDECIDED;
+
+        /** 실제 출력 대상 (GZIP 이면 gzip 스트림, RAW 이면 원래 응답 스트림) */
+        private OutputStream out;
+        private ServletOutputStream raw;
+
+        /**
+         * 압축 여부 결정 (한 번만)
+         *
+         * @param large minSize 를 넘었는지 (끝까지 작으면 압축하지 않음)
+         */
+        private void decide(boolean large) throws IOException {
+
+            if (isCompressibleType()) {
+                addVary();
+            }
+
+            raw = GzipResponseWrapper.super.getOutputStream();
+
+            if (large && shouldCompress()) {
+                GzipResponseWrapper.super.setHeader("Content-Encoding", "gzip");
+
+                // 바이트가 달라지므로 강한 ETag 는 약한 ETag 로 (조건부 요청은 약한 비교로 동작)
+                String etag = getHeader("ETag");
+                if (etag != null && !etag.startsWith("W/")) {
+                    GzipResponseWrapper.super.setHeader("ETag", "W/" + etag);
+                }
+
+                // syncFlush=true → flush() 할 때마다 지금까지 압축한 데이터를 바로 내보냄 (스트리밍)
+                out = new GZIPOutputStream(raw, 8192, true) {
+                    {
+                        def.setLevel(level);
+                    }
+                };
+                state = State.GZIP;
+
+            } else {
+                if (contentLength >= 0) {
+                    GzipResponseWrapper.super.setContentLengthLong(contentLength);
+                } else if (!large) {
+                    GzipResponseWrapper.super.setContentLength(buffer.size()); // 전체 길이를 알고 있음
+                }
+                out = raw;
+                state = State.RAW;
+            }
+
+            buffer.writeTo(out);
+            buffer.reset();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (state == State.DONE) {
+                return;
+            }
+            if (state == State.UNDECIDED) {
+                if (buffer.size() + len <= minSize) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                decide(true);
+            }
+            out.write(b, off, len);
+        }
+
+        /** 결정 전 flush 는 무시 (헤더를 정하기 전에 커밋하지 않기 위해) */
+        @Override
+        public void flush() throws IOException {
+            if (out != null && state != State.DONE) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if (state == State.UNDECIDED) {
+                decide(false);
+            }
+            if (state == State.GZIP) {
+                ((GZIPOutputStream) out).finish();
+            }
+            if (out != null && state != State.DONE) {
+                out.flush();
+            }
+            state = State.DONE;
+        }
+
+        @Override
+        public boolean isReady() {
+            return raw == null || raw.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                GzipResponseWrapper.super.getOutputStream().setWriteListener(listener);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package localhost.myapp.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.metrics.Metrics;
+
+import java.io.IOException;
+
+/**
+ * 요청 처리 시간 / 처리 중 요청 수 측정 (경로별, 응답 상태 종류별)
+ *
+ * - web.xml 에서 가장 바깥 필터로 등록한다. (압축/트랜잭션 필터 시간까지 포함)
+ * - 비동기 요청(AsyncWork)은 complete() 시점까지 잰다. (완료 알림용 리스너 하나만 만든다)
+ * - 경로: 메서드 + 이 요청을 받은 서블릿의 매핑 패턴 (HttpServletMapping)
+ *   예) GET /api/board/75 → "GET /api/board/*", POST /board/edit/3 → "POST /board/*"
+ *   URL 을 파싱하거나 문자열을 만들지 않고, 패턴/메서드별로 한 번 만든 Route 를 Metrics 가 재사용한다.
+ */
+public class MetricsFilter extends HttpFilter {
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletMapping mapping = req.getHttpServletMapping();
+        Metrics.Route route = Metrics.route(req.getMethod(), mapping == null ? null : mapping.getPattern());
+        long start = System.nanoTime();
+        route.begin();
+
+        boolean deferred = false;
+        try {
+            chain.doFilter(req, resp);
+
+            if (req.isAsyncStarted()) {
+                try {
+                    req.getAsyncContext().addListener(new Completion(route, resp, start));
+                    deferred = true;
+                } catch (IllegalStateException e) {
+                    // 작업 스레드가 그 사이 이미 complete() → 바로 기록
+                }
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            if (!deferred) {
+                route.end(500, System.nanoTime() - start); // 컨테이너가 500 으로 응답
+                deferred = true;
+            }
+            throw e;
+        } finally {
+            if (!deferred) {
+                route.end(resp.getStatus(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    /** 비동기 요청 완료 시 기록 */
+    private static final class Completion implements AsyncListener {
+
+        private final Metrics.Route route;
+        private final HttpServletResponse resp;
+        private final long start;
+
+        Completion(Metrics.Route route, HttpServletResponse resp, long start) {
+            this.route = route;
+            this.resp = resp;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            route.end(resp.getStatus(), System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // 시간 초과 후에도 onComplete 가 호출됨
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // 오류 후에도 onComplete 가 호출됨
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
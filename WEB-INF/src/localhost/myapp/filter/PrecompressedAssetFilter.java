@@ -0,0 +1,94 @@
+package localhost.myapp.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import localhost.myapp.common.ETags;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * 미리 압축해 둔 정적 파일(.gz) 응답 필터 (web.xml 에 등록, /assets/*)
+ *
+ * - /assets/js/app.js 요청 + 클라이언트가 gzip 허용 + app.js.gz 가 있으면 .gz 파일을 그대로 보낸다.
+ * - 요청마다 압축하지 않으므로 CPU 를 쓰지 않고, 최고 압축률(gzip -9)로 만들어 둘 수 있다.
+ * - .gz 가 없거나 원본보다 오래되었으면 톰캣 기본 서블릿(DefaultServlet)에 맡긴다.
+ *   (이 경우 CompressionFilter 가 동적으로 압축)
+ *
+ * .gz 파일은 배포 스크립트(tomcat_deploy.sh)에서 만든다.
+ */
+public class PrecompressedAssetFilter extends HttpFilter {
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws IOException, ServletException {
+
+        String method = req.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            chain.doFilter(req, resp);
+            return;
+        }
+
+        // 컨텍스트 기준 경로 (예: /assets/js/app.js)
+        String path = req.getServletPath() + (req.getPathInfo() != null ? req.getPathInfo() : "");
+
+        File gz = realFile(path + ".gz");
+        File orig = realFile(path);
+
+        // .gz 가 없거나, 원본이 더 새 파일이면 (배포 후 다시 압축하지 않은 경우) 기본 처리
+        if (gz == null || orig == null || orig.lastModified() > gz.lastModified()) {
+            chain.doFilter(req, resp);
+            return;
+        }
+
+        resp.addHeader("Vary", "Accept-Encoding");
+
+        if (!CompressionFilter.acceptsGzip(req.getHeader("Accept-Encoding"))) {
+            chain.doFilter(req, resp);
+            return;
+        }
+
+        String mime = getServletContext().getMimeType(path);
+        if (mime == null) {
+            mime = "application/octet-stream";
+        } else if (mime.startsWith("text/") || mime.endsWith("javascript")) {
+            mime += ";charset=UTF-8";
+        }
+
+        // 원본 수정 시각 + .gz 크기 → 약한 ETag (압축본이므로)
+        String etag = "gz-" + Long.toString(orig.lastModified(), 36) + "-" + gz.length();
+
+        resp.setContentType(mime);
+        resp.setHeader("Content-Encoding", "gzip");
+        resp.setDateHeader("Last-Modified", orig.lastModified());
+        resp.setHeader("ETag", "W/" + ETags.quote(etag));
+
+        if (ETags.matches(req.getHeader("If-None-Match"), etag)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        resp.setContentLengthLong(gz.length());
+
+        if ("HEAD".equals(method)) {
+            return;
+        }
+
+        Files.copy(gz.toPath(), resp.getOutputStream());
+    }
+
+    /** 웹앱 경로 → 실제 파일 (없거나 디렉터리면 null) */
+    private File realFile(String path) {
+        String real = getServletContext().getRealPath(path);
+        if (real == null) {
+            return null;
+        }
+        File f = new File(real);
+        return f.isFile() ? f : null;
+    }
+}
@@ -0,0 +1,87 @@
+package localhost.myapp.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.common.jdbc.ReadAfterWrite;
+
+import java.io.IOException;
+
+/**
+ * 읽기 복제본 사용 시 "방금 쓴 내용은 바로 보이기" 필터
+ *
+ * 동작
+ * - 요청마다 ReadAfterWrite 상태를 만든다.
+ * - 이 클라이언트가 최근(windowSeconds 이내)에 쓴 적이 있으면 (rw_until 쿠키)
+ *   이번 요청의 읽기를 모두 primary 로 보낸다.
+ * - 이번 요청에서 쓰기가 성공하면 rw_until 쿠키를 (지금 + windowSeconds) 로 남긴다.
+ *   → 글 등록 후 redirect 된 목록/상세 요청도 primary 에서 읽으므로 방금 쓴 글이 보인다.
+ *
+ * 비동기 요청(AsyncWork)은 이 상태를 작업 스레드로 넘겨서 쓴다. (쿠키도 작업 스레드에서 기록)
+ * 시간 초과로 응답이 끝난 뒤에는 AsyncWork 가 쿠키 기록을 막는다. (쿠키 경로는 요청 스레드에서 미리 구함)
+ *
+ * 쿠키를 조작해도 읽기가 primary 로 갈 뿐이므로 서명하지 않는다.
+ *
+ * init-param
+ * - windowSeconds : 쓰기 후 primary 에서 읽는 시간 (기본 5초, 복제 지연보다 길게)
+ */
+public class ReadAfterWriteFilter extends HttpFilter {
+
+    static final String COOKIE = "rw_until";
+
+    private long windowMillis = 5_000;
+
+    @Override
+    public void init() throws ServletException {
+        String v = getInitParameter("windowSeconds");
+        if (v != null && !v.isBlank()) {
+            windowMillis = Long.parseLong(v.trim()) * 1000L;
+        }
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws IOException, ServletException {
+
+        String path = req.getContextPath().isEmpty() ? "/" : req.getContextPath();
+        ReadAfterWrite.begin(recentlyWrote(req), () -> remember(resp, path));
+        try {
+            chain.doFilter(req, resp);
+        } finally {
+            ReadAfterWrite.end();
+        }
+    }
+
+    /** rw_until 쿠키 시각이 아직 지나지 않았는지 */
+    private boolean recentlyWrote(HttpServletRequest req) {
+        Cookie[] cookies = req.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie c : cookies) {
+            if (COOKIE.equals(c.getName())) {
+                try {
+                    return Long.parseLong(c.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** 쓰기 성공 → 다음 요청들도 잠시 primary 에서 읽도록 쿠키 기록 */
+    private void remember(HttpServletResponse resp, String path) {
+        if (resp.isCommitted()) {
+            return; // 이미 응답 헤더가 나감 (이번 요청 안에서는 sticky 로 충분)
+        }
+        Cookie c = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + windowMillis));
+        c.setMaxAge((int) Math.max(1, windowMillis / 1000));
+        c.setPath(path);
+        c.setHttpOnly(true);
+        resp.addCookie(c);
+    }
+}
@@ -1,17 +1,58 @@
 package localhost.myapp.filter; // 필터 클래스가 속한 패키지 선언
 
-import jakarta.servlet.*; // Filter, FilterChain, ServletRequest 등 기본 서블릿 인터페이스
+import jakarta.servlet.*; // Filter, FilterChain, AsyncListener 등 기본 서블릿 인터페이스
 import jakarta.servlet.annotation.WebFilter; // @WebFilter 어노테이션 사용을 위한 import
-import jakarta.servlet.http.*; // HttpServletRequest, Cookie 클래스 사용
+import jakarta.servlet.annotation.WebInitParam; // 필터 초기 설정값
+import jakarta.servlet.http.*; // HttpServletRequest, HttpServletResponse
+import localhost.myapp.common.log.AccessLog; // 링 버퍼 + 백그라운드 파일 기록
+
 import java.io.IOException; // IOException 예외
-import java.util.*; // Enumeration, Arrays 등 유틸 클래스
+import java.nio.file.Path; // 로그 디렉터리
+import java.nio.file.Paths;
 
-@WebFilter("/*") // 모든 요청 URL( /* )에 대해 이 필터가 실행되도록 설정
+/**
+ * 접근 로그 필터 (요청 한 건 = JSON 한 줄)
+ *
+ * - 예전에는 요청마다 System.out.println 을 여러 번 하고 getParameterMap() 으로 파라미터를 찍었다.
+ *   → stdout 잠금 경합 + POST 마다 폼 본문을 미리 파싱 (본문을 직접 읽는 API 에는 불필요한 작업)
+ * - 지금은 메서드/URI/쿼리스트링/상태/처리 시간/IP 만 AccessLog 버퍼에 넣는다. (본문은 건드리지 않음)
+ * - 비동기 요청(AsyncWork)은 complete() 시점에 기록한다. (처리 시간/상태가 실제 응답 기준)
+ *
+ * init-param
+ * - dir : 로그 디렉터리 (비우면 ${catalina.base}/logs/myapp, 톰캣 밖이면 임시 디렉터리)
+ * - sampleRate : 정상 요청을 남길 비율 0.0 ~ 1.0 (5xx, 느린 요청은 항상)
+ * - slowMs : 이 시간 이상 걸린 요청은 항상 남김
+ * - maxFileMB : 파일 하나 최대 크기 (넘으면 회전)
+ * - maxFiles : 남겨 둘 지난 파일 수
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true, initParams = { // 모든 요청 URL( /* ) (비동기 서블릿도 지나감)
+        @WebInitParam(name = "dir", value = ""),
+        @WebInitParam(name = "sampleRate", value = "1.0"),
+        @WebInitParam(name = "slowMs", value = "1000"),
+        @WebInitParam(name = "maxFileMB", value = "64"),
+        @WebInitParam(name = "maxFiles", value = "10") })
 public class RequestLogFilter implements Filter { // Filter 인터페이스 구현 클래스 정의 시작
 
     @Override
     public void init(FilterConfig filterConfig) { // 필터 초기화 시 실행되는 메서드
-        // 초기화할 내용이 없어서 비워둠
+
+        String dir = param(filterConfig, "dir", "");
+        Path path;
+        if (!dir.isEmpty()) {
+            path = Paths.get(dir);
+        } else if (System.getProperty("catalina.base") != null) {
+            path = Paths.get(System.getProperty("catalina.base"), "logs", "myapp");
+        } else {
+            path = Paths.get(System.getProperty("java.io.tmpdir"), "myapp-logs");
+        }
+
+        AccessLog.start(path,
+                Double.parseDouble(param(filterConfig, "sampleRate", "1.0")),
+                Long.parseLong(param(filterConfig, "slowMs", "1000")),
+                Long.parseLong(param(filterConfig, "maxFileMB", "64")) * 1024 * 1024,
+                Integer.parseInt(param(filterConfig, "maxFiles", "10")));
+
+        filterConfig.getServletContext().log("접근 로그: " + path.resolve("access.log"));
     }
 
     @Override
@@ -21,45 +62,61 @@ public class RequestLogFilter implements Filter { // Filter 인터페이스 구
             throws IOException, ServletException {
 
         HttpServletRequest req = (HttpServletRequest) request; // ServletRequest를 HttpServletRequest로 다운캐스팅
+        HttpServletResponse resp = (HttpServletResponse) response;
+
+        long start = System.nanoTime(); // 처리 시간 측정 시작
+        boolean deferred = false; // 비동기 완료 시점에 기록하는지
+
+        try {
+            chain.doFilter(request, response); // 다음 필터 또는 최종 서블릿으로 요청/응답 전달
+
+            if (req.isAsyncStarted()) {
+                try {
+                    req.getAsyncContext().addListener(new AsyncListener() {
+                        @Override
+                        public void onComplete(AsyncEvent event) {
+                            log(req, resp, start, true);
+                        }
+
+                        @Override
+                        public void onTimeout(AsyncEvent event) {
+                            // 시간 초과 후에도 onComplete 가 호출됨
+                        }
+
+                        @Override
+                        public void onError(AsyncEvent event) {
+                            // 오류 후에도 onComplete 가 호출됨
+                        }
+
+                        @Override
+                        public void onStartAsync(AsyncEvent event) {
+                        }
+                    });
+                    deferred = true;
+                } catch (IllegalStateException e) {
+                    // 작업 스레드가 그 사이 이미 complete() → 바로 기록
+                }
+            }
+        } finally {
+            if (!deferred) {
+                log(req, resp, start, false);
+            }
+        }
+    }
+
+    /** 버퍼에 한 줄 넣기 (파일 쓰기는 AccessLog 기록 스레드가) */
+    private static void log(HttpServletRequest req, HttpServletResponse resp, long start, boolean async) {
+        AccessLog.request(req.getMethod(), req.getRequestURI(), req.getQueryString(), resp.getStatus(),
+                System.nanoTime() - start, req.getRemoteAddr(), async);
+    }
 
-        System.out.println("\n========== REQUEST DEBUG =========="); // 요청 디버그 로그 시작 출력
-        System.out.println("URI: " + req.getRequestURI()); // 요청된 URI 출력
-        System.out.println("Method: " + req.getMethod()); // 요청 메서드(GET/POST 등) 출력
-
-        // -------------------- Parameters 출력 --------------------
-        System.out.println("\n[Parameters]"); // 파라미터 섹션 제목 출력
-        req.getParameterMap().forEach( // request.getParameterMap() → 모든 파라미터(key/value) 조회
-                (k, v) -> System.out.println("  " + k + " = " + Arrays.toString(v)) // k: 이름, v: 값 배열 형태 출력
-        );
-
-        // // -------------------- Headers 출력 --------------------
-        // System.out.println("\n[Headers]"); // 헤더 섹션 제목 출력
-        // Enumeration<String> headerNames = req.getHeaderNames(); // 모든 헤더 이름을 가져오는
-        // Enumeration 객체
-        // while (headerNames.hasMoreElements()) { // 헤더가 더 있을 때까지 반복
-        // String name = headerNames.nextElement(); // 헤더 이름 하나 가져오기
-        // System.out.println(" " + name + ": " + req.getHeader(name)); // 헤더 이름과 값을 출력
-        // }
-
-        // // -------------------- Cookies 출력 --------------------
-        // System.out.println("\n[Cookies]"); // 쿠키 섹션 제목 출력
-        // Cookie[] cookies = req.getCookies(); // 요청에 포함된 모든 쿠키 가져오기
-        // if (cookies != null) { // 쿠키가 존재할 경우
-        // for (Cookie c : cookies) { // 모든 쿠키 반복
-        // System.out.println(" " + c.getName() + ": " + c.getValue()); // 쿠키 이름 = 값 출력
-        // }
-        // } else { // 쿠키가 없을 경우
-        // System.out.println(" (no cookies)"); // "쿠키 없음" 출력
-        // }
-
-        // System.out.println("===================================\n"); // 로그 구분선 출력
-
-        // -------------------- 필터 체인 계속 진행 --------------------
-        chain.doFilter(request, response); // 다음 필터 또는 최종 서블릿으로 요청/응답 전달
+    private static String param(FilterConfig config, String name, String defaultValue) {
+        String v = config.getInitParameter(name);
+        return v == null || v.isBlank() ? defaultValue : v.trim();
     }
 
     @Override
     public void destroy() { // 필터 종료 시 실행(리소스 정리용)
-        // 정리할 내용이 없어서 비워둠
+        AccessLog.shutdown(); // 버퍼에 남은 줄을 모두 쓰고 파일 닫기
     }
-}
\ No newline at end of file
+}
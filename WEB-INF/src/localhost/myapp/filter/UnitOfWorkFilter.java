@@ -0,0 +1,37 @@
+package localhost.myapp.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.common.jdbc.UnitOfWork;
+
+import java.io.IOException;
+
+/**
+ * 요청마다 UnitOfWork 를 묶는 필터
+ *
+ * - 요청 안의 DAO 호출들이 커넥션 하나를 같이 쓴다. (요청이 끝나면 반납)
+ * - 커넥션은 처음 DB 작업이 있을 때 빌리므로, DB 를 쓰지 않는 요청(정적 파일 등)은 비용이 거의 없다.
+ * - 요청 안에서 같은 게시글/회원을 다시 조회하면 DB 에 가지 않는다. (식별자 맵)
+ * - 요청 중 예외로 끝나 트랜잭션이 남아 있으면 rollback 후 반납한다.
+ * - 비동기 요청(AsyncWork)은 체인이 바로 돌아오므로 여기서는 커넥션을 빌리지 않고 끝난다.
+ *   작업 스레드가 자기 UnitOfWork 를 따로 열고 닫는다.
+ */
+public class UnitOfWorkFilter extends HttpFilter {
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws IOException, ServletException {
+
+        boolean owner = UnitOfWork.begin(); // forward/include 로 다시 들어오면 바깥 것을 그대로 사용
+        try {
+            chain.doFilter(req, resp);
+        } finally {
+            if (owner) {
+                UnitOfWork.end();
+            }
+        }
+    }
+}
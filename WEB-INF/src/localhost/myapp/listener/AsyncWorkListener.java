@@ -0,0 +1,26 @@
+package localhost.myapp.listener;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import localhost.myapp.common.AsyncWork;
+
+/**
+ * 애플리케이션 종료 시 비동기 작업 스레드 정리
+ *
+ * - 처리 중인 작업은 최대 5초 기다린 뒤 중단한다.
+ * - 재배포 때 작업 스레드/타이머 스레드가 남아 클래스로더를 붙잡지 않도록 한다.
+ */
+@WebListener
+public class AsyncWorkListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        sce.getServletContext().log("비동기 작업 스레드: " + (AsyncWork.isVirtual() ? "가상 스레드" : "고정 크기 풀"));
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        AsyncWork.shutdown();
+    }
+}
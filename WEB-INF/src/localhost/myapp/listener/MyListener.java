@@ -3,48 +3,50 @@ package localhost.myapp.listener;
 import jakarta.servlet.*;
 //import jakarta.servlet.annotation.WebListener;
 import jakarta.servlet.http.*;
-
+import localhost.myapp.common.log.AccessLog;
+
+/**
+ * 애플리케이션 / 세션 / 요청 이벤트를 접근 로그(AccessLog)에 남긴다.
+ *
+ * - System.out.println 대신 AccessLog 버퍼에 넣기만 한다. (stdout 잠금 경합 없음)
+ * - 요청 한 건의 기록(URI, 상태, 처리 시간)은 RequestLogFilter 가 한다. 여기서는 요청마다 아무것도 쓰지 않는다.
+ * - 세션 ID 는 전체를 남기지 않는다. (로그 파일로 세션을 가로챌 수 없도록 앞 6자리만)
+ */
 //@WebListener
 public class MyListener implements ServletContextListener, HttpSessionListener, ServletRequestListener {
 
     // 웹 애플리케이션 시작/종료
     @Override
     public void contextInitialized(ServletContextEvent sce) {
-        System.out.println("🌐 애플리케이션 시작됨!");
+        AccessLog.event("app.start", sce.getServletContext().getContextPath());
     }
 
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
-        System.out.println("🌐 애플리케이션 종료됨!");
+        AccessLog.event("app.stop", sce.getServletContext().getContextPath());
     }
 
     // 세션 생성/소멸
     @Override
     public void sessionCreated(HttpSessionEvent se) {
-        System.out.println("👤 세션 생성: " + se.getSession().getId());
+        AccessLog.event("session.created", shortId(se.getSession().getId()));
     }
 
     @Override
     public void sessionDestroyed(HttpSessionEvent se) {
-        System.out.println("👤 세션 소멸: " + se.getSession().getId());
+        AccessLog.event("session.destroyed", shortId(se.getSession().getId()));
     }
 
-    // 요청(request) 시작/종료
+    // 요청(request) 시작/종료 → 줄은 RequestLogFilter 가 (요청마다 두 번 쓰지 않도록)
     @Override
     public void requestInitialized(ServletRequestEvent sre) {
-        HttpServletRequest req = (HttpServletRequest) sre.getServletRequest();
-        String url = req.getRequestURL().toString(); // 전체 URL
-        // String uri = req.getRequestURI(); // URI만
-        String query = req.getQueryString(); // 쿼리 파라미터
-        String clientIp = req.getRemoteAddr(); // 요청 보낸 IP
-
-        System.out.println("➡ 요청 들어옴: " + url +
-                (query != null ? "?" + query : "") +
-                " | IP: " + clientIp);
     }
 
     @Override
     public void requestDestroyed(ServletRequestEvent sre) {
-        System.out.println("⬅ 요청 처리 완료");
+    }
+
+    private static String shortId(String id) {
+        return id == null || id.length() <= 6 ? id : id.substring(0, 6);
     }
 }
@@ -0,0 +1,142 @@
+package localhost.myapp.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간 히스토그램 (로그-선형 버킷, 잠금/할당 없이 기록)
+ *
+ * 버킷 (HDR Histogram 과 같은 방식, 마이크로초 단위)
+ * - 0 ~ 15µs : 1µs 간격
+ * - 그 위로는 2배 구간(옥타브)마다 8칸 → 어느 값이든 상대 오차 12.5% 이내
+ * - 2^36µs (약 19시간) 이상은 마지막 칸
+ *
+ * 기록
+ * - 값 → 칸 번호는 비트 연산만 (Long.numberOfLeadingZeros), 칸 증가는 AtomicLongArray
+ *   → 요청 스레드에서 객체를 만들지 않고 잠금도 없다.
+ *
+ * 내보내기
+ * - Prometheus 는 le(이하) 경계가 고정된 누적 버킷을 쓴다. 내부 칸마다 그 칸의 상한을 넘지 않는
+ *   가장 작은 경계(EXPORT_BOUNDS)를 미리 구해 두고, 내보낼 때 더한다.
+ */
+public final class LatencyHistogram {
+
+    /** 옥타브당 칸 수 = 2^SUB_BITS */
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /** 1µs 간격 칸 수 (= 2 * SUB_COUNT, 첫 옥타브 시작값) */
+    private static final int LINEAR = SUB_COUNT * 2;
+
+    /** 가장 큰 옥타브 지수 (2^MAX_EXP µs 이상은 마지막 칸) */
+    private static final int MAX_EXP = 36;
+
+    private static final int LINEAR_EXP = Integer.numberOfTrailingZeros(LINEAR); // 4
+
+    static final int BUCKETS = LINEAR + (MAX_EXP - LINEAR_EXP) * SUB_COUNT;
+
+    /** 내보내는 le 경계 (초), 마지막 +Inf 는 따로 */
+    public static final double[] EXPORT_BOUNDS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+
+    /** 내부 칸 → EXPORT_BOUNDS 위치 (어느 경계에도 안 들어가면 EXPORT_BOUNDS.length = +Inf) */
+    private static final int[] EXPORT_INDEX = new int[BUCKETS];
+
+    static {
+        for (int i = 0; i < BUCKETS; i++) {
+            double upperSeconds = upperMicros(i) / 1_000_000.0;
+            int e = 0;
+            while (e < EXPORT_BOUNDS.length && EXPORT_BOUNDS[e] < upperSeconds) {
+                e++;
+            }
+            EXPORT_INDEX[i] = e;
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sumNanos = new LongAdder();
+
+    /** 한 번 기록 (할당 없음) */
+    public void record(long nanos) {
+        counts.incrementAndGet(index(Math.max(0, nanos) / 1_000));
+        sumNanos.add(nanos);
+    }
+
+    /** 마이크로초 값 → 칸 번호 */
+    static int index(long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(micros);
+        if (exp >= MAX_EXP) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return LINEAR + (exp - LINEAR_EXP) * SUB_COUNT + sub;
+    }
+
+    /** 칸 상한 (µs, 이 값 미만이 칸에 들어감) */
+    static long upperMicros(int index) {
+        if (index < LINEAR) {
+            return index + 1;
+        }
+        int exp = LINEAR_EXP + (index - LINEAR) / SUB_COUNT;
+        int sub = (index - LINEAR) % SUB_COUNT;
+        return (long) (SUB_COUNT + sub + 1) << (exp - SUB_BITS);
+    }
+
+    // ===== 읽기 (내보내기, 통계) =====
+
+    /**
+     * Prometheus 누적 버킷 (EXPORT_BOUNDS 순서, 마지막 원소는 +Inf = 전체 개수)
+     * - 기록 중에 읽어도 되지만 칸끼리 같은 시점 값은 아니다. (누적이라 단조 증가는 유지)
+     */
+    public long[] cumulative() {
+        long[] out = new long[EXPORT_BOUNDS.length + 1];
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                out[EXPORT_INDEX[i]] += c;
+            }
+        }
+        for (int e = 1; e < out.length; e++) {
+            out[e] += out[e - 1];
+        }
+        return out;
+    }
+
+    /** 전체 개수 */
+    public long count() {
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            n += counts.get(i);
+        }
+        return n;
+    }
+
+    /** 합계 (초) */
+    public double sumSeconds() {
+        return sumNanos.sum() / 1_000_000_000.0;
+    }
+
+    /**
+     * 분위수 근사값 (ms, 칸 상한 기준)
+     *
+     * @param q 0.0 ~ 1.0 (예: 0.99)
+     */
+    public double percentileMillis(double q) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperMicros(i) / 1_000.0;
+            }
+        }
+        return upperMicros(BUCKETS - 1) / 1_000.0;
+    }
+}
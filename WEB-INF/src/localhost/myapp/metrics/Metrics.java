@@ -0,0 +1,157 @@
+package localhost.myapp.metrics;
+
+import localhost.myapp.dto.ServiceResult;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 요청 지표 모음 (경로별 지연 히스토그램 / 처리 중 요청 수 / ServiceResult 실패 수)
+ *
+ * - 경로(route)는 "메서드 + 서블릿 매핑 패턴" (예: "GET /api/board/*", 정적 파일/404 는 "GET (default)")
+ *   요청 URL 이 아니라 web.xml/@WebServlet 의 매핑이 키이므로 스캐너가 보내는 이상한 URL 이 경로 종류를 늘리지 않는다.
+ * - 메서드는 METHODS 에 있는 것만 이름에 쓰고, 그 외는 "OTHER" 하나로 합친다.
+ * - 경로마다 응답 상태 종류(1xx ~ 5xx)별 LatencyHistogram 하나씩
+ * - 그래도 경로 종류가 MAX_ROUTES 를 넘으면 "(other)" 로 합친다. (SqlStats 와 같은 방식)
+ * - 경로 찾기(route)는 패턴 → 메서드별 배열 조회뿐이고, 기록(record, failure)은 배열/Atomic 증가만 한다. (할당 없음)
+ *
+ * 내보내기는 MetricsServlet (/metrics, Prometheus 형식)
+ */
+public final class Metrics {
+
+    /** 경로 종류 최대 개수 */
+    private static final int MAX_ROUTES = 200;
+
+    private static final String OTHER = "(other)";
+
+    /** 경로 이름에 쓰는 HTTP 메서드 (마지막 OTHER = 그 외 전부) */
+    private static final String[] METHODS = { "GET", "HEAD", "POST", "PUT", "DELETE", "OPTIONS", "PATCH", "OTHER" };
+
+    /** ServiceResult.code 종류 (null = 일반 실패) */
+    static final String[] CODES = { "NONE", ServiceResult.NOT_FOUND, ServiceResult.FORBIDDEN,
+            ServiceResult.CONFLICT, ServiceResult.TOO_LARGE, ServiceResult.PENDING, "OTHER" };
+
+    /** 경로 하나의 지표 */
+    public static final class Route {
+        final String name;
+        final LatencyHistogram[] byClass = new LatencyHistogram[5]; // 1xx ~ 5xx
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        Route(String name) {
+            this.name = name;
+            for (int i = 0; i < byClass.length; i++) {
+                byClass[i] = new LatencyHistogram();
+            }
+        }
+
+        /** 요청 시작 (처리 중 +1) */
+        public void begin() {
+            inFlight.incrementAndGet();
+        }
+
+        /** 요청 끝 (처리 중 -1, 상태 종류별 히스토그램에 기록) */
+        public void end(int status, long nanos) {
+            inFlight.decrementAndGet();
+            int c = status / 100 - 1;
+            byClass[c < 0 || c > 4 ? 4 : c].record(nanos); // 이상한 상태코드는 5xx 로
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        /** 상태 종류별 히스토그램 (0 = 1xx ... 4 = 5xx) */
+        public LatencyHistogram histogram(int statusClassIndex) {
+            return byClass[statusClassIndex];
+        }
+    }
+
+    /** 이름 → 경로 (내보내기용) */
+    private static final Map<String, Route> ROUTES = new ConcurrentHashMap<>();
+
+    /** 매핑 패턴 → 메서드(METHODS 위치)별 경로 (패턴 수는 서블릿 매핑 수만큼이라 제한 없음) */
+    private static final Map<String, Route[]> BY_PATTERN = new ConcurrentHashMap<>();
+
+    /** code 순서(CODES) × HTTP 상태(0 ~ 599) 별 실패 수 */
+    private static final AtomicLongArray FAILURES = new AtomicLongArray(CODES.length * 600);
+
+    private Metrics() {
+    }
+
+    /**
+     * 요청의 경로 지표 (처음 보는 조합일 때만 만든다)
+     *
+     * @param method  HTTP 메서드
+     * @param pattern 서블릿 매핑 패턴 (HttpServletMapping.getPattern(), null 가능)
+     */
+    public static Route route(String method, String pattern) {
+        if (pattern == null) {
+            pattern = "(none)";
+        }
+        int m = methodIndex(method);
+        Route[] byMethod = BY_PATTERN.get(pattern);
+        if (byMethod != null) {
+            Route r = byMethod[m];
+            if (r != null) {
+                return r;
+            }
+        }
+        return create(m, pattern);
+    }
+
+    private static Route create(int m, String pattern) {
+        Route[] byMethod = BY_PATTERN.computeIfAbsent(pattern, p -> new Route[METHODS.length]);
+
+        String name = METHODS[m] + " " + (pattern.isEmpty() ? "/" : "/".equals(pattern) ? "(default)" : pattern);
+        if (ROUTES.size() >= MAX_ROUTES && !ROUTES.containsKey(name)) {
+            name = OTHER;
+        }
+        Route r = ROUTES.computeIfAbsent(name, Route::new);
+        byMethod[m] = r; // 동시에 만들어도 같은 Route (ROUTES 가 하나만 보관)
+        return r;
+    }
+
+    private static int methodIndex(String method) {
+        for (int i = 0; i < METHODS.length - 1; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return METHODS.length - 1;
+    }
+
+    /** 경로별 지표 (읽기 전용 뷰) */
+    public static Map<String, Route> routes() {
+        return Collections.unmodifiableMap(ROUTES);
+    }
+
+    /**
+     * 실패 응답 1건 (Json.write 에서 success=false 인 ServiceResult 를 쓸 때)
+     */
+    public static void failure(int status, String code) {
+        int c = CODES.length - 1; // OTHER
+        if (code == null) {
+            c = 0;
+        } else {
+            for (int i = 1; i < CODES.length - 1; i++) {
+                if (CODES[i].equals(code)) {
+                    c = i;
+                    break;
+                }
+            }
+        }
+        FAILURES.incrementAndGet(c * 600 + (status < 0 || status >= 600 ? 0 : status));
+    }
+
+    /** 실패 수 (code 위치, 상태코드) */
+    static long failures(int codeIndex, int status) {
+        return FAILURES.get(codeIndex * 600 + status);
+    }
+}
@@ -0,0 +1,281 @@
+package localhost.myapp.metrics;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebInitParam;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.board.BoardService;
+import localhost.myapp.common.AsyncWork;
+import localhost.myapp.common.DB;
+import localhost.myapp.common.ResponseCache;
+import localhost.myapp.common.jdbc.InstrumentedDataSource;
+import localhost.myapp.common.jdbc.ReplicaDataSource;
+import localhost.myapp.common.jdbc.SqlStats;
+import localhost.myapp.common.log.AccessLog;
+import localhost.myapp.news.GoogleNewsServlet;
+import localhost.myapp.news.NewsArchive;
+import localhost.myapp.news.NewsFeed;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GET /metrics : Prometheus 텍스트 형식 지표
+ *
+ * - http_request_duration_seconds : 경로/상태 종류별 처리 시간 히스토그램 (MetricsFilter)
+ * - http_requests_in_flight : 경로별 처리 중 요청 수
+ * - service_result_failures_total : 실패 ServiceResult 수 (code, 상태코드별)
+ * - db_connection_acquire_seconds / db_connection_hold_seconds : 풀별 커넥션 획득 대기 / 점유 시간 (InstrumentedDataSource)
+ * - 그 밖에 이미 있던 통계: 응답 캐시, SQL 문장별 실행, 읽기 복제본, 비동기 작업, 접근 로그, 뉴스 피드/보관함
+ *
+ * 값은 요청이 올 때 모아서 만든다. (수집 주기 사이에 하는 일 없음)
+ *
+ * init-param
+ * - allow : 접근을 허용할 원격 주소 (쉼표 구분, * 이면 모두, 기본 로컬만)
+ *   SQL 문장 등이 보이므로 외부에 열지 않는다. 수집 서버 주소만 추가한다.
+ */
+@WebServlet(urlPatterns = "/metrics", initParams = {
+        @WebInitParam(name = "allow", value = "127.0.0.1,0:0:0:0:0:0:0:1") })
+public class MetricsServlet extends HttpServlet {
+
+    private static final String[] STATUS_CLASSES = { "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private final Set<String> allow = new HashSet<>();
+    private boolean allowAll;
+
+    @Override
+    public void init() throws ServletException {
+        String v = getInitParameter("allow");
+        if (v != null) {
+            for (String a : v.split(",")) {
+                if (!a.isBlank()) {
+                    allow.add(a.trim());
+                }
+            }
+        }
+        allowAll = allow.contains("*");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+
+        if (!allowAll && !allow.contains(req.getRemoteAddr())) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        PrometheusText out = new PrometheusText();
+        requests(out);
+        failures(out);
+        caches(out);
+        sql(out);
+        pools(out);
+        replica(out);
+        async(out);
+        accessLog(out);
+        news(out);
+
+        resp.setStatus(200);
+        resp.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+        resp.setHeader("Cache-Control", "no-store");
+        resp.getWriter().write(out.toString());
+    }
+
+    // ===== 요청 =====
+
+    private void requests(PrometheusText out) {
+
+        Map<String, Metrics.Route> routes = Metrics.routes();
+
+        out.header("http_request_duration_seconds", "histogram", "요청 처리 시간 (경로, 응답 상태 종류별)");
+        for (Metrics.Route r : routes.values()) {
+            for (int c = 0; c < STATUS_CLASSES.length; c++) {
+                histogram(out, "http_request_duration_seconds", r.histogram(c),
+                        "route", r.name, "status", STATUS_CLASSES[c]);
+            }
+        }
+
+        out.header("http_requests_in_flight", "gauge", "처리 중 요청 수 (경로별)");
+        for (Metrics.Route r : routes.values()) {
+            out.sample("http_requests_in_flight", r.getInFlight(), "route", r.name);
+        }
+    }
+
+    /**
+     * 히스토그램 하나의 _bucket / _sum / _count (한 번도 기록이 없으면 생략)
+     *
+     * @param labels 이름, 값 ... (le 는 여기서 붙인다)
+     */
+    private static void histogram(PrometheusText out, String name, LatencyHistogram h, String... labels) {
+        long[] cum = h.cumulative();
+        long count = cum[cum.length - 1];
+        if (count == 0) {
+            return;
+        }
+        String[] le = Arrays.copyOf(labels, labels.length + 2);
+        le[labels.length] = "le";
+        for (int e = 0; e < LatencyHistogram.EXPORT_BOUNDS.length; e++) {
+            le[labels.length + 1] = PrometheusText.le(LatencyHistogram.EXPORT_BOUNDS[e]);
+            out.sample(name + "_bucket", cum[e], le);
+        }
+        le[labels.length + 1] = "+Inf";
+        out.sample(name + "_bucket", count, le);
+        out.sample(name + "_sum", h.sumSeconds(), labels);
+        out.sample(name + "_count", count, labels);
+    }
+
+    private void failures(PrometheusText out) {
+        out.header("service_result_failures_total", "counter", "실패 ServiceResult 응답 수 (code, HTTP 상태별)");
+        for (int c = 0; c < Metrics.CODES.length; c++) {
+            for (int status = 0; status < 600; status++) {
+                long n = Metrics.failures(c, status);
+                if (n > 0) {
+                    out.sample("service_result_failures_total", n,
+                            "code", Metrics.CODES[c], "status", Integer.toString(status));
+                }
+            }
+        }
+    }
+
+    // ===== 기존 통계 =====
+
+    private void caches(PrometheusText out) {
+        ResponseCache c = BoardService.responseCache();
+        out.header("response_cache_hits_total", "counter", "응답 캐시 적중 수").sample("response_cache_hits_total",
+                c.getHits(), "cache", c.getName());
+        out.header("response_cache_misses_total", "counter", "응답 캐시 실패 수").sample("response_cache_misses_total",
+                c.getMisses(), "cache", c.getName());
+        out.header("response_cache_evictions_total", "counter", "응답 캐시 제거 수")
+                .sample("response_cache_evictions_total", c.getEvictions(), "cache", c.getName());
+        out.header("response_cache_bytes", "gauge", "응답 캐시 사용 바이트").sample("response_cache_bytes",
+                c.getUsedBytes(), "cache", c.getName());
+        out.header("response_cache_max_bytes", "gauge", "응답 캐시 최대 바이트").sample("response_cache_max_bytes",
+                c.getMaxBytes(), "cache", c.getName());
+    }
+
+    private void sql(PrometheusText out) {
+        Map<String, SqlStats.Stat> stats = SqlStats.snapshot();
+
+        out.header("sql_calls_total", "counter", "SQL 문장별 실행 수");
+        stats.forEach((sql, s) -> out.sample("sql_calls_total", s.getCalls(), "sql", sql));
+        out.header("sql_errors_total", "counter", "SQL 문장별 오류 수");
+        stats.forEach((sql, s) -> out.sample("sql_errors_total", s.getErrors(), "sql", sql));
+        out.header("sql_seconds_total", "counter", "SQL 문장별 실행 시간 합계");
+        stats.forEach((sql, s) -> out.sample("sql_seconds_total", s.getTotalNanos() / 1e9, "sql", sql));
+        out.header("sql_max_seconds", "gauge", "SQL 문장별 가장 오래 걸린 실행");
+        stats.forEach((sql, s) -> out.sample("sql_max_seconds", s.getMaxNanos() / 1e9, "sql", sql));
+        out.header("sql_rows_total", "counter", "SQL 문장별 읽거나 바꾼 행 수");
+        stats.forEach((sql, s) -> out.sample("sql_rows_total", s.getRows(), "sql", sql));
+    }
+
+    private void pools(PrometheusText out) {
+        List<InstrumentedDataSource> pools = InstrumentedDataSource.all();
+        if (pools.isEmpty()) {
+            return; // 아직 DB 를 쓰지 않았거나 JNDI DataSource 가 없는 환경
+        }
+        for (InstrumentedDataSource p : pools) {
+            p.checkLeaks();
+        }
+
+        out.header("db_connection_acquire_seconds", "histogram", "커넥션 획득 대기 시간 (풀별)");
+        for (InstrumentedDataSource p : pools) {
+            histogram(out, "db_connection_acquire_seconds", p.acquireHistogram(), "pool", p.getName());
+        }
+        out.header("db_connection_hold_seconds", "histogram", "커넥션 점유 시간 (빌린 뒤 반납까지, 풀별)");
+        for (InstrumentedDataSource p : pools) {
+            histogram(out, "db_connection_hold_seconds", p.holdHistogram(), "pool", p.getName());
+        }
+        out.header("db_connections_active", "gauge", "빌려 가서 아직 반납하지 않은 커넥션 수");
+        for (InstrumentedDataSource p : pools) {
+            out.sample("db_connections_active", p.getActive(), "pool", p.getName());
+        }
+        out.header("db_connection_acquire_failures_total", "counter", "커넥션 획득 실패 수");
+        for (InstrumentedDataSource p : pools) {
+            out.sample("db_connection_acquire_failures_total", p.getAcquireFailures(), "pool", p.getName());
+        }
+        out.header("db_connection_leaks_total", "counter", "반납 기한을 넘긴 커넥션 수 (누수 의심)");
+        for (InstrumentedDataSource p : pools) {
+            out.sample("db_connection_leaks_total", p.getLeaks(), "pool", p.getName());
+        }
+        out.header("db_slow_queries_total", "counter", "느린 문장 수 (myapp.db.slowQueryMs 이상)");
+        for (InstrumentedDataSource p : pools) {
+            out.sample("db_slow_queries_total", p.getSlowQueries(), "pool", p.getName());
+        }
+    }
+
+    private void replica(PrometheusText out) {
+        ReplicaDataSource r;
+        try {
+            r = DB.getReadDataSource();
+        } catch (LinkageError e) {
+            return; // JNDI DataSource 가 없는 환경 (DB 초기화 실패)
+        }
+        out.header("db_read_connections_total", "counter", "읽기 커넥션 수 (복제본 / primary)")
+                .sample("db_read_connections_total", r.getReplicaReads(), "target", "replica")
+                .sample("db_read_connections_total", r.getPrimaryReads(), "target", "primary");
+        out.single("db_replica_failures_total", "counter", "복제본 연결 실패 수", r.getReplicaFailures());
+        out.single("db_replica_blocked", "gauge", "복제본 차단 중이면 1", r.isReplicaBlocked() ? 1 : 0);
+    }
+
+    private void async(PrometheusText out) {
+        out.single("async_work_in_flight", "gauge", "비동기 작업 처리 중 수", AsyncWork.getInFlight());
+        out.single("async_work_started_total", "counter", "비동기로 시작한 작업 수", AsyncWork.getStarted());
+        out.single("async_work_timeouts_total", "counter", "시간 초과 작업 수", AsyncWork.getTimeouts());
+        out.single("async_work_rejected_total", "counter", "작업 스레드 부족으로 거절한 수", AsyncWork.getRejected());
+        out.single("async_work_inline_total", "counter", "요청 스레드에서 바로 처리한 수", AsyncWork.getInline());
+    }
+
+    private void accessLog(PrometheusText out) {
+        out.single("access_log_lines_total", "counter", "접근 로그 버퍼에 넣은 줄 수", AccessLog.getLogged());
+        out.single("access_log_dropped_total", "counter", "버퍼가 가득 차 버린 줄 수", AccessLog.getDropped());
+        out.single("access_log_sampled_out_total", "counter", "샘플링으로 뺀 요청 수", AccessLog.getSampledOut());
+        out.single("access_log_written_total", "counter", "파일에 쓴 줄 수", AccessLog.getWritten());
+        out.single("access_log_pending", "gauge", "버퍼에서 기다리는 줄 수", AccessLog.getPending());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void news(PrometheusText out) {
+
+        Object attr = getServletContext().getAttribute(GoogleNewsServlet.FEEDS_ATTRIBUTE);
+        if (attr instanceof Collection) {
+            Collection<NewsFeed> feeds = (Collection<NewsFeed>) attr;
+
+            out.header("news_feed_refreshes_total", "counter", "피드 갱신 시도 수");
+            for (NewsFeed f : feeds) {
+                out.sample("news_feed_refreshes_total", f.getRefreshes(), "feed", f.getName());
+            }
+            out.header("news_feed_updated_total", "counter", "새 목록을 받은 수 (200)");
+            for (NewsFeed f : feeds) {
+                out.sample("news_feed_updated_total", f.getUpdated(), "feed", f.getName());
+            }
+            out.header("news_feed_not_modified_total", "counter", "바뀐 것 없음 (304)");
+            for (NewsFeed f : feeds) {
+                out.sample("news_feed_not_modified_total", f.getNotModified(), "feed", f.getName());
+            }
+            out.header("news_feed_failures_total", "counter", "갱신 실패 수");
+            for (NewsFeed f : feeds) {
+                out.sample("news_feed_failures_total", f.getFailures(), "feed", f.getName());
+            }
+            out.header("news_feed_age_seconds", "gauge", "가지고 있는 목록의 나이");
+            for (NewsFeed f : feeds) {
+                out.sample("news_feed_age_seconds", f.getAgeMillis() / 1000.0, "feed", f.getName());
+            }
+        }
+
+        NewsArchive a = NewsArchive.shared();
+        out.single("news_archive_items_total", "counter", "보관함에 새로 넣은 기사 수", a.getArchived());
+        out.single("news_archive_dropped_total", "counter", "보관 대기가 가득 차 버린 목록 수", a.getDropped());
+        out.single("news_archive_ignored_total", "counter", "같은 링크 해시가 이미 있어 무시된 행 수", a.getIgnored());
+        out.single("news_archive_collisions_total", "counter", "다른 링크와 해시가 겹쳐 보관되지 않은 기사 수",
+                a.getCollisions());
+        out.single("news_archive_failures_total", "counter", "보관/정리 실패 수", a.getFailures());
+    }
+}
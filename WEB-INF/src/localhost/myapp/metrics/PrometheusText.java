@@ -0,0 +1,101 @@
+package localhost.myapp.metrics;
+
+/**
+ * Prometheus 텍스트 형식(0.0.4) 작성 도우미
+ *
+ * <pre>
+ * # HELP http_requests_in_flight 처리 중 요청 수
+ * # TYPE http_requests_in_flight gauge
+ * http_requests_in_flight{route="GET /api/board"} 3
+ * </pre>
+ *
+ * - 레이블 값의 \ " 줄바꿈은 이스케이프한다.
+ * - 같은 이름의 샘플은 header() 다음에 이어서 써야 한다. (형식 규칙)
+ */
+final class PrometheusText {
+
+    private final StringBuilder sb = new StringBuilder(16 * 1024);
+
+    /** # HELP / # TYPE */
+    PrometheusText header(String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /** 레이블 없는 샘플 */
+    PrometheusText sample(String name, double value) {
+        sb.append(name).append(' ');
+        number(value);
+        sb.append('\n');
+        return this;
+    }
+
+    /** header + 레이블 없는 샘플 하나 */
+    PrometheusText single(String name, String type, String help, double value) {
+        return header(name, type, help).sample(name, value);
+    }
+
+    /**
+     * 레이블 있는 샘플
+     *
+     * @param labels 이름, 값, 이름, 값 ...
+     */
+    PrometheusText sample(String name, double value, String... labels) {
+        sb.append(name).append('{');
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(labels[i]).append("=\"");
+            escape(labels[i + 1]);
+            sb.append('"');
+        }
+        sb.append("} ");
+        number(value);
+        sb.append('\n');
+        return this;
+    }
+
+    private void number(double v) {
+        if (v == (long) v) {
+            sb.append((long) v); // 정수는 소수점 없이
+        } else if (Double.isInfinite(v)) {
+            sb.append(v > 0 ? "+Inf" : "-Inf");
+        } else {
+            sb.append(v);
+        }
+    }
+
+    private void escape(String s) {
+        if (s == null) {
+            return;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+
+    /** le 레이블 값 (0.5 → "0.5", 1.0 → "1") */
+    static String le(double bound) {
+        return bound == (long) bound ? Long.toString((long) bound) : Double.toString(bound);
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
@@ -1,8 +1,11 @@
 package localhost.myapp.model;
 
+import java.time.Instant;
+
 public class Board {
     public int idx;
     public String title;
     public String content;
-    public String regDate;
+    public String excerpt;
+    public Instant regDate;
 }
@@ -1,9 +1,11 @@
 package localhost.myapp.model;
 
+import java.time.Instant;
+
 public class User {
     public int idx;
     public String id;
     public String password;
     public String email;
-    public String regDate;
+    public Instant regDate;
 }
\ No newline at end of file
@@ -1,101 +1,189 @@
 package localhost.myapp.news;
 
-import com.google.gson.Gson;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebInitParam;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-
-import org.w3c.dom.*;
-import javax.xml.parsers.*;
+import localhost.myapp.common.AsyncWork;
+import localhost.myapp.common.Json;
+import localhost.myapp.dto.ServiceResult;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.net.URI;
-import java.net.http.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-
-@WebServlet("/news/google-news")
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Google 뉴스 RSS 프록시
+ *
+ * - GET /news/google-news : 한국어 뉴스 목록 JSON 배열 [{ title, link, pubDate, source }]
+ * - GET /news/google-news?feeds=ko,en,topic:TECHNOLOGY : 여러 피드를 동시에 받아 합친 목록
+ *   · pubDate 최신순, 같은 기사(정규화한 제목/링크 해시)는 한 번만
+ *   · 피드마다 제한 시간(feedDeadlineMs) 안에 못 받으면 빼고 응답 (X-News-Missing 헤더에 이름)
+ * - GET /news/google-news/status : 피드 캐시 상태/갱신 통계
+ *
+ * 요청마다 Google 에 가지 않는다. NewsFeed 가 백그라운드에서 조건부 GET 으로 갱신한 목록을
+ * 미리 인코딩된 JSON 바이트 그대로 돌려준다. 새로 받은 기사는 NewsArchive 에도 쌓인다. (지난 기사 조회)
+ *
+ * init-param (web.xml 에서 같은 servlet-name 으로 바꿀 수 있음)
+ * - url : 한국어(ko) RSS 주소 (테스트 시 로컬 스텁 서버 주소로)
+ * - enUrl : 영어(en) RSS 주소
+ * - topicUrl : 주제별 RSS 주소 ({topic} 자리에 WORLD, TECHNOLOGY ...)
+ * - freshSeconds : 갱신 주기 / 신선한 것으로 보는 시간 (기본 300)
+ * - staleIfErrorSeconds : 원본 실패 시 예전 목록을 계속 줄 수 있는 시간 (기본 86400)
+ * - timeoutSeconds : 원본 요청 제한 시간 (기본 5)
+ * - maxItems : 피드당 최대 기사 수 (기본 100, 넘는 부분은 받지 않음)
+ * - feedDeadlineMs : 여러 피드를 합칠 때 피드 하나를 기다리는 최대 시간 (기본 2000)
+ */
+@WebServlet(name = "GoogleNewsServlet", urlPatterns = { "/news/google-news", "/news/google-news/status" },
+        loadOnStartup = 1, asyncSupported = true, initParams = {
+                @WebInitParam(name = "url", value = "https://news.google.com/rss?hl=ko&gl=KR&ceid=KR:ko"),
+                @WebInitParam(name = "enUrl", value = "https://news.google.com/rss?hl=en-US&gl=US&ceid=US:en"),
+                @WebInitParam(name = "topicUrl",
+                        value = "https://news.google.com/rss/headlines/section/topic/{topic}?hl=ko&gl=KR&ceid=KR:ko") })
 public class GoogleNewsServlet extends HttpServlet {
 
-    private static final String RSS_URL = "https://news.google.com/rss?hl=ko&gl=KR&ceid=KR:ko";
+    /** 목록이 없을 때(처음) 요청이 갱신을 기다리는 최대 시간 */
+    private static final long MAX_WAIT_MS = 3_000;
 
-    @Override
-    protected void doGet(HttpServletRequest req, HttpServletResponse resp)
-            throws ServletException, IOException {
+    /** 한 요청에서 합칠 수 있는 최대 피드 수 */
+    private static final int MAX_FEEDS = 5;
 
-        resp.setCharacterEncoding("UTF-8");
-        resp.setContentType("application/json; charset=UTF-8");
+    /** 피드 목록(Collection&lt;NewsFeed&gt;)을 올려 두는 ServletContext 속성 이름 (/metrics 에서 읽음) */
+    public static final String FEEDS_ATTRIBUTE = "news.feeds";
 
-        List<GoogleNews> items = new ArrayList<>();
+    private NewsFeeds feeds;
+    private NewsFeed defaultFeed;
+    private long feedDeadlineMs;
+    private int maxItems;
 
-        try {
-            // ───────────────────────────────────────────────
-            // 1) HttpClient로 RSS XML 가져오기
-            // ───────────────────────────────────────────────
-            HttpClient client = HttpClient.newHttpClient();
+    @Override
+    public void init() throws ServletException {
+        Map<String, String> urls = new LinkedHashMap<>();
+        urls.put("ko", getInitParameter("url"));
+        urls.put("en", getInitParameter("enUrl"));
+
+        maxItems = (int) initParam("maxItems", 100);
+        feedDeadlineMs = initParam("feedDeadlineMs", 2_000);
+
+        feeds = new NewsFeeds(urls, getInitParameter("topicUrl"),
+                initParam("freshSeconds", 300) * 1000L,
+                initParam("staleIfErrorSeconds", 86_400) * 1000L,
+                initParam("timeoutSeconds", 5) * 1000L,
+                maxItems, NewsArchive.shared()); // 새 목록은 보관함에도 (GET /news/archive)
+        defaultFeed = feeds.get("ko"); // 기본 피드는 바로 갱신 시작
+        getServletContext().setAttribute(FEEDS_ATTRIBUTE, feeds.all()); // 나중에 생기는 피드도 보이는 뷰
+    }
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(RSS_URL))
-                    .GET()
-                    .build();
+    @Override
+    public void destroy() {
+        if (feeds != null) {
+            getServletContext().removeAttribute(FEEDS_ATTRIBUTE);
+            feeds.stop();
+        }
+    }
 
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
 
-            String xml = response.body();
+        if (req.getServletPath().endsWith("/status")) {
+            List<Map<String, Object>> stats = new ArrayList<>();
+            for (NewsFeed f : feeds.all()) {
+                stats.add(f.stats());
+            }
+            Json.write(resp, 200, stats);
+            return;
+        }
 
-            // ───────────────────────────────────────────────
-            // 2) XML String → Document 파싱
-            // ───────────────────────────────────────────────
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
+        // feeds 파라미터 → 이름 목록 (중복 제거, 순서 유지)
+        Set<String> names = new LinkedHashSet<>();
+        String param = req.getParameter("feeds");
+        if (param != null) {
+            for (String n : param.split(",")) {
+                if (!n.isBlank()) {
+                    names.add(n.trim());
+                }
+            }
+        }
+        if (names.size() > MAX_FEEDS) {
+            Json.write(resp, 400, ServiceResult.fail("feeds 는 최대 " + MAX_FEEDS + "개까지 가능합니다."));
+            return;
+        }
+        for (String n : names) {
+            if (feeds.get(n) == null) {
+                Json.write(resp, 400, ServiceResult.fail("알 수 없는 피드입니다: " + n
+                        + " (ko, en, topic:" + String.join("|", new TreeSet<>(NewsFeeds.TOPICS)) + ")"));
+                return;
+            }
+        }
 
-            Document doc = builder.parse(new java.io.ByteArrayInputStream(xml.getBytes()));
-            doc.getDocumentElement().normalize();
+        if (names.isEmpty() || (names.size() == 1 && names.contains("ko"))) {
+            single(resp, defaultFeed.get(MAX_WAIT_MS), defaultFeed);
+            return;
+        }
+        if (names.size() == 1) {
+            NewsFeed f = feeds.get(names.iterator().next());
+            single(resp, f.get(MAX_WAIT_MS), f);
+            return;
+        }
 
-            NodeList itemNodes = doc.getElementsByTagName("item");
+        // 여러 피드: 기다리는 동안 요청 스레드를 잡지 않도록 비동기로
+        List<String> list = new ArrayList<>(names);
+        AsyncWork.start(req, resp, feedDeadlineMs + MAX_WAIT_MS,
+                (rq, rs) -> merged(rs, feeds.merge(list, feedDeadlineMs, maxItems)),
+                (rq, rs) -> Json.write(rs, HttpServletResponse.SC_GATEWAY_TIMEOUT, Collections.emptyList()));
+    }
 
-            // ───────────────────────────────────────────────
-            // 3) 각 <item> 파싱
-            // ───────────────────────────────────────────────
-            for (int i = 0; i < itemNodes.getLength(); i++) {
-                Node node = itemNodes.item(i);
-                if (node.getNodeType() != Node.ELEMENT_NODE)
-                    continue;
+    /** 피드 하나 → 미리 인코딩된 바이트 그대로 */
+    private void single(HttpServletResponse resp, NewsFeed.Snapshot s, NewsFeed feed) throws IOException {
 
-                Element e = (Element) node;
+        if (s == null) {
+            // 원본 실패 + 돌려줄 캐시 없음 (형식은 예전처럼 빈 배열)
+            Json.write(resp, HttpServletResponse.SC_BAD_GATEWAY, Collections.emptyList());
+            return;
+        }
 
-                GoogleNews news = new GoogleNews();
-                news.title = getText(e, "title");
-                news.link = getText(e, "link");
-                news.pubDate = getText(e, "pubDate");
+        // 브라우저/프록시도 남은 신선 시간 동안은 다시 묻지 않도록
+        long remain = Math.max(0, (feed.getFreshMs() - s.ageMillis()) / 1000);
+        resp.setHeader("Cache-Control", "public, max-age=" + remain);
 
-                NodeList sourceNodes = e.getElementsByTagName("source");
-                if (sourceNodes.getLength() > 0) {
-                    news.source = sourceNodes.item(0).getTextContent();
-                }
+        byte[] json = s.getJson();
+        resp.setStatus(200);
+        resp.setContentType("application/json; charset=UTF-8");
+        resp.setContentLength(json.length);
+        resp.getOutputStream().write(json);
+    }
 
-                items.add(news);
-            }
+    /** 여러 피드 합친 결과 (일부 피드가 빠져도 200, 모두 빠지면 502) */
+    private void merged(HttpServletResponse resp, NewsFeeds.Merged m) throws IOException {
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        if (!m.missing.isEmpty()) {
+            resp.setHeader("X-News-Missing", String.join(",", m.missing));
         }
-
-        // 결과 JSON 출력
-        String json = new Gson().toJson(items);
-        try (PrintWriter out = resp.getWriter()) {
-            out.print(json);
+        if (m.items.isEmpty() && !m.missing.isEmpty()) {
+            Json.write(resp, HttpServletResponse.SC_BAD_GATEWAY, Collections.emptyList());
+            return;
         }
+
+        // 빠진 피드가 있으면 캐시하지 않음 (곧 다시 받아질 수 있으므로)
+        resp.setHeader("Cache-Control", m.missing.isEmpty() ? "public, max-age=" + m.maxAgeSeconds : "no-store");
+        Json.write(resp, 200, m.items);
     }
 
-    private String getText(Element parent, String tagName) {
-        NodeList list = parent.getElementsByTagName(tagName);
-        if (list.getLength() == 0)
-            return null;
-        return list.item(0).getTextContent();
+    /** 숫자 init-param (없으면 defaultValue) */
+    private long initParam(String name, long defaultValue) {
+        String v = getInitParameter(name);
+        if (v == null || v.isBlank()) {
+            return defaultValue;
+        }
+        return Long.parseLong(v.trim());
     }
 }
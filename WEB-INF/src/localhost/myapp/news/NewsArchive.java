@@ -0,0 +1,302 @@
+package localhost.myapp.news;
+
+import localhost.myapp.common.log.AccessLog;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 뉴스 보관함 (받아 온 기사를 DB 에 쌓아 두고 지난 기사를 페이지로 조회)
+ *
+ * 문제
+ * - GoogleNewsServlet 은 원본에 지금 있는 목록만 돌려준다. 원본에서 빠진 기사는 다시 볼 수 없다.
+ *
+ * 동작
+ * - 피드가 새 목록(200)을 받으면 updated() 로 알림 → 보관 스레드 하나가 INSERT IGNORE batch 로 저장
+ *   (피드 갱신 스레드는 DB 를 기다리지 않는다. 대기가 MAX_PENDING 을 넘으면 그 목록은 버리고 다음 갱신 때 다시)
+ * - 같은 link_hash 가 이미 있어 무시된 행은 ignored 로 센다. 이미 있는 행의 링크가 정규화했을 때도 다르면
+ *   (다른 기사가 같은 키를 받음 → 이 기사는 보관되지 않음) collisions 로 세고 news.archive.collision 이벤트로 기록
+ * - 최근 보관한 링크 해시를 메모리(LRU)에 두고, 이미 넣은 기사는 DB 로 보내지 않는다.
+ *   (갱신마다 바뀌는 기사는 몇 건뿐이므로 100건을 매번 다시 보내지 않음)
+ * - 조회는 (published_at, id) 키셋 페이징 → 깊은 페이지도 OFFSET 없이 인덱스 범위로
+ * - 보관 기간(retentionDays)이 지난 기사는 한 시간마다 나눠서 삭제 (compact)
+ */
+public final class NewsArchive implements NewsFeed.Listener {
+
+    private static final NewsArchive SHARED = new NewsArchive(new NewsArchiveDao());
+
+    /** 보관 스레드에 쌓일 수 있는 최대 목록 수 */
+    private static final int MAX_PENDING = 32;
+
+    /** 메모리에 기억하는 최근 링크 해시 수 */
+    private static final int SEEN_MAX = 20_000;
+
+    /** 삭제 한 문장당 행 수 */
+    private static final int DELETE_CHUNK = 1_000;
+
+    /** 조회 한 페이지 최대 크기 */
+    public static final int MAX_LIMIT = 100;
+
+    private final NewsArchiveDao dao;
+    private final ScheduledExecutorService worker;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** 최근 보관한 링크 해시 (보관 스레드에서만 사용 → 동기화 불필요) */
+    private final Map<String, Boolean> seen = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > SEEN_MAX;
+        }
+    };
+
+    private ScheduledFuture<?> compaction;
+    private volatile long retentionDays;
+
+    // 통계
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong ignored = new AtomicLong();
+    private final AtomicLong collisions = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong compacted = new AtomicLong();
+    private volatile long lastCompactAt;
+    private volatile String lastError;
+
+    NewsArchive(NewsArchiveDao dao) {
+        this.dao = dao;
+        this.worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "news-archive");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** 애플리케이션 공용 보관함 */
+    public static NewsArchive shared() {
+        return SHARED;
+    }
+
+    // ===== 수명 =====
+
+    /** 보관 기간 정리 시작 (1분 뒤 한 번, 이후 1시간 간격) */
+    public synchronized void start(long retentionDays) {
+        this.retentionDays = retentionDays;
+        if (compaction == null) {
+            compaction = worker.scheduleWithFixedDelay(this::compactQuietly, 1, 60, TimeUnit.MINUTES);
+        }
+    }
+
+    public synchronized void stop() {
+        worker.shutdownNow();
+    }
+
+    // ===== 보관 =====
+
+    /** 피드 갱신 스레드에서 호출 → 보관 스레드로 넘기고 바로 반환 */
+    @Override
+    public void updated(String feed, List<GoogleNews> items) {
+        if (pending.incrementAndGet() > MAX_PENDING) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                try {
+                    archive(feed, items);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet(); // 종료 중
+            dropped.incrementAndGet();
+        }
+    }
+
+    /** 목록 중 처음 보는 기사만 저장 (보관 스레드) */
+    void archive(String feed, List<GoogleNews> items) {
+
+        List<GoogleNews> fresh = new ArrayList<>();
+        List<String> hashes = new ArrayList<>();
+        Set<String> inBatch = new HashSet<>();
+
+        for (GoogleNews n : items) {
+            if (n.link == null || n.link.isBlank()) {
+                continue; // 링크 없는 기사는 키가 없으므로 보관하지 않음
+            }
+            String h = NewsKeys.linkHash(n.link);
+            if (seen.get(h) != null || !inBatch.add(h)) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            fresh.add(n);
+            hashes.add(h);
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            boolean[] inserted = dao.insertIgnore(feed, fresh, hashes, Instant.now());
+            for (String h : hashes) {
+                seen.put(h, Boolean.TRUE); // 저장에 성공한 것만 (실패하면 다음 갱신 때 다시)
+            }
+
+            List<GoogleNews> dupItems = new ArrayList<>();
+            List<String> dupHashes = new ArrayList<>();
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i]) {
+                    archived.incrementAndGet();
+                } else {
+                    dupItems.add(fresh.get(i));
+                    dupHashes.add(hashes.get(i));
+                }
+            }
+            if (!dupItems.isEmpty()) {
+                ignored.addAndGet(dupItems.size());
+                checkCollisions(feed, dupItems, dupHashes);
+            }
+        } catch (SQLException e) {
+            failures.incrementAndGet();
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 무시된 행이 정말 같은 기사였는지 확인 (보관 스레드)
+     * - 이미 있는 행의 링크를 정규화해서 비교, 다르면 이 기사는 보관되지 않은 것이므로 기록
+     *   (재시작 직후처럼 seen 이 비어 있을 때 말고는 무시되는 행이 드물어서 추가 조회는 가끔뿐)
+     */
+    private void checkCollisions(String feed, List<GoogleNews> items, List<String> hashes) throws SQLException {
+        Map<String, String> existing = dao.findLinks(hashes);
+        for (int i = 0; i < items.size(); i++) {
+            String kept = existing.get(hashes.get(i));
+            String link = items.get(i).link;
+            if (kept != null && !NewsKeys.normalizeLink(kept).equals(NewsKeys.normalizeLink(link))) {
+                collisions.incrementAndGet();
+                AccessLog.event("news.archive.collision", "feed=" + feed + " link=" + link + " kept=" + kept);
+            }
+        }
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * 보관함 최신순 키셋 페이징
+     * - before 가 null/빈 문자열이면 첫 페이지
+     * - limit+1 개를 조회해서 다음 페이지가 실제로 있는지 정확히 판단
+     *
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않을 때
+     */
+    public NewsArchivePage page(String before, int limit) throws SQLException {
+        if (limit < 1)
+            limit = 20;
+        limit = Math.min(limit, MAX_LIMIT);
+
+        Instant beforeAt = null;
+        long beforeId = 0;
+        if (before != null && !before.isEmpty()) {
+            long[] c = NewsCursor.decode(before);
+            if (c == null) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            beforeAt = Instant.ofEpochMilli(c[0]);
+            beforeId = c[1];
+        }
+
+        List<NewsArchiveDao.Entry> rows = dao.findBefore(beforeAt, beforeId, limit + 1);
+
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit); // 판단용으로 더 가져온 1개 제외
+        }
+
+        List<GoogleNews> items = new ArrayList<>(rows.size());
+        for (NewsArchiveDao.Entry e : rows) {
+            items.add(e.news);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            NewsArchiveDao.Entry last = rows.get(rows.size() - 1);
+            nextCursor = NewsCursor.encode(last.publishedAt.toEpochMilli(), last.id);
+        }
+        return new NewsArchivePage(items, nextCursor, hasNext);
+    }
+
+    // ===== 정리 =====
+
+    /** 보관 기간이 지난 기사 삭제 → 지운 행 수 */
+    public int compact() throws SQLException {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int n = dao.deleteOlderThan(cutoff, DELETE_CHUNK);
+        compacted.addAndGet(n);
+        lastCompactAt = System.currentTimeMillis();
+        return n;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (SQLException e) {
+            failures.incrementAndGet();
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            e.printStackTrace();
+        }
+    }
+
+    // ===== 통계 =====
+
+    public long getArchived() {
+        return archived.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getIgnored() {
+        return ignored.get();
+    }
+
+    public long getCollisions() {
+        return collisions.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("retentionDays", retentionDays);
+        m.put("archived", archived.get());
+        m.put("skipped", skipped.get());
+        m.put("ignored", ignored.get());
+        m.put("collisions", collisions.get());
+        m.put("dropped", dropped.get());
+        m.put("pending", pending.get());
+        m.put("failures", failures.get());
+        m.put("compacted", compacted.get());
+        m.put("lastCompactAt", lastCompactAt);
+        m.put("lastError", lastError);
+        return m;
+    }
+}
@@ -0,0 +1,178 @@
+package localhost.myapp.news;
+
+import localhost.myapp.common.DB;
+import localhost.myapp.common.jdbc.Jdbc;
+import localhost.myapp.common.jdbc.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 뉴스 보관함 DAO (받아 온 기사를 쌓아 두고 최신순으로 페이지 조회)
+ *
+ * - 추가만 한다. 같은 기사(정규화한 링크 해시)는 INSERT IGNORE 로 한 번만 들어간다. (수정 없음)
+ *   무시된 행은 insertIgnore 결과로 알려 주고, NewsArchive 가 개수를 세고 다른 링크와 겹친 경우를 기록한다.
+ * - 정렬/페이징 키는 (published_at, id) : 같은 시각 기사가 여러 개여도 순서가 정해진다.
+ * - 보관 기간이 지난 행은 compact 에서 조금씩 나눠 지운다.
+ *
+ * 필요한 스키마:
+ *
+ * <pre>
+ * CREATE TABLE news_archive (
+ *     id           BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+ *     link_hash    CHAR(64)     NOT NULL,              -- NewsKeys.linkHash(link)
+ *     feed         VARCHAR(40)  NOT NULL,              -- 처음 받은 피드 이름 (ko, en, topic:...)
+ *     title        VARCHAR(500) NOT NULL,
+ *     link         VARCHAR(2000) NOT NULL,
+ *     source       VARCHAR(200) NULL,
+ *     pub_date     VARCHAR(64)  NULL,                  -- RSS 원문 그대로 (응답 형식 유지)
+ *     published_at DATETIME(3)  NOT NULL,              -- pub_date 파싱 (실패하면 보관 시각)
+ *     archived_at  DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+ *     UNIQUE KEY uk_news_archive_link (link_hash),
+ *     KEY ix_news_archive_published (published_at, id)
+ * );
+ * </pre>
+ */
+public class NewsArchiveDao {
+
+    /** 보관된 기사 한 건 (페이징 키 포함) */
+    public static final class Entry {
+        public final long id;
+        public final Instant publishedAt;
+        public final GoogleNews news;
+
+        Entry(long id, Instant publishedAt, GoogleNews news) {
+            this.id = id;
+            this.publishedAt = publishedAt;
+            this.news = news;
+        }
+    }
+
+    /** link_hash → link */
+    static final RowMapper<String[]> HASH_LINK = RowMapper.of(
+            (rs, c) -> new String[] { rs.getString(c[0]), rs.getString(c[1]) }, "link_hash", "link");
+
+    static final RowMapper<Entry> ENTRY = RowMapper.of((rs, c) -> {
+        GoogleNews n = new GoogleNews();
+        n.title = rs.getString(c[2]);
+        n.link = rs.getString(c[3]);
+        n.source = rs.getString(c[4]);
+        n.pubDate = rs.getString(c[5]);
+        return new Entry(rs.getLong(c[0]), Jdbc.instant(rs, c[1]), n);
+    }, "id", "published_at", "title", "link", "source", "pub_date");
+
+    private final Jdbc jdbc = new Jdbc(DB.getDataSource(), DB.getReadDataSource());
+
+    /**
+     * 기사 여러 건 보관 (JDBC batch 한 번, 이미 있는 링크는 무시)
+     *
+     * @param hashes items 와 같은 순서의 링크 해시
+     * @return items 와 같은 순서의 결과 (false = 같은 link_hash 가 이미 있어 무시됨,
+     *         드라이버가 행 수를 알려 주지 않으면 true 로 본다)
+     */
+    public boolean[] insertIgnore(String feed, List<GoogleNews> items, List<String> hashes, Instant now)
+            throws SQLException {
+
+        if (items.isEmpty()) {
+            return new boolean[0];
+        }
+
+        String sql = "INSERT IGNORE INTO news_archive "
+                + "(link_hash, feed, title, link, source, pub_date, published_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        return jdbc.withConnection(con -> {
+
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+
+                for (int i = 0; i < items.size(); i++) {
+                    GoogleNews n = items.get(i);
+                    long at = NewsKeys.pubDateMillis(n.pubDate);
+
+                    Jdbc.bind(ps, hashes.get(i), feed, cut(n.title, 500), cut(n.link, 2000), cut(n.source, 200),
+                            cut(n.pubDate, 64), at > 0 ? Instant.ofEpochMilli(at) : now);
+                    ps.addBatch();
+                }
+
+                int[] counts = ps.executeBatch();
+                boolean[] inserted = new boolean[items.size()];
+                for (int i = 0; i < inserted.length; i++) {
+                    int r = i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO;
+                    inserted[i] = r != 0; // IGNORE 로 건너뛴 행은 0
+                }
+                return inserted;
+            }
+        });
+    }
+
+    /**
+     * 해시로 이미 보관된 링크 조회 (무시된 행이 정말 같은 기사였는지 확인용, 방금 쓴 것이므로 primary)
+     *
+     * @return link_hash → link
+     */
+    public Map<String, String> findLinks(List<String> hashes) throws SQLException {
+
+        Map<String, String> links = new HashMap<>();
+        if (hashes.isEmpty()) {
+            return links;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT " + HASH_LINK.columns()
+                + " FROM news_archive WHERE link_hash IN (");
+        for (int i = 0; i < hashes.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        for (String[] row : jdbc.primary().query(sql.toString(), HASH_LINK, hashes.toArray())) {
+            links.put(row[0], row[1]);
+        }
+        return links;
+    }
+
+    /**
+     * 최신순 키셋 페이징
+     *
+     * @param beforeAt null 이면 첫 페이지, 아니면 (beforeAt, beforeId) 보다 오래된 것부터
+     */
+    public List<Entry> findBefore(Instant beforeAt, long beforeId, int limit) throws SQLException {
+
+        if (beforeAt == null) {
+            String sql = "SELECT " + ENTRY.columns() + " FROM news_archive "
+                    + "ORDER BY published_at DESC, id DESC LIMIT ?";
+            return jdbc.query(sql, ENTRY, limit);
+        }
+
+        // (published_at, id) < (?, ?) 를 풀어 쓴 형태 (행 생성자 비교는 인덱스 범위로 못 쓰는 버전이 있음)
+        String sql = "SELECT " + ENTRY.columns() + " FROM news_archive "
+                + "WHERE published_at < ? OR (published_at = ? AND id < ?) "
+                + "ORDER BY published_at DESC, id DESC LIMIT ?";
+        return jdbc.query(sql, ENTRY, beforeAt, beforeAt, beforeId, limit);
+    }
+
+    /**
+     * cutoff 보다 오래된 기사 삭제 (chunk 건씩 나눠서, 한 문장이 잠금을 오래 잡지 않도록)
+     *
+     * @return 지운 행 수
+     */
+    public int deleteOlderThan(Instant cutoff, int chunk) throws SQLException {
+
+        String sql = "DELETE FROM news_archive WHERE published_at < ? ORDER BY published_at LIMIT ?";
+
+        int total = 0;
+        int n;
+        do {
+            n = jdbc.update(sql, cutoff, chunk);
+            total += n;
+        } while (n == chunk);
+        return total;
+    }
+
+    private static String cut(String s, int max) {
+        return s == null || s.length() <= max ? s : s.substring(0, max);
+    }
+}
@@ -0,0 +1,46 @@
+package localhost.myapp.news;
+
+import java.util.List;
+
+/**
+ * 뉴스 보관함 키셋(커서) 페이징 결과 DTO
+ *
+ * - items : 현재 페이지 기사 목록 (최신순, { title, link, pubDate, source })
+ * - nextCursor : 다음 페이지 요청 시 before 로 그대로 넘기는 커서 (마지막 페이지면 null)
+ * - hasNext : 다음 페이지 존재 여부 (limit+1 행을 조회해서 정확하게 판단)
+ */
+public class NewsArchivePage {
+
+    /** 현재 페이지 기사 목록 */
+    public List<GoogleNews> items;
+
+    /** 다음 페이지 커서 (없으면 null) */
+    public String nextCursor;
+
+    /** 다음 페이지 존재 여부 */
+    public boolean hasNext;
+
+    /** 기본 생성자 */
+    public NewsArchivePage() {
+    }
+
+    public NewsArchivePage(List<GoogleNews> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // ---------------------- Getter (JSP/EL 용) ----------------------
+
+    public List<GoogleNews> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,87 @@
+package localhost.myapp.news;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebInitParam;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import localhost.myapp.common.AsyncWork;
+import localhost.myapp.common.Json;
+import localhost.myapp.dto.ServiceResult;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * 뉴스 보관함 조회
+ *
+ * - GET /news/archive?before=&limit= : 지금까지 받아 온 기사 (최신순, 키셋 페이징)
+ *   · 응답 data = { items: [{ title, link, pubDate, source }], nextCursor, hasNext }
+ *   · 다음 페이지는 before=nextCursor (limit 최대 100, 기본 20)
+ * - GET /news/archive/status : 보관/정리 통계
+ *
+ * 보관은 GoogleNewsServlet 의 피드가 새 목록을 받을 때마다 NewsArchive 가 한다. (원본을 다시 받지 않음)
+ *
+ * init-param
+ * - retentionDays : 보관 기간 (기본 90, 지난 기사는 한 시간마다 삭제)
+ */
+@WebServlet(name = "NewsArchiveServlet", urlPatterns = { "/news/archive", "/news/archive/status" },
+        loadOnStartup = 1, asyncSupported = true, initParams = {
+                @WebInitParam(name = "retentionDays", value = "90") })
+public class NewsArchiveServlet extends HttpServlet {
+
+    /** DB 조회 제한 시간 */
+    private static final long TIMEOUT_MS = 5_000;
+
+    private final NewsArchive archive = NewsArchive.shared();
+
+    @Override
+    public void init() throws ServletException {
+        String v = getInitParameter("retentionDays");
+        archive.start(v == null || v.isBlank() ? 90 : Long.parseLong(v.trim()));
+    }
+
+    @Override
+    public void destroy() {
+        archive.stop();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+
+        if (req.getServletPath().endsWith("/status")) {
+            Json.write(resp, 200, archive.stats());
+            return;
+        }
+
+        AsyncWork.start(req, resp, TIMEOUT_MS, this::get, (rq, rs) -> {
+            rs.setHeader("Retry-After", "1");
+            Json.write(rs, 503, ServiceResult.fail("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도하세요."));
+        });
+    }
+
+    private void get(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+
+        int limit;
+        try {
+            String v = req.getParameter("limit");
+            limit = v == null || v.isBlank() ? 20 : Integer.parseInt(v.trim());
+        } catch (NumberFormatException e) {
+            Json.write(resp, 400, ServiceResult.fail("limit 은 숫자여야 합니다."));
+            return;
+        }
+
+        try {
+            NewsArchivePage page = archive.page(req.getParameter("before"), limit);
+            Json.write(resp, 200, ServiceResult.ok(page));
+
+        } catch (IllegalArgumentException e) {
+            Json.write(resp, 400, ServiceResult.fail(e.getMessage()));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Json.write(resp, 500, ServiceResult.fail("뉴스 보관함 조회 중 오류가 발생했습니다."));
+        }
+    }
+}
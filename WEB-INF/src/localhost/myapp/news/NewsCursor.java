@@ -0,0 +1,55 @@
+package localhost.myapp.news;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 뉴스 보관함 커서(cursor) 인코딩/디코딩 유틸
+ *
+ * - 마지막으로 본 기사의 (published_at, id) 를 클라이언트에 넘길 때 사용 (BoardCursor 와 같은 방식)
+ * - 형식: "v1:{publishedAt epoch millis}:{id}" → Base64URL (패딩 없음)
+ */
+public final class NewsCursor {
+
+    /** 커서 형식 버전 (형식을 바꾸면 올려서 구버전 커서를 거부) */
+    private static final String PREFIX = "v1:";
+
+    private NewsCursor() {
+    }
+
+    /** 마지막 기사 → 커서 문자열 */
+    public static String encode(long publishedAtMillis, long id) {
+        byte[] raw = (PREFIX + publishedAtMillis + ":" + id).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * 커서 문자열 → { publishedAt epoch millis, id }
+     *
+     * @return 올바르지 않은 커서이면 null
+     */
+    public static long[] decode(String cursor) {
+        if (cursor == null || cursor.isEmpty() || cursor.length() > 64) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                return null;
+            }
+
+            String[] parts = raw.substring(PREFIX.length()).split(":");
+            if (parts.length != 2) {
+                return null;
+            }
+            long at = Long.parseLong(parts[0]);
+            long id = Long.parseLong(parts[1]);
+            return at >= 0 && id > 0 ? new long[] { at, id } : null;
+
+        } catch (IllegalArgumentException e) {
+            // Base64 형식 오류, 숫자 형식 오류(NumberFormatException) 모두 여기로
+            return null;
+        }
+    }
+}
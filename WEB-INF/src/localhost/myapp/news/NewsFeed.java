@@ -0,0 +1,434 @@
+package localhost.myapp.news;
+
+import localhost.myapp.common.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * RSS 피드 하나의 메모리 캐시 (백그라운드 갱신 + 조건부 GET)
+ *
+ * 문제
+ * - 예전에는 요청마다 HttpClient 를 새로 만들고 RSS 를 받아 파싱했다.
+ *   → 우리 트래픽이 그대로 Google 트래픽/지연이 되고, 제한 시간도 없었다.
+ *
+ * 동작
+ * - 파싱한 목록과 JSON 바이트를 메모리에 두고 요청에는 그것을 돌려준다.
+ * - 응답 본문은 StAX 로 바로 읽는다. (NewsParser, maxItems 까지만)
+ * - 백그라운드 스레드가 freshMs 마다 갱신한다. If-None-Match / If-Modified-Since 를 보내므로
+ *   바뀐 게 없으면 304 → 본문 다운로드/파싱 없이 시각만 갱신
+ * - stale-while-revalidate : freshMs 가 지난 목록도 바로 돌려주고, 갱신은 뒤에서 한 번만 실행
+ * - stale-if-error : 갱신이 실패해도 staleIfErrorMs 까지는 예전 목록을 돌려준다.
+ * - 처음(목록 없음) 또는 staleIfErrorMs 를 넘긴 경우에만 요청이 갱신을 기다린다. (동시 요청은 한 번만 받음)
+ *
+ * HttpClient 는 애플리케이션 전체에서 하나를 공유한다. (커넥션/스레드 재사용)
+ */
+public class NewsFeed {
+
+    /** 공용 HttpClient (연결 제한 시간 포함) */
+    static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(3))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    /** 한 시점의 피드 내용 (불변) */
+    public static final class Snapshot {
+        public final List<GoogleNews> items;
+        final byte[] json;          // items 를 JSON 으로 미리 인코딩 (응답에 그대로 write)
+        final String etag;          // 원본 서버 ETag (다음 조건부 GET 에 사용)
+        final String lastModified;  // 원본 서버 Last-Modified
+        final long fetchedAt;       // 마지막으로 원본과 맞춰 본 시각 (304 도 포함)
+
+        Snapshot(List<GoogleNews> items, byte[] json, String etag, String lastModified, long fetchedAt) {
+            this.items = items;
+            this.json = json;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fetchedAt = fetchedAt;
+        }
+
+        /** 304 응답 → 내용은 그대로, 시각만 새로 */
+        Snapshot touch(long now) {
+            return new Snapshot(items, json, etag, lastModified, now);
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public long ageMillis() {
+            return System.currentTimeMillis() - fetchedAt;
+        }
+    }
+
+    /** 새 목록(200 응답)을 받았을 때 알림 (갱신 스레드에서 호출되므로 오래 걸리는 일은 넘겨서 처리) */
+    @FunctionalInterface
+    public interface Listener {
+        void updated(String feed, List<GoogleNews> items);
+    }
+
+    private final String name;
+    private final URI uri;
+    private final HttpClient http;
+    private final long freshMs;
+    private final long staleIfErrorMs;
+    private final Duration requestTimeout;
+    private final int maxItems;
+
+    private volatile Snapshot current;
+
+    private volatile Listener listener;
+
+    /** 진행 중인 갱신 (동시에 하나만) */
+    private final AtomicReference<CompletableFuture<Snapshot>> inflight = new AtomicReference<>();
+
+    private ScheduledExecutorService scheduler;
+
+    // 통계
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong consecutiveFailures = new AtomicLong();
+    private final AtomicLong servedFresh = new AtomicLong();
+    private final AtomicLong servedStale = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private volatile long lastRefreshAt;
+    private volatile long lastSuccessAt;
+    private volatile long lastDurationMs;
+    private volatile String lastError;
+
+    /**
+     * @param freshMs        이 시간 동안은 갱신 없이 그대로 사용 (백그라운드 갱신 주기)
+     * @param staleIfErrorMs 갱신 실패 시 예전 목록을 계속 쓸 수 있는 최대 나이
+     * @param timeoutMs      원본 요청 제한 시간
+     * @param maxItems       최대 항목 수 (넘는 부분은 읽지 않음)
+     */
+    public NewsFeed(String name, String url, long freshMs, long staleIfErrorMs, long timeoutMs, int maxItems) {
+        this(name, url, HTTP, freshMs, staleIfErrorMs, timeoutMs, maxItems);
+    }
+
+    NewsFeed(String name, String url, HttpClient http, long freshMs, long staleIfErrorMs, long timeoutMs,
+            int maxItems) {
+        this.name = name;
+        this.uri = URI.create(url);
+        this.http = http;
+        this.freshMs = freshMs;
+        this.staleIfErrorMs = staleIfErrorMs;
+        this.requestTimeout = Duration.ofMillis(timeoutMs);
+        this.maxItems = maxItems;
+    }
+
+    // ===== 수명 =====
+
+    /** start() 전에 등록 (null 이면 알림 없음) */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** 백그라운드 갱신 시작 (바로 한 번 받고, 이후 freshMs 간격) */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "news-refresh-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, freshMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * 요청에 돌려줄 목록
+     * - 신선하면 그대로, 오래됐으면 그대로 돌려주고 뒤에서 갱신
+     * - 없거나 staleIfErrorMs 를 넘었으면 갱신을 기다림 (maxWaitMs 까지)
+     *
+     * @return 돌려줄 목록이 없으면 null (원본 실패 + 캐시 없음)
+     */
+    public Snapshot get(long maxWaitMs) {
+        try {
+            Snapshot s = getAsync().completeOnTimeout(null, maxWaitMs, TimeUnit.MILLISECONDS).get();
+            return s != null ? s : usable();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return usable();
+        } catch (Exception e) {
+            return usable();
+        }
+    }
+
+    /**
+     * get() 의 비동기 버전 (스레드를 막지 않음, 여러 피드를 동시에 기다릴 때)
+     * - 반환된 future 는 호출한 쪽 전용이므로 completeOnTimeout 등으로 제한 시간을 걸어도 된다.
+     * - 결과가 null 이면 돌려줄 목록 없음
+     */
+    public CompletableFuture<Snapshot> getAsync() {
+
+        Snapshot s = current;
+        if (s != null) {
+            long age = s.ageMillis();
+            if (age < freshMs) {
+                servedFresh.incrementAndGet();
+                return CompletableFuture.completedFuture(s);
+            }
+            if (age < staleIfErrorMs) {
+                servedStale.incrementAndGet();
+                refreshAsync(); // stale-while-revalidate
+                return CompletableFuture.completedFuture(s);
+            }
+        }
+
+        // 목록이 없거나 너무 오래됨 → 갱신을 기다림 (실패하면 남은 것이라도)
+        waited.incrementAndGet();
+        return refreshAsync().handle((fresh, error) -> fresh != null ? fresh : usable());
+    }
+
+    /** staleIfErrorMs 안의 목록 (없으면 null) */
+    private Snapshot usable() {
+        Snapshot s = current;
+        return s != null && s.ageMillis() < staleIfErrorMs ? s : null;
+    }
+
+    /** 갱신 시작 (이미 진행 중이면 그 결과를 같이 기다림) */
+    CompletableFuture<Snapshot> refreshAsync() {
+        return refreshOnce(false);
+    }
+
+    /**
+     * 동시에 하나만 갱신
+     *
+     * @param inline true 면 호출한 스레드에서 실행 (갱신 스레드 자신이 호출할 때)
+     */
+    private CompletableFuture<Snapshot> refreshOnce(boolean inline) {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        while (!inflight.compareAndSet(null, mine)) {
+            CompletableFuture<Snapshot> f = inflight.get();
+            if (f != null) {
+                return f; // 진행 중인 갱신에 합류
+            }
+        }
+
+        Runnable job = () -> {
+            try {
+                mine.complete(refresh());
+            } catch (Exception e) {
+                mine.completeExceptionally(e);
+            } finally {
+                inflight.compareAndSet(mine, null);
+            }
+        };
+
+        ScheduledExecutorService ex = scheduler;
+        if (!inline && ex != null) {
+            try {
+                ex.execute(job);
+                return mine;
+            } catch (RejectedExecutionException e) {
+                // 종료 중 → 호출한 스레드에서
+            }
+        }
+        job.run();
+        return mine;
+    }
+
+    /**
+     * 백그라운드 주기 갱신 (갱신 스레드에서 실행, 예외는 통계에만 남김)
+     * - 이미 진행 중인 갱신이 있으면 기다리지 않는다. (같은 스레드 대기열에 있을 수 있으므로)
+     */
+    private void refreshQuietly() {
+        refreshOnce(true);
+    }
+
+    /** 조건부 GET 으로 한 번 갱신 */
+    private Snapshot refresh() throws Exception {
+
+        long start = System.currentTimeMillis();
+        refreshes.incrementAndGet();
+        lastRefreshAt = start;
+
+        Snapshot prev = current;
+
+        HttpRequest.Builder rb = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/rss+xml, application/xml;q=0.9, */*;q=0.1")
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (prev != null && prev.etag != null) {
+            rb.header("If-None-Match", prev.etag);
+        }
+        if (prev != null && prev.lastModified != null) {
+            rb.header("If-Modified-Since", prev.lastModified);
+        }
+
+        try {
+            HttpResponse<InputStream> resp = http.send(rb.build(), HttpResponse.BodyHandlers.ofInputStream());
+            int status = resp.statusCode();
+
+            Snapshot next;
+            if (status == 304 && prev != null) {
+                resp.body().close();
+                next = prev.touch(System.currentTimeMillis());
+                notModified.incrementAndGet();
+
+            } else if (status == 200) {
+                // 응답 스트림에서 바로 파싱, maxItems 에 닿으면 나머지는 받지 않고 닫음
+                List<GoogleNews> items;
+                try (InputStream body = decode(resp)) {
+                    items = Collections.unmodifiableList(NewsParser.parse(body, maxItems));
+                }
+                next = new Snapshot(items, encode(items),
+                        resp.headers().firstValue("ETag").orElse(null),
+                        resp.headers().firstValue("Last-Modified").orElse(null),
+                        System.currentTimeMillis());
+                updated.incrementAndGet();
+
+            } else {
+                resp.body().close();
+                throw new IOException("RSS 응답 상태 " + status);
+            }
+
+            current = next;
+            lastSuccessAt = next.fetchedAt;
+            lastError = null;
+            consecutiveFailures.set(0);
+
+            Listener l = listener;
+            if (l != null && (prev == null || next.items != prev.items)) { // 304 면 목록이 같으므로 알리지 않음
+                try {
+                    l.updated(name, next.items);
+                } catch (RuntimeException e) {
+                    e.printStackTrace(); // 알림 실패가 갱신 실패는 아님
+                }
+            }
+            return next;
+
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            consecutiveFailures.incrementAndGet();
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+
+        } finally {
+            lastDurationMs = System.currentTimeMillis() - start;
+        }
+    }
+
+    /** Content-Encoding: gzip 이면 풀어서 */
+    private static InputStream decode(HttpResponse<InputStream> resp) throws IOException {
+        String enc = resp.headers().firstValue("Content-Encoding").orElse("");
+        return "gzip".equalsIgnoreCase(enc.trim()) ? new GZIPInputStream(resp.body(), 8192) : resp.body();
+    }
+
+    /** 목록 → JSON 바이트 (갱신 때 한 번만) */
+    private static byte[] encode(List<GoogleNews> items) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(items.size() * 256 + 16);
+        try (Writer w = new OutputStreamWriter(buf, StandardCharsets.UTF_8)) {
+            Json.write(w, items);
+        }
+        return buf.toByteArray();
+    }
+
+    // ===== 통계 =====
+
+    public String getName() {
+        return name;
+    }
+
+    public long getFreshMs() {
+        return freshMs;
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    public long getUpdated() {
+        return updated.get();
+    }
+
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getServedFresh() {
+        return servedFresh.get();
+    }
+
+    public long getServedStale() {
+        return servedStale.get();
+    }
+
+    public long getWaited() {
+        return waited.get();
+    }
+
+    public long getLastDurationMs() {
+        return lastDurationMs;
+    }
+
+    /** 캐시된 목록의 나이 (없으면 -1) */
+    public long getAgeMillis() {
+        Snapshot s = current;
+        return s == null ? -1 : s.ageMillis();
+    }
+
+    /** 상태 확인용 (JSON 으로 출력) */
+    public Map<String, Object> stats() {
+        Snapshot s = current;
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("name", name);
+        m.put("url", uri.toString());
+        m.put("items", s == null ? 0 : s.items.size());
+        m.put("ageMs", getAgeMillis());
+        m.put("freshMs", freshMs);
+        m.put("staleIfErrorMs", staleIfErrorMs);
+        m.put("refreshes", refreshes.get());
+        m.put("updated", updated.get());
+        m.put("notModified", notModified.get());
+        m.put("failures", failures.get());
+        m.put("consecutiveFailures", consecutiveFailures.get());
+        m.put("servedFresh", servedFresh.get());
+        m.put("servedStale", servedStale.get());
+        m.put("waited", waited.get());
+        m.put("lastRefreshAt", lastRefreshAt);
+        m.put("lastSuccessAt", lastSuccessAt);
+        m.put("lastDurationMs", lastDurationMs);
+        m.put("lastError", lastError);
+        return m;
+    }
+}
@@ -0,0 +1,163 @@
+package localhost.myapp.news;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이름으로 찾는 피드 모음 + 여러 피드 합치기
+ *
+ * 피드 이름
+ * - ko : 한국어 주요 뉴스
+ * - en : 영어(미국) 주요 뉴스
+ * - topic:WORLD, topic:TECHNOLOGY ... : 주제별 (TOPICS 에 있는 것만, 아무 값이나 받으면 피드가 끝없이 늘어남)
+ *
+ * 피드는 처음 요청될 때 만들어 백그라운드 갱신을 시작한다. (ko 는 서블릿 시작 시)
+ */
+final class NewsFeeds {
+
+    /** Google 뉴스 주제 */
+    static final Set<String> TOPICS = Set.of("WORLD", "NATION", "BUSINESS", "TECHNOLOGY",
+            "ENTERTAINMENT", "SPORTS", "SCIENCE", "HEALTH");
+
+    /** 합친 결과 */
+    static final class Merged {
+        final List<GoogleNews> items;
+        final List<String> missing; // 제한 시간 안에 못 받은 피드
+        final long maxAgeSeconds;   // 포함된 피드 중 가장 짧은 남은 신선 시간
+
+        Merged(List<GoogleNews> items, List<String> missing, long maxAgeSeconds) {
+            this.items = items;
+            this.missing = missing;
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+    }
+
+    private final Map<String, String> urls;      // 이름 → RSS 주소 (ko, en)
+    private final String topicUrl;               // {topic} 자리에 주제
+    private final long freshMs;
+    private final long staleIfErrorMs;
+    private final long timeoutMs;
+    private final int maxItems;
+    private final NewsFeed.Listener listener;    // 새 목록 알림 (보관함, null 이면 없음)
+
+    private final ConcurrentHashMap<String, NewsFeed> feeds = new ConcurrentHashMap<>();
+
+    NewsFeeds(Map<String, String> urls, String topicUrl, long freshMs, long staleIfErrorMs, long timeoutMs,
+            int maxItems, NewsFeed.Listener listener) {
+        this.urls = urls;
+        this.topicUrl = topicUrl;
+        this.freshMs = freshMs;
+        this.staleIfErrorMs = staleIfErrorMs;
+        this.timeoutMs = timeoutMs;
+        this.maxItems = maxItems;
+        this.listener = listener;
+    }
+
+    /** 이름에 맞는 피드 (모르는 이름이면 null) */
+    NewsFeed get(String name) {
+        String url = urlOf(name);
+        if (url == null) {
+            return null;
+        }
+        return feeds.computeIfAbsent(name, n -> {
+            NewsFeed f = new NewsFeed(n, url, freshMs, staleIfErrorMs, timeoutMs, maxItems);
+            f.setListener(listener);
+            f.start();
+            return f;
+        });
+    }
+
+    private String urlOf(String name) {
+        if (name.startsWith("topic:")) {
+            String topic = name.substring("topic:".length());
+            return TOPICS.contains(topic) ? topicUrl.replace("{topic}", topic) : null;
+        }
+        return urls.get(name);
+    }
+
+    Collection<NewsFeed> all() {
+        return feeds.values();
+    }
+
+    void stop() {
+        for (NewsFeed f : feeds.values()) {
+            f.stop();
+        }
+    }
+
+    /**
+     * 여러 피드를 동시에 받아 합치기
+     * - 피드마다 deadlineMs 안에 못 받으면 빼고 나머지로 응답 (missing 에 이름)
+     * - pubDate 최신순, 정규화한 제목/링크 해시가 같은 기사는 먼저 나온 것만
+     */
+    Merged merge(List<String> names, long deadlineMs, int limit) {
+
+        List<CompletableFuture<NewsFeed.Snapshot>> futures = new ArrayList<>(names.size());
+        for (String name : names) {
+            futures.add(get(name).getAsync().completeOnTimeout(null, deadlineMs, TimeUnit.MILLISECONDS));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        List<GoogleNews> all = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        long maxAge = Long.MAX_VALUE;
+
+        for (int i = 0; i < names.size(); i++) {
+            NewsFeed.Snapshot s = futures.get(i).join();
+            if (s == null) {
+                missing.add(names.get(i));
+                continue;
+            }
+            all.addAll(s.items);
+            maxAge = Math.min(maxAge, Math.max(0, (freshMs - s.ageMillis()) / 1000));
+        }
+
+        // 최신순 (pubDate 를 한 번씩만 파싱)
+        List<Dated> dated = new ArrayList<>(all.size());
+        for (GoogleNews n : all) {
+            dated.add(new Dated(NewsKeys.pubDateMillis(n.pubDate), n));
+        }
+        dated.sort((a, b) -> Long.compare(b.at, a.at));
+
+        Set<String> seen = new HashSet<>();
+        List<GoogleNews> items = new ArrayList<>(Math.min(limit, dated.size()));
+        for (Dated d : dated) {
+            if (items.size() >= limit) {
+                break;
+            }
+            GoogleNews n = d.news;
+            String t = n.title == null || n.title.isBlank() ? null : "t" + NewsKeys.titleHash(n);
+            String l = n.link == null || n.link.isBlank() ? null : "l" + NewsKeys.linkHash(n.link);
+            if ((t != null && seen.contains(t)) || (l != null && seen.contains(l))) {
+                continue; // 다른 피드에 이미 나온 기사
+            }
+            if (t != null) {
+                seen.add(t);
+            }
+            if (l != null) {
+                seen.add(l);
+            }
+            items.add(n);
+        }
+
+        return new Merged(items, missing, maxAge == Long.MAX_VALUE ? 0 : maxAge);
+    }
+
+    /** 정렬용 (기사 + 파싱한 pubDate) */
+    private static final class Dated {
+        final long at;
+        final GoogleNews news;
+
+        Dated(long at, GoogleNews news) {
+            this.at = at;
+            this.news = news;
+        }
+    }
+}
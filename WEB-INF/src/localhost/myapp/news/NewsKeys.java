@@ -0,0 +1,126 @@
+package localhost.myapp.news;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 뉴스 기사 비교용 키 (중복 제거 / 정렬)
+ *
+ * - 같은 기사가 여러 피드(ko, topic:...)에 실리면 제목 끝의 " - 언론사", 대소문자, 공백,
+ *   링크의 추적 파라미터(utm_*, oc 등) 정도만 다르다. → 정규화한 뒤 해시로 비교
+ * - pubDate 는 RSS 형식(RFC 1123) "Mon, 01 Jan 2024 09:00:00 GMT"
+ */
+public final class NewsKeys {
+
+    /** 링크에서 지우는 추적 파라미터 (이름, 소문자 비교) + utm_* 전체 */
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "oc", "ocid", "fbclid", "gclid", "dclid", "msclkid", "yclid", "igshid", "mc_cid", "mc_eid", "_ga");
+
+    private NewsKeys() {
+    }
+
+    /** 제목 정규화: 끝의 " - 언론사" 제거, 공백 정리, 소문자 */
+    static String normalizeTitle(String title, String source) {
+        if (title == null) {
+            return "";
+        }
+        String t = title.trim();
+        if (source != null && !source.isBlank()) {
+            String suffix = " - " + source.trim();
+            if (t.endsWith(suffix)) {
+                t = t.substring(0, t.length() - suffix.length());
+            }
+        }
+        return t.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 링크 정규화: scheme/host 소문자, 프래그먼트/끝 슬래시 제거, 쿼리에서 추적 파라미터만 제거
+     * - 나머지 쿼리 파라미터는 기사를 가리키는 값일 수 있으므로(?id=123 등) 남기고, 순서만 정렬한다.
+     */
+    static String normalizeLink(String link) {
+        if (link == null || link.isBlank()) {
+            return "";
+        }
+        try {
+            URI u = URI.create(link.trim());
+            String host = u.getHost() == null ? "" : u.getHost().toLowerCase(Locale.ROOT);
+            String port = u.getPort() < 0 ? "" : ":" + u.getPort();
+            String path = u.getRawPath() == null ? "" : u.getRawPath();
+            if (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            String query = keptQuery(u.getRawQuery());
+            return (u.getScheme() == null ? "" : u.getScheme().toLowerCase(Locale.ROOT)) + "://" + host + port + path
+                    + (query.isEmpty() ? "" : "?" + query);
+        } catch (IllegalArgumentException e) {
+            return link.trim(); // URI 형식이 아니면 그대로
+        }
+    }
+
+    /** 쿼리스트링에서 추적 파라미터를 빼고 나머지를 정렬해서 다시 붙임 (인코딩은 원본 그대로) */
+    private static String keptQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> kept = new ArrayList<>();
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = (eq < 0 ? pair : pair.substring(0, eq)).toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) {
+                continue;
+            }
+            kept.add(pair);
+        }
+        kept.sort(null);
+        return String.join("&", kept);
+    }
+
+    /** 정규화한 제목 해시 (SHA-256 hex) */
+    public static String titleHash(GoogleNews n) {
+        return sha256(normalizeTitle(n.title, n.source));
+    }
+
+    /** 정규화한 링크 해시 (SHA-256 hex, 64자) */
+    public static String linkHash(String link) {
+        return sha256(normalizeLink(link));
+    }
+
+    /** pubDate → epoch millis (형식이 다르면 0 → 가장 오래된 것으로) */
+    public static long pubDateMillis(String pubDate) {
+        if (pubDate == null || pubDate.isBlank()) {
+            return 0;
+        }
+        try {
+            return ZonedDateTime.parse(pubDate.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    static String sha256(String s) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(d.length * 2);
+            for (byte b : d) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 은 모든 JDK 에 있음
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package localhost.myapp.news;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RSS XML → GoogleNews 목록 (StAX 스트리밍)
+ *
+ * - HTTP 응답 InputStream 을 그대로 읽는다. (String / byte[] 복사, DOM 트리 없음)
+ * - <item> 하나를 읽을 때마다 GoogleNews 하나를 만든다.
+ * - maxItems 개를 읽으면 나머지 문서는 읽지 않고 멈춘다. (호출한 쪽이 스트림을 닫으면 다운로드도 중단)
+ * - 인코딩은 XML 선언을 따른다.
+ * - DTD / 외부 엔티티는 읽지 않는다. (XXE 차단)
+ */
+final class NewsParser {
+
+    /** 팩토리는 스레드 안전 (설정 후 createXMLStreamReader 만 호출) */
+    private static final XMLInputFactory FACTORY = newFactory();
+
+    private NewsParser() {
+    }
+
+    /**
+     * @param maxItems 최대 항목 수 (도달하면 바로 반환)
+     */
+    static List<GoogleNews> parse(InputStream xml, int maxItems) throws XMLStreamException {
+
+        List<GoogleNews> items = new ArrayList<>(Math.min(maxItems, 64));
+        XMLStreamReader r = FACTORY.createXMLStreamReader(xml);
+        try {
+            while (items.size() < maxItems && r.hasNext()) {
+                if (r.next() == XMLStreamConstants.START_ELEMENT && isPlain(r, "item")) {
+                    items.add(readItem(r));
+                }
+            }
+        } finally {
+            r.close(); // 밑의 InputStream 은 닫지 않음 (호출한 쪽이 닫음)
+        }
+        return items;
+    }
+
+    /** <item> ... </item> 한 개 (커서는 <item> 시작 위치, 끝나면 </item> 위치) */
+    private static GoogleNews readItem(XMLStreamReader r) throws XMLStreamException {
+
+        GoogleNews news = new GoogleNews();
+        int depth = 1;
+
+        while (depth > 0 && r.hasNext()) {
+            switch (r.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    String field = isPlain(r, null) ? r.getLocalName() : "";
+                    switch (field) {
+                        case "title":
+                            news.title = r.getElementText(); // 끝 태그까지 읽음 → depth 그대로
+                            break;
+                        case "link":
+                            news.link = r.getElementText();
+                            break;
+                        case "pubDate":
+                            news.pubDate = r.getElementText();
+                            break;
+                        case "source":
+                            news.source = r.getElementText();
+                            break;
+                        default:
+                            depth++; // 모르는 요소 (description 등) → 안쪽은 건너뜀
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                default:
+                    // 텍스트/공백/주석
+            }
+        }
+        return news;
+    }
+
+    /** 접두어 없는 요소인지 (media:title 같은 다른 네임스페이스 요소는 제외) */
+    private static boolean isPlain(XMLStreamReader r, String localName) {
+        String prefix = r.getPrefix();
+        return (prefix == null || prefix.isEmpty())
+                && (localName == null || localName.equals(r.getLocalName()));
+    }
+
+    private static XMLInputFactory newFactory() {
+        XMLInputFactory f = XMLInputFactory.newFactory();
+        f.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        f.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        f.setProperty(XMLInputFactory.IS_COALESCING, true); // 텍스트 + CDATA 를 한 번에
+        return f;
+    }
+}
@@ -1,5 +1,9 @@
 package localhost.myapp.user;
 
+import localhost.myapp.common.Dates;
+
+import java.time.Instant;
+
 /**
  * User DTO(데이터 전달 객체)
  * - DB의 user 테이블 한 행(row)을 저장하는 모델 클래스
@@ -25,7 +29,7 @@ public class User {
      * - 자바 필드명: regDate
      * - DB 컬럼명: reg_date
      */
-    public String regDate;
+    public Instant regDate;
 
     /** 기본 생성자 (JavaBean 규약) */
     public User() {
@@ -65,11 +69,16 @@ public class User {
         this.email = email;
     }
 
-    public String getRegDate() {
+    public Instant getRegDate() {
         return regDate;
     }
 
-    public void setRegDate(String regDate) {
+    public void setRegDate(Instant regDate) {
         this.regDate = regDate;
     }
+
+    /** 화면 표시용 등록일 (yyyy-MM-dd HH:mm:ss, JSP 에서 ${x.regDateText}) */
+    public String getRegDateText() {
+        return Dates.format(regDate);
+    }
 }
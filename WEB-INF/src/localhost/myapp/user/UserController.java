@@ -3,6 +3,7 @@ package localhost.myapp.user;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
+import localhost.myapp.common.auth.Auth;
 import localhost.myapp.dto.ServiceResult;
 
 import java.io.IOException;
@@ -15,6 +16,7 @@ import java.io.IOException;
  * - 역할: 로그인/로그아웃/회원가입 처리(Controller)
  * - GET → 화면 이동 (JSP forward)
  * - POST → 실제 처리(login, register)
+ * - 로그인 상태는 세션이 아니라 auth 쿠키의 서명 토큰 (common.auth.Auth, AuthFilter)
  *
  * Controller 흐름
  * 1) 클라이언트 요청
@@ -49,7 +51,7 @@ public class UserController extends HttpServlet {
      * GET 요청 처리
      * - 보통 화면 이동 담당
      * - /login → login.jsp
-     * - /logout → 세션 종료 후 로그인 페이지로 redirect
+     * - /logout → 토큰 쿠키 삭제, 세션 종료 후 로그인 페이지로 redirect
      */
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
@@ -85,6 +87,7 @@ public class UserController extends HttpServlet {
 
             // 로그아웃 처리
             case "/logout":
+                Auth.logout(req, resp); // 로그인 토큰 쿠키 삭제
                 HttpSession session = req.getSession(false);
                 if (session != null) {
                     session.invalidate(); // 세션 완전 종료
@@ -114,7 +117,7 @@ public class UserController extends HttpServlet {
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 
         String path = normPath(req);
-        HttpSession session = req.getSession();
+        HttpSession session = req.getSession(); // flash 메시지용
 
         // 공통 파라미터
         String id = req.getParameter("id");
@@ -128,8 +131,8 @@ public class UserController extends HttpServlet {
                     ServiceResult r = service.login(id, password);
 
                     if (r.success) {
-                        // 로그인 성공 → 세션에 id 저장
-                        session.setAttribute("id", id);
+                        // 로그인 성공 → 토큰 발급 (auth 쿠키)
+                        Auth.login(req, resp, id);
                         resp.sendRedirect(req.getContextPath() + "/user/login_ok");
                     } else {
                         // 실패 메시지를 flash 로 전달
@@ -154,8 +157,8 @@ public class UserController extends HttpServlet {
                     ServiceResult r = service.register(id, password, email);
 
                     if (r.success) {
-                        // 회원가입 성공 → 자동 로그인 비슷하게 세션에 id 저장
-                        session.setAttribute("id", id);
+                        // 회원가입 성공 → 자동 로그인 비슷하게 토큰 발급
+                        Auth.login(req, resp, id);
                         resp.sendRedirect(req.getContextPath() + "/user/register_ok");
                     } else {
                         session.setAttribute("flash_error", r.message);
@@ -18,5 +18,9 @@ javac -encoding UTF-8 \
   -d "$PROJECT_HOME/WEB-INF/classes" \
   $(find "$PROJECT_HOME/WEB-INF/src/" -name "*.java")
 
+# 정적 파일 미리 압축 (원본 옆에 .gz 생성 → PrecompressedAssetFilter 가 응답)
+find "$PROJECT_HOME/assets" -type f \( -name "*.js" -o -name "*.css" -o -name "*.svg" \) \
+  -exec gzip -9 -k -f {} \;
+
 # Tomcat 서버 재시작
 sudo systemctl restart tomcat10
@@ -46,7 +46,7 @@ taglib prefix="c" uri="jakarta.tags.core" %>
             style="font-size: 0.9rem; color: #6b7280; margin-bottom: 16px"
           >
             작성일:
-            <c:out value="${board.regDate}" />
+            <c:out value="${board.regDateText}" />
           </div>
 
           <!-- Flash 메시지 -->
@@ -87,7 +87,7 @@ taglib prefix="c" uri="jakarta.tags.core" %>
             <!-- 수정 / 삭제는 권한 있을 때만 보이도록 -->
             <c:if
               test="${empty board.fk_user_id 
-    or (not empty sessionScope.id and board.fk_user_id eq sessionScope.id)}"
+    or (not empty requestScope.loginId and board.fk_user_id eq requestScope.loginId)}"
             >
               <!-- 수정하기 -->
               <a
@@ -22,6 +22,7 @@ taglib prefix="c" uri="jakarta.tags.core" %>
         <form action="${pageContext.request.contextPath}/board" method="post">
           <input type="hidden" name="action" value="update" />
           <input type="hidden" name="idx" value="${board.idx}" />
+          <input type="hidden" name="version" value="${board.version}" />
 
           <div class="form-group">
             <label for="title">제목</label>
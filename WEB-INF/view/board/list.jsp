@@ -122,7 +122,7 @@ taglib prefix="c" uri="jakarta.tags.core" %>
                             white-space: nowrap;
                           "
                         >
-                          <c:out value="${b.regDate}" />
+                          <c:out value="${b.regDateText}" />
                         </td>
                       </tr>
                     </c:forEach>
@@ -132,7 +132,33 @@ taglib prefix="c" uri="jakarta.tags.core" %>
             </c:otherwise>
           </c:choose>
 
-          <!-- 페이징 -->
+          <!-- 페이징 (키셋/커서 방식: 처음 / 다음만 제공) -->
+          <c:if test="${cursorMode}">
+            <div class="pagination">
+              <a
+                class="page-link"
+                href="${pageContext.request.contextPath}/board/list?cursor=&size=${size}"
+              >
+                처음
+              </a>
+              <c:choose>
+                <c:when test="${hasNext}">
+                  <a
+                    class="page-link"
+                    href="${pageContext.request.contextPath}/board/list?cursor=${nextCursor}&size=${size}"
+                  >
+                    ▶
+                  </a>
+                </c:when>
+                <c:otherwise>
+                  <span class="page-link disabled">▶</span>
+                </c:otherwise>
+              </c:choose>
+            </div>
+          </c:if>
+
+          <!-- 페이징 (번호 방식) -->
+          <c:if test="${not cursorMode}">
           <div class="pagination">
             <!-- 이전 버튼 -->
             <c:choose>
@@ -181,6 +207,7 @@ taglib prefix="c" uri="jakarta.tags.core" %>
               </c:otherwise>
             </c:choose>
           </div>
+          </c:if>
 
           <!-- 글쓰기 버튼 -->
           <form
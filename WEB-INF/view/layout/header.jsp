@@ -31,7 +31,7 @@ uri="jakarta.tags.functions" %>
     <!-- 오른쪽: 로그인 / 유저 정보 -->
     <div class="site-header-right">
       <!-- 로그인 안 된 경우 -->
-      <c:if test="${empty sessionScope.id}">
+      <c:if test="${empty requestScope.loginId}">
         <a
           href="${pageContext.request.contextPath}/user/login"
           class="btn btn-outline-light"
@@ -47,12 +47,12 @@ uri="jakarta.tags.functions" %>
       </c:if>
 
       <!-- 로그인 된 경우 -->
-      <c:if test="${not empty sessionScope.id}">
+      <c:if test="${not empty requestScope.loginId}">
         <span class="user-info">
           <span class="user-avatar">
-            ${fn:substring(sessionScope.id, 0, 1)}
+            ${fn:substring(requestScope.loginId, 0, 1)}
           </span>
-          <span class="user-name"> ${sessionScope.id} 님 </span>
+          <span class="user-name"> ${requestScope.loginId} 님 </span>
         </span>
         <a
           href="${pageContext.request.contextPath}/user/logout"
@@ -13,7 +13,7 @@ taglib prefix="c" uri="jakarta.tags.core" %>
         <div class="card register_form">
           <div class="title">로그인 성공 🎉</div>
           <div class="subtitle">
-            안녕하세요, <strong>${sessionScope.id}</strong> 님! <br />
+            안녕하세요, <strong>${requestScope.loginId}</strong> 님! <br />
             오늘도 좋은 하루 보내세요 ☀️
           </div>
 
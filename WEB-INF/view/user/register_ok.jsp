@@ -14,7 +14,7 @@ taglib prefix="c" uri="jakarta.tags.core" %>
         <div class="card register_form">
           <div class="title">가입 완료 🎉</div>
           <div class="subtitle">
-            <b>${sessionScope.id}</b> 님, 환영합니다!<br />
+            <b>${requestScope.loginId}</b> 님, 환영합니다!<br />
             이제 서비스를 이용하실 수 있어요.
           </div>
 
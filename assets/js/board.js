@@ -20,6 +20,7 @@
     // 글쓰기 / 수정 폼
     const boardForm = reactive({
       idx: null,
+      version: null, // 수정 시작 시점의 버전 (If-Match)
       title: "",
       content: "",
     });
@@ -53,12 +54,33 @@
       }
     };
 
-    const toggleContent = (idx) => {
+    // 본문 불러오기 (목록 API 는 excerpt 만 내려주므로 필요할 때만 상세 조회)
+    const loadContent = async (b) => {
+      if (b.content) return;
+
+      const { body } = await jsonFetch("/api/board/" + b.idx, {
+        method: "GET",
+      });
+
+      if (body.success && body.data) {
+        b.content = body.data.content;
+        b.version = body.data.version;
+      }
+    };
+
+    const toggleContent = async (idx) => {
       if (expandedBoardId.value === idx) {
         expandedBoardId.value = null;
-      } else {
-        expandedBoardId.value = idx;
+        return;
       }
+
+      const b = boards.value.find((x) => x.idx === idx);
+      try {
+        if (b) await loadContent(b);
+      } catch (e) {
+        boardError.value = "서버 오류: " + e.message;
+      }
+      expandedBoardId.value = idx;
     };
 
     const prevPage = () => {
@@ -76,9 +98,17 @@
     };
 
     // 글 수정 시작
-    const startEdit = (b) => {
+    const startEdit = async (b) => {
+      try {
+        await loadContent(b);
+      } catch (e) {
+        boardError.value = "서버 오류: " + e.message;
+        return;
+      }
+
       boardMode.value = "edit";
       boardForm.idx = b.idx;
+      boardForm.version = b.version ?? null;
       boardForm.title = b.title || "";
       boardForm.content = b.content || "";
       formError.value = "";
@@ -131,8 +161,15 @@
           page.value = 1;
           await fetchBoards();
         } else {
+          // 편집하는 사이 다른 곳에서 수정되었으면 412 (덮어쓰지 않음)
+          const headers = { "Content-Type": "application/json" };
+          if (boardForm.version !== null) {
+            headers["If-Match"] = `"b${boardForm.idx}-v${boardForm.version}"`;
+          }
+
           const { body } = await jsonFetch("/api/board/" + boardForm.idx, {
             method: "PUT",
+            headers,
             body: JSON.stringify({
               title: boardForm.title,
               content: boardForm.content,